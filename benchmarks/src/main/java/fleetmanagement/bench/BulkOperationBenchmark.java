@@ -0,0 +1,74 @@
+package fleetmanagement.bench;
+
+import fleetmanagement.exceptions.InvalidOperationException;
+import fleetmanagement.fleet.BulkResult;
+import fleetmanagement.fleet.FleetManager;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.ForkJoinPool;
+
+// Usage: java fleetmanagement.bench.BulkOperationBenchmark [vehicles] [maxThreads]
+// Times sequential startAllJourneys against the parallel journey and refuel variants on pools of
+// 1, 2, 4... threads; speedups are relative to the one-thread pool. The sequential run's console
+// output is discarded while timing; the parallel variants print nothing.
+public class BulkOperationBenchmark {
+    private static final int ITERATIONS = 3;
+    private static final double DISTANCE = 1.0;
+
+    public static void main(String[] args) throws InvalidOperationException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 500_000;
+        int maxThreads = args.length > 1 ? Integer.parseInt(args[1])
+                : Runtime.getRuntime().availableProcessors();
+
+        FleetManager manager = new FleetManager();
+        manager.addAll(SyntheticFleet.generate(count, SyntheticFleet.ROAD_HEAVY_MIX, 11));
+
+        PrintStream console = System.out;
+        PrintStream errors = System.err;
+        PrintStream discard = new PrintStream(OutputStream.nullOutputStream());
+        System.setOut(discard);
+        System.setErr(discard);
+        try {
+            double sequential = best(() -> manager.startAllJourneys(DISTANCE));
+            console.printf("Vehicles: %,d%n", count);
+            console.printf("%-10s %12s %9s %12s %9s%n", "threads", "journeys s", "speedup", "refuel s", "speedup");
+            console.printf("%-10s %12.3f %9s %12s %9s%n", "sequential", sequential, "-", "-", "-");
+            double baseJourneys = 0;
+            double baseRefuel = 0;
+            for (int threads = 1; threads <= maxThreads; threads *= 2) {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                try {
+                    BulkResult[] last = new BulkResult[1];
+                    double journeys = best(() -> last[0] = manager.startAllJourneysParallel(DISTANCE, pool));
+                    double refuel = best(() -> manager.refuelAllParallel(DISTANCE, pool));
+                    if (threads == 1) {
+                        baseJourneys = journeys;
+                        baseRefuel = refuel;
+                    }
+                    console.printf("%-10d %12.3f %8.2fx %12.3f %8.2fx   (%,d moved, %,d short of fuel)%n",
+                            threads, journeys, baseJourneys / journeys, refuel, baseRefuel / refuel,
+                            last[0].getSuccessCount(), last[0].getInsufficientFuelCount());
+                } finally {
+                    pool.shutdown();
+                }
+            }
+        } finally {
+            System.setOut(console);
+            System.setErr(errors);
+        }
+    }
+
+    private static double best(Runnable operation) {
+        double best = Double.MAX_VALUE;
+        for (int i = 0; i <= ITERATIONS; i++) {
+            long start = System.nanoTime();
+            operation.run();
+            long end = System.nanoTime();
+            if (i > 0) {
+                best = Math.min(best, (end - start) / 1e9);
+            }
+        }
+        return best;
+    }
+}
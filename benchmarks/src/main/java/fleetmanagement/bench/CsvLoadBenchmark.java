@@ -0,0 +1,90 @@
+package fleetmanagement.bench;
+
+import fleetmanagement.io.CsvFleetReader;
+import fleetmanagement.io.ParallelCsvLoader;
+import fleetmanagement.io.ParseErrorList;
+import fleetmanagement.vehicles.Vehicle;
+import fleetmanagement.vehicles.VehicleFactory;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+// Usage: java fleetmanagement.bench.CsvLoadBenchmark [rows] [file]
+// Generates the file if it does not exist, then compares split()-based parsing with CsvFleetReader
+// and the memory-mapped ParallelCsvLoader (which scales with the common pool's parallelism).
+public class CsvLoadBenchmark {
+    private static final int ITERATIONS = 3;
+    // For CsvFleetReader on a single core, heap large enough to hold the loaded fleet
+    private static final long TARGET_ROWS_PER_SECOND = 1_000_000;
+
+    public static void main(String[] args) throws IOException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        String filename = args.length > 1 ? args[1] : "fleet-bench-" + rows + ".csv";
+
+        if (!new File(filename).exists()) {
+            System.out.println("Generating " + rows + " rows into " + filename);
+            SyntheticFleet.writeCsv(filename, rows, SyntheticFleet.UNIFORM_MIX, 42);
+        }
+
+        measure("split + VehicleFactory", filename, rows, CsvLoadBenchmark::loadWithSplit);
+        double rate = measure("CsvFleetReader", filename, rows, CsvLoadBenchmark::loadWithReader);
+        measure("ParallelCsvLoader x" + ForkJoinPool.commonPool().getParallelism(), filename, rows,
+                CsvLoadBenchmark::loadParallel);
+
+        System.out.printf("Target: %,d rows/s -> %s%n", TARGET_ROWS_PER_SECOND,
+                rate >= TARGET_ROWS_PER_SECOND ? "PASS" : "FAIL");
+    }
+
+    private interface Loader {
+        int load(String filename) throws IOException;
+    }
+
+    private static double measure(String name, String filename, int rows, Loader loader) throws IOException {
+        loader.load(filename);
+        double best = 0;
+        for (int i = 0; i < ITERATIONS; i++) {
+            long start = System.nanoTime();
+            int loaded = loader.load(filename);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            best = Math.max(best, loaded / seconds);
+        }
+        System.out.printf("%-24s %,12.0f rows/s (%,d rows)%n", name, best, rows);
+        return best;
+    }
+
+    private static int loadWithSplit(String filename) throws IOException {
+        List<Vehicle> vehicles = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(filename))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                try {
+                    String[] data = line.split(",");
+                    vehicles.add(VehicleFactory.createVehicle(data[0], data));
+                } catch (Exception e) {
+                    // counted as a rejected row
+                }
+            }
+        }
+        return vehicles.size();
+    }
+
+    private static int loadParallel(String filename) throws IOException {
+        ParseErrorList errors = new ParseErrorList();
+        return new ParallelCsvLoader(ForkJoinPool.commonPool()).load(Paths.get(filename), errors).size();
+    }
+
+    private static int loadWithReader(String filename) throws IOException {
+        ParseErrorList errors = new ParseErrorList();
+        try (InputStream in = new FileInputStream(filename)) {
+            return new CsvFleetReader(errors).read(in).size();
+        }
+    }
+}
@@ -0,0 +1,77 @@
+package fleetmanagement.bench;
+
+import fleetmanagement.events.AsyncBatchingEventSink;
+import fleetmanagement.events.ConsoleEventSink;
+import fleetmanagement.events.FleetEventSink;
+import fleetmanagement.events.FleetEvents;
+import fleetmanagement.events.NoOpEventSink;
+import fleetmanagement.exceptions.InvalidOperationException;
+import fleetmanagement.fleet.FleetManager;
+
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ForkJoinPool;
+
+// Usage: java fleetmanagement.bench.EventSinkBenchmark [vehicles] [ringCapacity]
+// Times startAllJourneys with each event sink. Console output goes to a temp file through a stream
+// set up like System.out (small buffer, flushed on every line); the async sink writes the same lines
+// through a large buffer from its own thread. "caller" is the time startAllJourneys takes, "flushed"
+// also waits for every event to be written.
+public class EventSinkBenchmark {
+    private static final int ITERATIONS = 3;
+    private static final double DISTANCE = 1.0;
+
+    public static void main(String[] args) throws InvalidOperationException, IOException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int capacity = args.length > 1 ? Integer.parseInt(args[1]) : 1 << 18;
+
+        FleetManager manager = new FleetManager();
+        manager.addAll(SyntheticFleet.generate(count, SyntheticFleet.ROAD_HEAVY_MIX, 13));
+        // Enough fuel that every journey succeeds and reports a move; sail ships reject the refuel
+        manager.refuelAllParallel(10.0, ForkJoinPool.commonPool());
+
+        Path file = Files.createTempFile("fleet-events", ".log");
+        FleetEventSink previous = FleetEvents.sink();
+        try (PrintStream console = new PrintStream(new BufferedOutputStream(new FileOutputStream(file.toFile()), 128), true);
+             PrintStream buffered = new PrintStream(new BufferedOutputStream(new FileOutputStream(file.toFile()), 1 << 16))) {
+            System.out.printf("Vehicles: %,d%n", count);
+            System.out.printf("%-8s %12s %12s %12s%n", "sink", "caller ms", "flushed ms", "dropped");
+            print("console", time(new ConsoleEventSink(console, console), manager), "-");
+            print("no-op", time(NoOpEventSink.INSTANCE, manager), "-");
+            try (AsyncBatchingEventSink async = new AsyncBatchingEventSink(new ConsoleEventSink(buffered, buffered), capacity)) {
+                double[] millis = time(async, manager);
+                print("async", millis, String.format("%,d", async.getDroppedCount()));
+            }
+        } finally {
+            FleetEvents.setSink(previous);
+            Files.deleteIfExists(file);
+        }
+    }
+
+    // Best caller and flushed times in milliseconds
+    private static double[] time(FleetEventSink sink, FleetManager manager) {
+        FleetEvents.setSink(sink);
+        double bestCaller = Double.MAX_VALUE;
+        double bestFlushed = Double.MAX_VALUE;
+        for (int i = 0; i <= ITERATIONS; i++) {
+            long start = System.nanoTime();
+            manager.startAllJourneys(DISTANCE);
+            long returned = System.nanoTime();
+            sink.flush();
+            long flushed = System.nanoTime();
+            if (i > 0) {
+                bestCaller = Math.min(bestCaller, (returned - start) / 1e6);
+                bestFlushed = Math.min(bestFlushed, (flushed - start) / 1e6);
+            }
+        }
+        return new double[] {bestCaller, bestFlushed};
+    }
+
+    private static void print(String name, double[] millis, String dropped) {
+        System.out.printf("%-8s %12.1f %12.1f %12s%n", name, millis[0], millis[1], dropped);
+    }
+}
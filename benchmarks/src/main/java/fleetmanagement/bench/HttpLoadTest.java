@@ -0,0 +1,221 @@
+package fleetmanagement.bench;
+
+import fleetmanagement.events.FleetEvents;
+import fleetmanagement.events.NoOpEventSink;
+import fleetmanagement.fleet.FleetManager;
+import fleetmanagement.server.FleetHttpServer;
+import fleetmanagement.vehicles.Vehicle;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+// Usage: java fleetmanagement.bench.HttpLoadTest [clients] [seconds] [vehicles] [baseUrl]
+// Closed-loop load on the fleet HTTP server over localhost: each client, on its own virtual thread,
+// sends its next request as soon as the last one is answered. Without a base URL the test starts a
+// server in this process on a free port with a synthetic fleet; with one it targets a running
+// server (e.g. Main --server) and its sample fleet. The mix is mostly vehicle lookups, with
+// single-vehicle journeys and refuels, reports, searches and add/remove pairs. Prints requests/sec
+// and latency percentiles, exact from every recorded request, overall and per endpoint.
+public class HttpLoadTest {
+    private static final String[] ENDPOINTS = {"get", "journey", "refuel", "report", "search", "add", "remove"};
+    private static final int GET = 0;
+    private static final int JOURNEY = 1;
+    private static final int REFUEL = 2;
+    private static final int REPORT = 3;
+    private static final int SEARCH = 4;
+    private static final int ADD = 5;
+    private static final int REMOVE = 6;
+
+    public static void main(String[] args) throws Exception {
+        int clients = args.length > 0 ? Integer.parseInt(args[0]) : 64;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+        int vehicleCount = args.length > 2 ? Integer.parseInt(args[2]) : 10_000;
+
+        FleetHttpServer server = null;
+        Path dataDirectory = null;
+        String baseUrl;
+        List<String> ids = new ArrayList<>();
+        if (args.length > 3) {
+            baseUrl = args[3];
+            ids.addAll(Arrays.asList("C001", "T001", "B001", "A001", "S001"));
+        } else {
+            FleetEvents.setSink(NoOpEventSink.INSTANCE);
+            FleetManager manager = new FleetManager();
+            List<Vehicle> vehicles = SyntheticFleet.generate(vehicleCount, SyntheticFleet.ROAD_HEAVY_MIX, 7);
+            manager.addAll(vehicles);
+            for (Vehicle vehicle : vehicles) {
+                ids.add(vehicle.getId());
+            }
+            dataDirectory = Files.createTempDirectory("fleet-http");
+            server = new FleetHttpServer(manager, dataDirectory,
+                    new InetSocketAddress(InetAddress.getLoopbackAddress(), 0));
+            server.start();
+            baseUrl = "http://localhost:" + server.getPort();
+        }
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        HttpClient http = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).executor(executor).build();
+        System.out.printf("Target: %s, clients: %d, duration: %ds%n", baseUrl, clients, seconds);
+
+        // Short warm-up so the JIT and connection pool are settled before measuring
+        run(http, baseUrl, ids, clients, TimeUnit.SECONDS.toNanos(Math.max(1, seconds / 5)), new Client[clients]);
+
+        Client[] results = new Client[clients];
+        long elapsed = run(http, baseUrl, ids, clients, TimeUnit.SECONDS.toNanos(seconds), results);
+        report(results, elapsed);
+
+        executor.close();
+        if (server != null) {
+            server.close();
+            // The mix never saves, so the data directory is still empty
+            Files.delete(dataDirectory);
+        }
+    }
+
+    // Latencies and outcomes recorded by one client thread
+    private static class Client {
+        final long[][] latencies = new long[ENDPOINTS.length][];
+        final int[] counts = new int[ENDPOINTS.length];
+        long failures;
+        long rejected;
+
+        Client() {
+            for (int i = 0; i < ENDPOINTS.length; i++) {
+                latencies[i] = new long[1024];
+            }
+        }
+
+        void record(int endpoint, long nanos, int status) {
+            if (counts[endpoint] == latencies[endpoint].length) {
+                latencies[endpoint] = Arrays.copyOf(latencies[endpoint], counts[endpoint] * 2);
+            }
+            latencies[endpoint][counts[endpoint]++] = nanos;
+            if (status >= 500 || status < 0) {
+                failures++;
+            } else if (status >= 400) {
+                // Expected now and then, e.g. refuelling a sail ship or a journey without fuel
+                rejected++;
+            }
+        }
+    }
+
+    private static long run(HttpClient http, String baseUrl, List<String> ids, int clients, long durationNanos,
+                            Client[] results) throws InterruptedException {
+        CountDownLatch done = new CountDownLatch(clients);
+        long start = System.nanoTime();
+        long deadline = start + durationNanos;
+        for (int c = 0; c < clients; c++) {
+            int client = c;
+            Thread.ofVirtual().start(() -> {
+                try {
+                    results[client] = drive(http, baseUrl, ids, client, deadline);
+                } finally {
+                    done.countDown();
+                }
+            });
+        }
+        done.await();
+        return System.nanoTime() - start;
+    }
+
+    private static Client drive(HttpClient http, String baseUrl, List<String> ids, int clientNumber, long deadline) {
+        Client client = new Client();
+        Random random = new Random(clientNumber);
+        long added = 0;
+        while (System.nanoTime() < deadline) {
+            String id = ids.get(random.nextInt(ids.size()));
+            int pick = random.nextInt(100);
+            if (pick < 50) {
+                send(http, client, GET, HttpRequest.newBuilder(URI.create(baseUrl + "/vehicles/" + id)).GET());
+            } else if (pick < 70) {
+                send(http, client, JOURNEY, post(baseUrl + "/journeys?distance=1&id=" + id));
+            } else if (pick < 80) {
+                send(http, client, REFUEL, post(baseUrl + "/refuel?amount=1&id=" + id));
+            } else if (pick < 90) {
+                send(http, client, REPORT, HttpRequest.newBuilder(URI.create(baseUrl + "/report")).GET());
+            } else if (pick < 95) {
+                send(http, client, SEARCH, HttpRequest.newBuilder(URI.create(baseUrl + "/search?type=cargoship")).GET());
+            } else {
+                String newId = "LOAD-" + clientNumber + "-" + added++;
+                send(http, client, ADD, post(baseUrl + "/vehicles?type=car&model=Load&maxSpeed=120&wheels=4&fuel=40&id=" + newId));
+                send(http, client, REMOVE, HttpRequest.newBuilder(URI.create(baseUrl + "/vehicles/" + newId)).DELETE());
+            }
+        }
+        return client;
+    }
+
+    private static HttpRequest.Builder post(String url) {
+        return HttpRequest.newBuilder(URI.create(url)).POST(HttpRequest.BodyPublishers.noBody());
+    }
+
+    private static void send(HttpClient http, Client client, int endpoint, HttpRequest.Builder request) {
+        long start = System.nanoTime();
+        int status;
+        try {
+            status = http.send(request.build(), HttpResponse.BodyHandlers.discarding()).statusCode();
+        } catch (Exception e) {
+            status = -1;
+        }
+        client.record(endpoint, System.nanoTime() - start, status);
+    }
+
+    private static void report(Client[] clients, long elapsedNanos) {
+        long[] all = new long[0];
+        long failures = 0;
+        long rejected = 0;
+        System.out.printf("%-8s %10s %10s %10s %10s %10s%n", "endpoint", "requests", "mean ms", "p50 ms", "p99 ms", "max ms");
+        for (int endpoint = 0; endpoint < ENDPOINTS.length; endpoint++) {
+            long[] latencies = new long[0];
+            for (Client client : clients) {
+                int offset = latencies.length;
+                latencies = Arrays.copyOf(latencies, offset + client.counts[endpoint]);
+                System.arraycopy(client.latencies[endpoint], 0, latencies, offset, client.counts[endpoint]);
+            }
+            print(ENDPOINTS[endpoint], latencies);
+            int offset = all.length;
+            all = Arrays.copyOf(all, offset + latencies.length);
+            System.arraycopy(latencies, 0, all, offset, latencies.length);
+        }
+        for (Client client : clients) {
+            failures += client.failures;
+            rejected += client.rejected;
+        }
+        print("all", all);
+        System.out.printf("Throughput: %,.0f requests/sec over %.1fs; 4xx: %,d, failed: %,d%n",
+                all.length / (elapsedNanos / 1e9), elapsedNanos / 1e9, rejected, failures);
+    }
+
+    private static void print(String name, long[] latencies) {
+        if (latencies.length == 0) {
+            return;
+        }
+        Arrays.sort(latencies);
+        long total = 0;
+        for (long latency : latencies) {
+            total += latency;
+        }
+        System.out.printf("%-8s %,10d %10.3f %10.3f %10.3f %10.3f%n", name, latencies.length,
+                total / 1e6 / latencies.length, percentile(latencies, 50) / 1e6,
+                percentile(latencies, 99) / 1e6, latencies[latencies.length - 1] / 1e6);
+    }
+
+    // Nearest-rank percentile of sorted values
+    private static long percentile(long[] sorted, double percentile) {
+        int rank = (int) Math.ceil(sorted.length * percentile / 100.0);
+        return sorted[Math.max(0, rank - 1)];
+    }
+}
@@ -0,0 +1,64 @@
+package fleetmanagement.bench;
+
+import fleetmanagement.exceptions.InvalidOperationException;
+import fleetmanagement.fleet.FleetManager;
+import fleetmanagement.fleet.JourneyBatchResult;
+import fleetmanagement.interfaces.OperationStatus;
+import fleetmanagement.vehicles.Vehicle;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+import java.util.Random;
+
+// Usage: java fleetmanagement.bench.JourneyBatchBenchmark [vehicles] [batchSize] [ticks]
+// Runs dispatch ticks of random (vehicle, distance) entries through dispatchJourneys with a reused
+// result, and reports time and heap allocation per entry; roughly a third of the fleet starts with
+// too little fuel, so failures are exercised as well as successes.
+public class JourneyBatchBenchmark {
+    public static void main(String[] args) throws InvalidOperationException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 200_000;
+        int batchSize = args.length > 1 ? Integer.parseInt(args[1]) : 10_000;
+        int ticks = args.length > 2 ? Integer.parseInt(args[2]) : 500;
+
+        List<Vehicle> vehicles = SyntheticFleet.generate(count, SyntheticFleet.ROAD_HEAVY_MIX, 3);
+        FleetManager manager = new FleetManager();
+        manager.addAll(vehicles);
+
+        Random random = new Random(5);
+        String[][] ids = new String[8][batchSize];
+        double[][] distances = new double[8][batchSize];
+        for (int b = 0; b < ids.length; b++) {
+            for (int i = 0; i < batchSize; i++) {
+                ids[b][i] = vehicles.get(random.nextInt(count)).getId();
+                distances[b][i] = random.nextInt(3) == 0 ? 5_000 : 0.5;
+            }
+        }
+
+        JourneyBatchResult result = new JourneyBatchResult(batchSize);
+        for (int tick = 0; tick < ticks / 5; tick++) {
+            manager.dispatchJourneys(ids[tick % ids.length], distances[tick % ids.length], result);
+        }
+
+        com.sun.management.ThreadMXBean threads =
+                (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long thread = Thread.currentThread().threadId();
+        long allocatedBefore = threads.getThreadAllocatedBytes(thread);
+        long start = System.nanoTime();
+        long succeeded = 0;
+        long shortOfFuel = 0;
+        for (int tick = 0; tick < ticks; tick++) {
+            manager.dispatchJourneys(ids[tick % ids.length], distances[tick % ids.length], result);
+            succeeded += result.count(OperationStatus.SUCCESS);
+            shortOfFuel += result.count(OperationStatus.INSUFFICIENT_FUEL);
+        }
+        long elapsed = System.nanoTime() - start;
+        long allocated = threads.getThreadAllocatedBytes(thread) - allocatedBefore;
+
+        long entries = (long) ticks * batchSize;
+        System.out.printf("Entries:             %,d in %,d ticks of %,d%n", entries, ticks, batchSize);
+        System.out.printf("Outcomes:            %,d moved, %,d short of fuel%n", succeeded, shortOfFuel);
+        System.out.printf("Time per entry:      %.1f ns (%.3f ms per tick)%n",
+                (double) elapsed / entries, elapsed / 1e6 / ticks);
+        System.out.printf("Allocation per entry: %.2f bytes%n", (double) allocated / entries);
+    }
+}
@@ -0,0 +1,159 @@
+package fleetmanagement.bench;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+import com.sun.management.GcInfo;
+import fleetmanagement.events.FleetEvents;
+import fleetmanagement.events.NoOpEventSink;
+import fleetmanagement.exceptions.InvalidOperationException;
+import fleetmanagement.fleet.FleetManager;
+import fleetmanagement.fleet.OffHeapFleetStore;
+import fleetmanagement.metrics.MetricsRegistry;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Usage: java --enable-preview fleetmanagement.bench.OffHeapStoreBenchmark [vehicles] [rounds]
+// Loads the same synthetic fleet into a FleetManager and into an OffHeapFleetStore, one vehicle at a
+// time, and for each prints the heap still in use after a full collection, how long that collection
+// took, and the time of each bulk operation over a number of rounds together with the collections,
+// collection time and longest pause the rounds caused. The rounds allocate some garbage of their own
+// on purpose (a report string per round), as a running application would. OffHeapStoreConsistencyTest
+// checks that the two agree.
+public class OffHeapStoreBenchmark {
+    private static final double DISTANCE = 25;
+    private static final double REFUEL = 5;
+    private static final AtomicLong maxPauseMillis = new AtomicLong();
+    // JVM uptime in milliseconds when the current GcWindow opened
+    private static volatile long windowStart = Long.MAX_VALUE;
+
+    public static void main(String[] args) throws InvalidOperationException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int rounds = args.length > 1 ? Integer.parseInt(args[1]) : 10;
+
+        FleetEvents.setSink(NoOpEventSink.INSTANCE);
+        for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+            ((NotificationEmitter) collector).addNotificationListener((notification, handback) -> {
+                if (notification.getType().equals(GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION)) {
+                    GcInfo info = GarbageCollectionNotificationInfo
+                            .from((CompositeData) notification.getUserData()).getGcInfo();
+                    // Notifications arrive late, so a collection is placed in a window by its start
+                    if (info.getStartTime() >= windowStart) {
+                        maxPauseMillis.accumulateAndGet(info.getDuration(), Math::max);
+                    }
+                }
+            }, null, null);
+        }
+
+        long baseline = heapAfterGc();
+
+        FleetManager manager = new FleetManager();
+        SyntheticFleet generator = new SyntheticFleet(SyntheticFleet.ROAD_HEAVY_MIX, 11);
+        for (int i = 0; i < count; i++) {
+            manager.addVehicle(generator.next(i));
+        }
+        report("FleetManager", baseline, 0);
+        long start;
+        long[] nanos = new long[4];
+        GcWindow window = new GcWindow();
+        for (int round = 0; round < rounds; round++) {
+            start = System.nanoTime();
+            manager.startAllJourneys(DISTANCE);
+            nanos[0] += System.nanoTime() - start;
+            start = System.nanoTime();
+            manager.refuelAllParallel(REFUEL, ForkJoinPool.commonPool());
+            nanos[1] += System.nanoTime() - start;
+            start = System.nanoTime();
+            manager.maintainAll();
+            nanos[2] += System.nanoTime() - start;
+            start = System.nanoTime();
+            manager.generateReport();
+            nanos[3] += System.nanoTime() - start;
+        }
+        printRounds(rounds, nanos, window);
+        // Measured from the same baseline, once the manager has been collected
+        manager = null;
+        OffHeapFleetStore store = new OffHeapFleetStore(count, new MetricsRegistry());
+        generator = new SyntheticFleet(SyntheticFleet.ROAD_HEAVY_MIX, 11);
+        for (int i = 0; i < count; i++) {
+            store.addVehicle(generator.next(i));
+        }
+        report("OffHeapFleetStore", baseline, store.getOffHeapBytes());
+        nanos = new long[4];
+        window = new GcWindow();
+        for (int round = 0; round < rounds; round++) {
+            start = System.nanoTime();
+            store.startAllJourneys(DISTANCE);
+            nanos[0] += System.nanoTime() - start;
+            start = System.nanoTime();
+            store.refuelAll(REFUEL);
+            nanos[1] += System.nanoTime() - start;
+            start = System.nanoTime();
+            store.maintainAll();
+            nanos[2] += System.nanoTime() - start;
+            start = System.nanoTime();
+            store.generateReport();
+            nanos[3] += System.nanoTime() - start;
+        }
+        printRounds(rounds, nanos, window);
+        store.close();
+    }
+
+    private static void report(String name, long baseline, long offHeapBytes) {
+        long before = System.nanoTime();
+        long used = heapAfterGc();
+        long gcNanos = System.nanoTime() - before;
+        System.out.printf("%s: %,d KB heap, %,d KB off-heap, full collection %.1f ms%n",
+                name, (used - baseline) / 1024, offHeapBytes / 1024, gcNanos / 1e6);
+    }
+
+    private static void printRounds(int rounds, long[] nanos, GcWindow window) {
+        System.out.printf("  per round: journeys %.1f ms, refuel %.1f ms, maintain %.1f ms, report %.1f ms%n",
+                nanos[0] / 1e6 / rounds, nanos[1] / 1e6 / rounds, nanos[2] / 1e6 / rounds, nanos[3] / 1e6 / rounds);
+        System.out.printf("  during %d rounds: %d collections, %d ms collecting, longest pause %d ms%n",
+                rounds, window.collections(), window.millis(), maxPauseMillis.get());
+    }
+
+    private static long heapAfterGc() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    // Collection counts and time since it was created; also resets the longest pause
+    private static class GcWindow {
+        private final long collections = totalCollections();
+        private final long millis = totalMillis();
+
+        GcWindow() {
+            windowStart = ManagementFactory.getRuntimeMXBean().getUptime();
+            maxPauseMillis.set(0);
+        }
+
+        long collections() {
+            return totalCollections() - collections;
+        }
+
+        long millis() {
+            return totalMillis() - millis;
+        }
+
+        private static long totalCollections() {
+            long total = 0;
+            for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+                total += collector.getCollectionCount();
+            }
+            return total;
+        }
+
+        private static long totalMillis() {
+            long total = 0;
+            for (GarbageCollectorMXBean collector : ManagementFactory.getGarbageCollectorMXBeans()) {
+                total += collector.getCollectionTime();
+            }
+            return total;
+        }
+    }
+}
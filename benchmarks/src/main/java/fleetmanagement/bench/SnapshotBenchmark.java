@@ -0,0 +1,86 @@
+package fleetmanagement.bench;
+
+import fleetmanagement.io.BinarySnapshot;
+import fleetmanagement.io.CsvFleetReader;
+import fleetmanagement.io.ParseErrorList;
+import fleetmanagement.vehicles.Vehicle;
+
+import java.io.BufferedWriter;
+import java.io.FileInputStream;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+// Usage: java fleetmanagement.bench.SnapshotBenchmark [vehicles]
+// Times a full save + load round trip through CSV and through the binary snapshot format.
+public class SnapshotBenchmark {
+    private static final int ITERATIONS = 3;
+
+    public static void main(String[] args) throws IOException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        List<Vehicle> fleet = SyntheticFleet.generate(count, SyntheticFleet.UNIFORM_MIX, 7);
+        Path csv = Files.createTempFile("fleet-bench", ".csv");
+        Path snapshot = Files.createTempFile("fleet-bench", BinarySnapshot.EXTENSION);
+        try {
+            double csvTime = Double.MAX_VALUE;
+            double binaryTime = Double.MAX_VALUE;
+            List<Vehicle> restored = null;
+            for (int i = 0; i <= ITERATIONS; i++) {
+                long start = System.nanoTime();
+                writeCsv(csv, fleet);
+                readCsv(csv);
+                long middle = System.nanoTime();
+                BinarySnapshot.write(snapshot, fleet);
+                restored = BinarySnapshot.read(snapshot);
+                long end = System.nanoTime();
+                if (i > 0) {
+                    csvTime = Math.min(csvTime, (middle - start) / 1e9);
+                    binaryTime = Math.min(binaryTime, (end - middle) / 1e9);
+                }
+            }
+
+            System.out.printf("CSV round trip:      %8.3f s (%,d bytes)%n", csvTime, Files.size(csv));
+            System.out.printf("Binary round trip:   %8.3f s (%,d bytes)%n", binaryTime, Files.size(snapshot));
+            System.out.printf("Speedup:             %8.1fx%n", csvTime / binaryTime);
+            System.out.println("Exact round trip:    " + sameState(fleet, restored));
+        } finally {
+            Files.deleteIfExists(csv);
+            Files.deleteIfExists(snapshot);
+        }
+    }
+
+    private static void writeCsv(Path file, List<Vehicle> fleet) throws IOException {
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(file.toFile()), 1 << 16)) {
+            for (Vehicle vehicle : fleet) {
+                writer.write(vehicle.toCSVString());
+                writer.newLine();
+            }
+        }
+    }
+
+    private static void readCsv(Path file) throws IOException {
+        try (InputStream in = new FileInputStream(file.toFile())) {
+            new CsvFleetReader(new ParseErrorList()).read(in);
+        }
+    }
+
+    private static boolean sameState(List<Vehicle> expected, List<Vehicle> actual) {
+        if (expected.size() != actual.size()) {
+            return false;
+        }
+        for (int i = 0; i < expected.size(); i++) {
+            Vehicle a = expected.get(i);
+            Vehicle b = actual.get(i);
+            if (!a.getId().equals(b.getId()) || a.getClass() != b.getClass()
+                    || Double.compare(a.getCurrentMileage(), b.getCurrentMileage()) != 0
+                    || !a.getDetails().equals(b.getDetails())
+                    || !a.toCSVString().equals(b.toCSVString())) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,92 @@
+package fleetmanagement.bench;
+
+import fleetmanagement.exceptions.InvalidOperationException;
+import fleetmanagement.vehicles.Airplane;
+import fleetmanagement.vehicles.Bus;
+import fleetmanagement.vehicles.Car;
+import fleetmanagement.vehicles.CargoShip;
+import fleetmanagement.vehicles.Truck;
+import fleetmanagement.vehicles.Vehicle;
+
+import java.io.BufferedWriter;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Deterministic generator of all five vehicle types for load tests and benchmarks
+public class SyntheticFleet {
+    // Relative weights for Car, Truck, Bus, Airplane, CargoShip
+    public static final double[] UNIFORM_MIX = {1, 1, 1, 1, 1};
+    public static final double[] ROAD_HEAVY_MIX = {6, 3, 1, 0.2, 0.1};
+
+    private final Random random;
+    private final double[] cumulative = new double[5];
+
+    public SyntheticFleet(double[] mix, long seed) {
+        this.random = new Random(seed);
+        double total = 0;
+        for (int i = 0; i < cumulative.length; i++) {
+            total += mix[i];
+            cumulative[i] = total;
+        }
+        for (int i = 0; i < cumulative.length; i++) {
+            cumulative[i] /= total;
+        }
+    }
+
+    public static List<Vehicle> generate(int count, double[] mix, long seed) {
+        SyntheticFleet generator = new SyntheticFleet(mix, seed);
+        List<Vehicle> vehicles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            vehicles.add(generator.next(i));
+        }
+        return vehicles;
+    }
+
+    public static void writeCsv(String filename, int rows, double[] mix, long seed) throws IOException {
+        SyntheticFleet generator = new SyntheticFleet(mix, seed);
+        try (BufferedWriter writer = new BufferedWriter(new FileWriter(filename), 1 << 16)) {
+            for (int i = 0; i < rows; i++) {
+                writer.write(generator.next(i).toCSVString());
+                writer.newLine();
+            }
+        }
+    }
+
+    public Vehicle next(int index) {
+        double pick = random.nextDouble();
+        double fuel = round(random.nextDouble() * 500);
+        double mileage = round(random.nextDouble() * 12000);
+        boolean maintenance = random.nextInt(20) == 0;
+        try {
+            if (pick < cumulative[0]) {
+                return Car.restore("C" + index, "Sedan " + (index % 97), 150 + random.nextInt(60), 4,
+                        fuel, random.nextInt(6), mileage, maintenance);
+            } else if (pick < cumulative[1]) {
+                return Truck.restore("T" + index, "Hauler " + (index % 89), 100 + random.nextInt(40), 6,
+                        fuel, round(random.nextDouble() * 5000), mileage, maintenance);
+            } else if (pick < cumulative[2]) {
+                return Bus.restore("B" + index, "Coach " + (index % 83), 90 + random.nextInt(30), 6,
+                        fuel, random.nextInt(51), round(random.nextDouble() * 500), mileage, maintenance);
+            } else if (pick < cumulative[3]) {
+                return Airplane.restore("A" + index, "Jet " + (index % 79), 700 + random.nextInt(250),
+                        30000 + random.nextInt(10000), fuel * 20, random.nextInt(201),
+                        round(random.nextDouble() * 10000), mileage, maintenance);
+            } else {
+                // Sail-powered ships cannot be refuelled, so they carry no fuel
+                boolean hasSail = random.nextInt(4) == 0;
+                return CargoShip.restore("S" + index, "Freighter " + (index % 73), 40 + random.nextInt(20),
+                        hasSail, hasSail ? 0 : fuel * 10, round(random.nextDouble() * 50000), mileage, maintenance);
+            }
+        } catch (InvalidOperationException e) {
+            throw new IllegalStateException(e.getMessage());
+        }
+    }
+
+    // CSV keeps one decimal, so generate values that survive the round trip
+    private static double round(double value) {
+        return Math.round(value * 10) / 10.0;
+    }
+}
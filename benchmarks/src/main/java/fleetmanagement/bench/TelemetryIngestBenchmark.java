@@ -0,0 +1,111 @@
+package fleetmanagement.bench;
+
+import fleetmanagement.events.FleetEvents;
+import fleetmanagement.events.NoOpEventSink;
+import fleetmanagement.exceptions.InvalidOperationException;
+import fleetmanagement.fleet.FleetManager;
+import fleetmanagement.interfaces.OperationStatus;
+import fleetmanagement.metrics.LatencyHistogram;
+import fleetmanagement.telemetry.TelemetryPipeline;
+import fleetmanagement.vehicles.Vehicle;
+
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+// Usage: java fleetmanagement.bench.TelemetryIngestBenchmark [vehicles] [seconds] [consumers] [ringCapacity] [rate]
+// One producer publishes readings for random vehicles, each odometer a little ahead of that
+// vehicle's last one: as fast as the pipeline accepts them, or paced to a target readings/sec. Prints the sustained readings/sec, the
+// publish-to-applied lag and how often and how long the producer was held back by a full ring.
+// "direct" applies the same readings one at a time on the producer thread, as callers had to before.
+public class TelemetryIngestBenchmark {
+    private static final double FUEL_READING = 40.0;
+
+    public static void main(String[] args) throws InvalidOperationException {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        int seconds = args.length > 1 ? Integer.parseInt(args[1]) : 5;
+        int consumers = args.length > 2 ? Integer.parseInt(args[2]) : 2;
+        int capacity = args.length > 3 ? Integer.parseInt(args[3]) : TelemetryPipeline.DEFAULT_CAPACITY;
+        // Readings per second, 0 for no limit
+        long rate = args.length > 4 ? Long.parseLong(args[4]) : 0;
+
+        FleetEvents.setSink(NoOpEventSink.INSTANCE);
+        List<Vehicle> vehicles = SyntheticFleet.generate(count, SyntheticFleet.ROAD_HEAVY_MIX, 17);
+        String[] ids = new String[count];
+        double[] odometers = new double[count];
+        for (int i = 0; i < count; i++) {
+            ids[i] = vehicles.get(i).getId();
+            odometers[i] = vehicles.get(i).getCurrentMileage();
+        }
+        long durationNanos = TimeUnit.SECONDS.toNanos(seconds);
+
+        // Each run gets a fresh manager, so the lag recorded in its registry covers that run alone
+        run(vehicles, ids, odometers, 0, capacity, rate, durationNanos / 5, false);
+        run(vehicles, ids, odometers, 0, capacity, rate, durationNanos, true);
+        run(vehicles, ids, odometers, consumers, capacity, rate, durationNanos / 5, false);
+        run(vehicles, ids, odometers, consumers, capacity, rate, durationNanos, true);
+    }
+
+    // No consumers means the direct path
+    private static void run(List<Vehicle> vehicles, String[] ids, double[] odometers, int consumers, int capacity,
+                            long rate, long durationNanos, boolean print) throws InvalidOperationException {
+        FleetManager manager = new FleetManager();
+        manager.addAll(vehicles);
+        TelemetryPipeline pipeline = consumers > 0 ? new TelemetryPipeline(manager, capacity, consumers) : null;
+        Random random = new Random(3);
+        long readings = 0;
+        long directApplied = 0;
+        long start = System.nanoTime();
+        long deadline = start + durationNanos;
+        while (System.nanoTime() < deadline) {
+            for (int i = 0; i < 1024; i++) {
+                int v = random.nextInt(ids.length);
+                odometers[v] += 0.5;
+                if (pipeline != null) {
+                    pipeline.publish(ids[v], odometers[v], FUEL_READING);
+                    continue;
+                }
+                Vehicle vehicle = manager.getById(ids[v]);
+                if (vehicle != null &&
+                        vehicle.applyTelemetry(System.nanoTime(), odometers[v], FUEL_READING) == OperationStatus.SUCCESS) {
+                    directApplied++;
+                }
+            }
+            readings += 1024;
+            if (rate > 0) {
+                long due = start + readings * 1_000_000_000L / rate;
+                while (System.nanoTime() < due) {
+                    LockSupport.parkNanos(due - System.nanoTime());
+                }
+            }
+        }
+        long published = System.nanoTime();
+        long backlog = pipeline != null ? pipeline.getBacklog() : 0;
+        if (pipeline != null) {
+            pipeline.close();
+        }
+        long end = System.nanoTime();
+        for (String id : ids) {
+            manager.removeVehicle(id);
+        }
+        if (!print) {
+            return;
+        }
+        if (pipeline == null) {
+            System.out.printf("direct:   %,12.0f readings/sec (%,d readings, %,d applied)%n",
+                    readings / ((end - start) / 1e9), readings, directApplied);
+            return;
+        }
+        LatencyHistogram lag = pipeline.getLag();
+        System.out.printf("pipeline: %,12.0f readings/sec with %d consumers, ring of %,d (%,d readings, %,d applied)%n",
+                readings / ((end - start) / 1e9), consumers, pipeline.getCapacity(), readings,
+                pipeline.getAppliedCount());
+        System.out.printf("  lag: mean %.1f us, p50 <= %.1f us, p99 <= %.1f us, max %.1f us%n",
+                lag.getMeanNanos() / 1e3, lag.getPercentileNanos(50) / 1e3, lag.getPercentileNanos(99) / 1e3,
+                lag.getMaxNanos() / 1e3);
+        System.out.printf("  backpressure: %,d waits, %.1f ms (%.1f%% of publishing); backlog %,d, drained in %.1f ms%n",
+                pipeline.getBackpressureWaits(), pipeline.getBackpressureNanos() / 1e6,
+                100.0 * pipeline.getBackpressureNanos() / (published - start), backlog, (end - published) / 1e6);
+    }
+}
@@ -0,0 +1,141 @@
+package fleetmanagement.jmh;
+
+import fleetmanagement.exceptions.InvalidOperationException;
+import fleetmanagement.fleet.ColumnKernels;
+import fleetmanagement.fleet.FleetColumns;
+import fleetmanagement.fleet.FleetManager;
+import fleetmanagement.interfaces.CargoCarrier;
+import fleetmanagement.interfaces.FuelConsumable;
+import fleetmanagement.vehicles.Vehicle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// Fleet-wide aggregates three ways: "object" walks the Vehicle objects through their interfaces,
+// as the per-vehicle loops do; "scalar" and "vector" run the ColumnKernels implementations over
+// the columnar view. The fork adds the vector module so both kernel sets are available.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx16g", "--add-modules=jdk.incubator.vector"})
+public class ColumnKernelBenchmark extends FleetFixture {
+    private static final double DISTANCE = 50.0;
+    private static final double LOW_FUEL = 5.0;
+
+    @Param({"object", "scalar", "vector"})
+    public String kernels;
+
+    private List<Vehicle> vehicles;
+    private FleetColumns columns;
+    private ColumnKernels kernel;
+    private int[] rows;
+
+    @Setup
+    public void setUp() throws InvalidOperationException {
+        silenceEvents();
+        FleetManager manager = newManager(generateFleet());
+        manager.refuelAllParallel(5.0, ForkJoinPool.commonPool());
+        vehicles = manager.getFleet();
+        columns = manager.getColumns();
+        kernel = "vector".equals(kernels) ? ColumnKernels.vector() : ColumnKernels.scalar();
+        if (kernel == null) {
+            throw new IllegalStateException("jdk.incubator.vector is not available");
+        }
+        rows = new int[columns.size()];
+    }
+
+    @Benchmark
+    public double totalFuel() {
+        if ("object".equals(kernels)) {
+            double total = 0;
+            for (Vehicle vehicle : vehicles) {
+                if (vehicle instanceof FuelConsumable) {
+                    total += ((FuelConsumable) vehicle).getFuelLevel();
+                }
+            }
+            return total;
+        }
+        return kernel.sum(columns.fuelLevels(), 0, columns.size());
+    }
+
+    @Benchmark
+    public double cargoUtilization() {
+        if ("object".equals(kernels)) {
+            double loaded = 0;
+            double capacity = 0;
+            for (Vehicle vehicle : vehicles) {
+                if (vehicle instanceof CargoCarrier) {
+                    loaded += ((CargoCarrier) vehicle).getCurrentCargo();
+                    capacity += ((CargoCarrier) vehicle).getCargoCapacity();
+                }
+            }
+            return capacity > 0 ? loaded / capacity : 0;
+        }
+        double capacity = kernel.sum(columns.cargoCapacities(), 0, columns.size());
+        return capacity > 0 ? kernel.sum(columns.cargo(), 0, columns.size()) / capacity : 0;
+    }
+
+    @Benchmark
+    public double averageEfficiency() {
+        if ("object".equals(kernels)) {
+            double total = 0;
+            int count = 0;
+            for (Vehicle vehicle : vehicles) {
+                double efficiency = vehicle.calculateFuelEfficiency();
+                if (Double.isFinite(efficiency)) {
+                    total += efficiency;
+                    count++;
+                }
+            }
+            return count > 0 ? total / count : 0;
+        }
+        int count = kernel.countFinite(columns.efficiencies(), columns.typeTags(), 0, columns.size());
+        return count > 0 ? kernel.sumFinite(columns.efficiencies(), columns.typeTags(), 0, columns.size()) / count : 0;
+    }
+
+    @Benchmark
+    public int countLowFuel() {
+        if ("object".equals(kernels)) {
+            int count = 0;
+            for (Vehicle vehicle : vehicles) {
+                if (vehicle instanceof FuelConsumable && ((FuelConsumable) vehicle).getFuelLevel() < LOW_FUEL) {
+                    count++;
+                }
+            }
+            return count;
+        }
+        return kernel.filterBelow(columns.fuelLevels(), LOW_FUEL, columns.typeTags(), 0, columns.size(), rows);
+    }
+
+    // The getTotalFuelConsumption arithmetic, without its shortfall events
+    @Benchmark
+    public double feasibleFuel() {
+        if ("object".equals(kernels)) {
+            double total = 0;
+            for (Vehicle vehicle : vehicles) {
+                double fuelNeeded = DISTANCE / vehicle.calculateFuelEfficiency();
+                double fuelLevel = vehicle instanceof FuelConsumable ? ((FuelConsumable) vehicle).getFuelLevel() : 0;
+                if (fuelNeeded <= fuelLevel) {
+                    total += fuelNeeded;
+                }
+            }
+            return total;
+        }
+        return kernel.feasibleFuel(DISTANCE, columns.efficiencies(), columns.fuelLevels(), columns.typeTags(),
+                0, columns.size());
+    }
+}
@@ -0,0 +1,67 @@
+package fleetmanagement.jmh;
+
+import fleetmanagement.exceptions.InvalidOperationException;
+import fleetmanagement.fleet.FleetManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+// CSV persistence through a temp file. loadFromFile reads the file written during setup and
+// replaces the fleet with an identical one, so every call does the same work.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx16g"})
+public class CsvRoundTripBenchmark extends FleetFixture {
+    private FleetManager manager;
+    private Path file;
+    private Path scratch;
+
+    @Setup
+    public void setUp() throws InvalidOperationException, IOException {
+        silenceEvents();
+        manager = newManager(generateFleet());
+        file = Files.createTempFile("fleet-jmh", ".csv");
+        scratch = Files.createTempFile("fleet-jmh-save", ".csv");
+        manager.saveToFile(file.toString());
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(file);
+        Files.deleteIfExists(scratch);
+    }
+
+    @Benchmark
+    public void saveToFile() {
+        manager.saveToFile(scratch.toString());
+    }
+
+    @Benchmark
+    public FleetManager loadFromFile() {
+        manager.loadFromFile(file.toString());
+        return manager;
+    }
+
+    @Benchmark
+    public FleetManager roundTrip() {
+        manager.saveToFile(scratch.toString());
+        manager.loadFromFile(scratch.toString());
+        return manager;
+    }
+}
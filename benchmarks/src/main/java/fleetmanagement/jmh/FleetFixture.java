@@ -0,0 +1,57 @@
+package fleetmanagement.jmh;
+
+import fleetmanagement.bench.SyntheticFleet;
+import fleetmanagement.events.FleetEvents;
+import fleetmanagement.events.NoOpEventSink;
+import fleetmanagement.exceptions.InvalidOperationException;
+import fleetmanagement.fleet.FleetManager;
+import fleetmanagement.vehicles.Vehicle;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.List;
+
+// Fleet size and type mix shared by every benchmark. The full size range needs a large heap: a
+// 10M-vehicle fleet with its indexes takes several GB, hence -Xmx16g on the forks. Narrow the run
+// with e.g. -p size=1000,100000 -p mix=uniform.
+@State(Scope.Benchmark)
+public abstract class FleetFixture {
+    static final long SEED = 42;
+    // Relative weights for Car, Truck, Bus, Airplane, CargoShip
+    static final double[] AIR_SEA_MIX = {0.5, 0.5, 0.5, 4, 4};
+
+    @Param({"1000", "100000", "1000000", "10000000"})
+    public int size;
+
+    @Param({"uniform", "road-heavy", "air-sea"})
+    public String mix;
+
+    // Benchmarks measure the operations, not console output
+    protected void silenceEvents() {
+        FleetEvents.setSink(NoOpEventSink.INSTANCE);
+    }
+
+    protected List<Vehicle> generateFleet() {
+        return SyntheticFleet.generate(size, typeMix(), SEED);
+    }
+
+    protected FleetManager newManager(List<Vehicle> vehicles) throws InvalidOperationException {
+        FleetManager manager = new FleetManager();
+        manager.addAll(vehicles);
+        return manager;
+    }
+
+    protected double[] typeMix() {
+        switch (mix) {
+            case "uniform":
+                return SyntheticFleet.UNIFORM_MIX;
+            case "road-heavy":
+                return SyntheticFleet.ROAD_HEAVY_MIX;
+            case "air-sea":
+                return AIR_SEA_MIX;
+            default:
+                throw new IllegalArgumentException("Unknown type mix: " + mix);
+        }
+    }
+}
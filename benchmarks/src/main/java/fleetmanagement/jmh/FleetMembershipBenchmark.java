@@ -0,0 +1,74 @@
+package fleetmanagement.jmh;
+
+import fleetmanagement.bench.SyntheticFleet;
+import fleetmanagement.exceptions.InvalidOperationException;
+import fleetmanagement.fleet.FleetManager;
+import fleetmanagement.vehicles.Vehicle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.BenchmarkParams;
+
+import java.util.concurrent.TimeUnit;
+
+// addVehicle and removeVehicle change the fleet, so each iteration is a single batch of BATCH calls
+// against a fleet of exactly `size` vehicles (plus the spares, when removing). Scores are the time
+// for the whole batch.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 10, batchSize = FleetMembershipBenchmark.BATCH)
+@Measurement(iterations = 20, batchSize = FleetMembershipBenchmark.BATCH)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx16g"})
+public class FleetMembershipBenchmark extends FleetFixture {
+    static final int BATCH = 1000;
+
+    private FleetManager manager;
+    private Vehicle[] spares;
+    private int next;
+
+    @Setup
+    public void setUp() throws InvalidOperationException {
+        silenceEvents();
+        manager = newManager(generateFleet());
+        // Indexes from `size` on, so the IDs never clash with the fleet's own
+        SyntheticFleet generator = new SyntheticFleet(typeMix(), SEED + 1);
+        spares = new Vehicle[BATCH];
+        for (int i = 0; i < BATCH; i++) {
+            spares[i] = generator.next(size + i);
+        }
+    }
+
+    // Spares are out of the fleet before adding and in it before removing
+    @Setup(Level.Iteration)
+    public void resetSpares(BenchmarkParams params) throws InvalidOperationException {
+        boolean removing = params.getBenchmark().endsWith("removeVehicle");
+        for (Vehicle spare : spares) {
+            boolean present = manager.getById(spare.getId()) != null;
+            if (present && !removing) {
+                manager.removeVehicle(spare.getId());
+            } else if (!present && removing) {
+                manager.addVehicle(spare);
+            }
+        }
+        next = 0;
+    }
+
+    @Benchmark
+    public void addVehicle() throws InvalidOperationException {
+        manager.addVehicle(spares[next++]);
+    }
+
+    @Benchmark
+    public void removeVehicle() throws InvalidOperationException {
+        manager.removeVehicle(spares[next++].getId());
+    }
+}
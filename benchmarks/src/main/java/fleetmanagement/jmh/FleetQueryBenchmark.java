@@ -0,0 +1,96 @@
+package fleetmanagement.jmh;
+
+import fleetmanagement.exceptions.InvalidOperationException;
+import fleetmanagement.fleet.FleetManager;
+import fleetmanagement.interfaces.PassengerCarrier;
+import fleetmanagement.vehicles.Airplane;
+import fleetmanagement.vehicles.Car;
+import fleetmanagement.vehicles.Vehicle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Read-only operations on a populated fleet
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx16g"})
+public class FleetQueryBenchmark extends FleetFixture {
+    private FleetManager manager;
+    private String middleId;
+
+    @Setup
+    public void setUp() throws InvalidOperationException {
+        silenceEvents();
+        List<Vehicle> vehicles = generateFleet();
+        manager = newManager(vehicles);
+        middleId = vehicles.get(vehicles.size() / 2).getId();
+    }
+
+    @Benchmark
+    public List<Vehicle> searchByConcreteType() {
+        return manager.searchByType(Car.class);
+    }
+
+    @Benchmark
+    public List<Vehicle> searchByRareType() {
+        return manager.searchByType(Airplane.class);
+    }
+
+    @Benchmark
+    public List<Vehicle> searchByInterface() {
+        return manager.searchByType(PassengerCarrier.class);
+    }
+
+    @Benchmark
+    public List<Vehicle> mostEfficient20() {
+        return manager.getMostEfficient(20);
+    }
+
+    @Benchmark
+    public int efficiencyRank() {
+        return manager.getEfficiencyRank(middleId);
+    }
+
+    @Benchmark
+    public List<Vehicle> fuelBelow5() {
+        return manager.getVehiclesWithFuelBelow(5);
+    }
+
+    @Benchmark
+    public List<Vehicle> mileageAbove11000() {
+        return manager.getVehiclesWithMileageAbove(11000);
+    }
+
+    @Benchmark
+    public List<Vehicle> freeSeats100() {
+        return manager.getVehiclesWithFreeSeats(100);
+    }
+
+    @Benchmark
+    public List<Vehicle> freeCargo50000() {
+        return manager.getVehiclesWithFreeCargo(50000);
+    }
+
+    @Benchmark
+    public List<Vehicle> dueWithin100Km() {
+        return manager.getVehiclesDueWithin(100);
+    }
+
+    @Benchmark
+    public String generateReport() {
+        return manager.generateReport();
+    }
+}
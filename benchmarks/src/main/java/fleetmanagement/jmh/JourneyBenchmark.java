@@ -0,0 +1,85 @@
+package fleetmanagement.jmh;
+
+import fleetmanagement.events.AsyncBatchingEventSink;
+import fleetmanagement.events.ConsoleEventSink;
+import fleetmanagement.events.FleetEventSink;
+import fleetmanagement.events.FleetEvents;
+import fleetmanagement.events.NoOpEventSink;
+import fleetmanagement.exceptions.InvalidOperationException;
+import fleetmanagement.fleet.FleetManager;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// startAllJourneys with each event sink. "console" formats every line as the CLI would but writes
+// to a null stream, so it measures formatting and stream locking without terminal I/O.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx16g"})
+public class JourneyBenchmark extends FleetFixture {
+    private static final double DISTANCE = 1.0;
+
+    @Param({"noop", "console", "async"})
+    public String events;
+
+    private FleetManager manager;
+    private FleetEventSink sink;
+
+    @Setup
+    public void setUp() throws InvalidOperationException {
+        silenceEvents();
+        manager = newManager(generateFleet());
+        PrintStream discard = new PrintStream(OutputStream.nullOutputStream());
+        switch (events) {
+            case "noop":
+                sink = NoOpEventSink.INSTANCE;
+                break;
+            case "console":
+                sink = new ConsoleEventSink(discard, discard);
+                break;
+            case "async":
+                sink = new AsyncBatchingEventSink(new ConsoleEventSink(discard, discard));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown event sink: " + events);
+        }
+        FleetEvents.setSink(sink);
+    }
+
+    // Keeps every journey on the success path; sail ships reject the refuel and never need it
+    @Setup(Level.Iteration)
+    public void refuel() {
+        manager.refuelAllParallel(1_000_000, ForkJoinPool.commonPool());
+    }
+
+    @TearDown
+    public void tearDown() {
+        if (sink instanceof AsyncBatchingEventSink) {
+            ((AsyncBatchingEventSink) sink).close();
+        }
+        silenceEvents();
+    }
+
+    @Benchmark
+    public void startAllJourneys() {
+        manager.startAllJourneys(DISTANCE);
+    }
+}
@@ -0,0 +1,69 @@
+package fleetmanagement.jmh;
+
+import fleetmanagement.exceptions.InvalidOperationException;
+import fleetmanagement.fleet.FleetManager;
+import fleetmanagement.fleet.JourneyPlan;
+import fleetmanagement.vehicles.Vehicle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+
+// Fuel and journey time for the whole fleet over a set of candidate distances. perDistance is what
+// a planner does without the bulk API: getTotalFuelConsumption and estimateJourneyTime for each
+// vehicle, once per distance. planJourneys fills the same figures, plus per-cell feasibility, into
+// a reused plan.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx16g"})
+public class JourneyPlanBenchmark extends FleetFixture {
+    private static final int DISTANCES = 32;
+
+    private FleetManager manager;
+    private List<Vehicle> vehicles;
+    private double[] distances;
+    private JourneyPlan plan;
+
+    @Setup
+    public void setUp() throws InvalidOperationException {
+        silenceEvents();
+        manager = newManager(generateFleet());
+        // Some vehicles can make every distance and some only the shorter ones
+        manager.refuelAllParallel(5.0, ForkJoinPool.commonPool());
+        vehicles = manager.getFleet();
+        distances = new double[DISTANCES];
+        for (int i = 0; i < DISTANCES; i++) {
+            distances[i] = 10.0 * (i + 1);
+        }
+        plan = new JourneyPlan();
+    }
+
+    @Benchmark
+    public void perDistance(Blackhole blackhole) {
+        for (double distance : distances) {
+            blackhole.consume(manager.getTotalFuelConsumption(distance));
+            for (Vehicle vehicle : vehicles) {
+                blackhole.consume(vehicle.estimateJourneyTime(distance));
+            }
+        }
+    }
+
+    @Benchmark
+    public JourneyPlan planJourneys() {
+        return manager.planJourneys(distances, plan);
+    }
+}
@@ -0,0 +1,79 @@
+package fleetmanagement.jmh;
+
+import fleetmanagement.exceptions.InvalidOperationException;
+import fleetmanagement.fleet.FleetColumns;
+import fleetmanagement.interfaces.OperationStatus;
+import fleetmanagement.metrics.Counter;
+import fleetmanagement.metrics.MetricsRegistry;
+import fleetmanagement.vehicles.Car;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+// Cost the journey metrics add to each move. moveTallied does what FleetManager does per journey:
+// a type tag lookup and a plain increment in a call-local tally that is added to the shared counters
+// once per operation. moveWithCounter increments the shared counter directly, for comparison.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+    private static final double DISTANCE = 0.001;
+    private static final int STATUSES = OperationStatus.values().length;
+
+    private Car car;
+    private Counter[][] journeys;
+    private long[] tally;
+
+    @Setup
+    public void setUp() throws InvalidOperationException {
+        car = new Car("C1", "Bench Car", 150, 4);
+        car.refuel(1e12);
+        MetricsRegistry registry = new MetricsRegistry();
+        OperationStatus[] statuses = OperationStatus.values();
+        journeys = new Counter[FleetColumns.CARGO_SHIP + 1][statuses.length];
+        for (int type = FleetColumns.CAR; type <= FleetColumns.CARGO_SHIP; type++) {
+            for (OperationStatus status : statuses) {
+                journeys[type][status.ordinal()] = registry.counter("fleet.journeys",
+                        "type", String.valueOf(type), "outcome", status.name());
+            }
+        }
+        tally = new long[(FleetColumns.CARGO_SHIP + 1) * statuses.length];
+    }
+
+    @Benchmark
+    public OperationStatus move() {
+        synchronized (car) {
+            return car.tryMove(DISTANCE);
+        }
+    }
+
+    @Benchmark
+    public OperationStatus moveTallied() {
+        synchronized (car) {
+            OperationStatus status = car.tryMove(DISTANCE);
+            tally[FleetColumns.typeTag(car) * STATUSES + status.ordinal()]++;
+            return status;
+        }
+    }
+
+    @Benchmark
+    public OperationStatus moveWithCounter() {
+        synchronized (car) {
+            OperationStatus status = car.tryMove(DISTANCE);
+            journeys[FleetColumns.typeTag(car)][status.ordinal()].increment();
+            return status;
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package fleetmanagement.jmh;
+
+import fleetmanagement.exceptions.InvalidOperationException;
+import fleetmanagement.fleet.FleetManager;
+import fleetmanagement.fleet.FleetSummary;
+import fleetmanagement.fleet.ShardedFleetManager;
+import fleetmanagement.interfaces.CargoCarrier;
+import fleetmanagement.vehicles.Vehicle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// Fleet-wide queries on one FleetManager (shards = 0) and scattered across a ShardedFleetManager
+// on the common pool. Point lookups show the routing cost.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx16g"})
+public class ShardedFleetBenchmark extends FleetFixture {
+    private static final double DISTANCE = 1.0;
+
+    @Param({"0", "4", "16"})
+    public int shards;
+
+    private FleetManager single;
+    private ShardedFleetManager sharded;
+    private String middleId;
+
+    @Setup
+    public void setUp() throws InvalidOperationException {
+        silenceEvents();
+        List<Vehicle> vehicles = generateFleet();
+        middleId = vehicles.get(vehicles.size() / 2).getId();
+        if (shards == 0) {
+            single = newManager(vehicles);
+        } else {
+            sharded = new ShardedFleetManager(shards);
+            sharded.addAll(vehicles);
+        }
+    }
+
+    @Benchmark
+    public List<Vehicle> searchByInterface() {
+        return single != null ? single.searchByType(CargoCarrier.class) : sharded.searchByType(CargoCarrier.class);
+    }
+
+    @Benchmark
+    public double totalFuelConsumption() {
+        return single != null ? single.getTotalFuelConsumption(DISTANCE) : sharded.getTotalFuelConsumption(DISTANCE);
+    }
+
+    @Benchmark
+    public FleetSummary summary() {
+        return single != null ? single.getSummary() : sharded.getSummary();
+    }
+
+    @Benchmark
+    public Vehicle getById() {
+        return single != null ? single.getById(middleId) : sharded.getById(middleId);
+    }
+}
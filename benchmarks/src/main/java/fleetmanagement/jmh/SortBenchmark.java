@@ -0,0 +1,56 @@
+package fleetmanagement.jmh;
+
+import fleetmanagement.exceptions.InvalidOperationException;
+import fleetmanagement.fleet.FleetManager;
+import fleetmanagement.vehicles.Vehicle;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+// Sorting an already sorted fleet is nearly free, so every call gets a freshly shuffled fleet
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(value = 1, jvmArgsAppend = {"-Xmx16g"})
+public class SortBenchmark extends FleetFixture {
+    private Random random;
+    private FleetManager manager;
+
+    @Setup
+    public void setUp() {
+        silenceEvents();
+        random = new Random(SEED);
+    }
+
+    @Setup(Level.Iteration)
+    public void shuffle() throws InvalidOperationException {
+        // Let the previous fleet go before building the next one; a vehicle belongs to one fleet
+        // at a time, so each iteration gets the same vehicles afresh
+        manager = null;
+        List<Vehicle> vehicles = new ArrayList<>(generateFleet());
+        Collections.shuffle(vehicles, random);
+        manager = newManager(vehicles);
+    }
+
+    @Benchmark
+    public FleetManager sortFleetByEfficiency() {
+        manager.sortFleetByEfficiency();
+        return manager;
+    }
+}
@@ -0,0 +1,418 @@
+package fleetmanagement.cli;
+
+import fleetmanagement.exceptions.InvalidOperationException;
+import fleetmanagement.fleet.FleetManager;
+import fleetmanagement.fleet.JourneyBatchResult;
+import fleetmanagement.interfaces.CargoCarrier;
+import fleetmanagement.interfaces.FuelConsumable;
+import fleetmanagement.interfaces.OperationStatus;
+import fleetmanagement.interfaces.PassengerCarrier;
+import fleetmanagement.io.ParseErrorList;
+import fleetmanagement.vehicles.Airplane;
+import fleetmanagement.vehicles.Bus;
+import fleetmanagement.vehicles.Car;
+import fleetmanagement.vehicles.CargoShip;
+import fleetmanagement.vehicles.Truck;
+import fleetmanagement.vehicles.Vehicle;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+// Runs a script of fleet commands without prompts, one command per line:
+//   add car|truck|bus <id> <model> <maxSpeed> <wheels> [fuel]
+//   add airplane <id> <model> <maxSpeed> <maxAltitude> [fuel]
+//   add cargoship <id> <model> <maxSpeed> <true|false has sail> [fuel]
+//   remove <id>
+//   move <id> <km>                      one vehicle
+//   journey <km>                        every vehicle
+//   refuel <id>|all <liters>
+//   board|disembark <id> <passengers>
+//   load|unload <id> <kg>               cargo
+//   maintain | report | search <type> | save <file> | open <file>
+// Tokens are separated by whitespace; a model with spaces goes in double quotes, and # starts a
+// comment. The whole script is parsed before anything runs, so a typo on the last line cannot leave
+// the fleet half updated. A run of consecutive moves is dispatched to the fleet as one batch.
+// Failures, including unexpected errors, are reported with their line numbers and do not stop the
+// script.
+public class BatchRunner {
+    private static final int ADD = 0;
+    private static final int REMOVE = 1;
+    private static final int MOVE = 2;
+    private static final int JOURNEY = 3;
+    private static final int REFUEL = 4;
+    private static final int REFUEL_ALL = 5;
+    private static final int BOARD = 6;
+    private static final int DISEMBARK = 7;
+    private static final int LOAD = 8;
+    private static final int UNLOAD = 9;
+    private static final int MAINTAIN = 10;
+    private static final int REPORT = 11;
+    private static final int SEARCH = 12;
+    private static final int SAVE = 13;
+    private static final int OPEN = 14;
+
+    private final FleetManager fleetManager;
+    private final PrintStream out;
+    private final List<Command> commands = new ArrayList<>();
+    private final JourneyBatchResult journeys = new JourneyBatchResult();
+    private int failures;
+
+    public BatchRunner(FleetManager fleetManager, PrintStream out) {
+        this.fleetManager = fleetManager;
+        this.out = out;
+    }
+
+    // One parsed line. The vehicle for an add is built while parsing, so bad attributes are
+    // reported with the other parse errors.
+    private static class Command {
+        final long line;
+        final String name;
+        final int kind;
+        final String target;
+        final double amount;
+        final Vehicle vehicle;
+
+        Command(long line, String name, int kind, String target, double amount, Vehicle vehicle) {
+            this.line = line;
+            this.name = name;
+            this.kind = kind;
+            this.target = target;
+            this.amount = amount;
+            this.vehicle = vehicle;
+        }
+    }
+
+    public int getCommandCount() {
+        return commands.size();
+    }
+
+    // Parses the whole script, adding its commands to any parsed before; the returned list holds
+    // the lines that were rejected
+    public ParseErrorList parse(BufferedReader script) throws IOException {
+        ParseErrorList errors = new ParseErrorList();
+        long lineNumber = 0;
+        String line;
+        while ((line = script.readLine()) != null) {
+            lineNumber++;
+            try {
+                List<String> tokens = tokenize(line);
+                if (!tokens.isEmpty()) {
+                    commands.add(parseCommand(lineNumber, tokens));
+                }
+            } catch (IllegalArgumentException | InvalidOperationException e) {
+                errors.reject(lineNumber, e.getMessage());
+            }
+        }
+        return errors;
+    }
+
+    // Runs every parsed command in order and flushes the output; returns the number that failed
+    public int execute() {
+        int i = 0;
+        while (i < commands.size()) {
+            if (commands.get(i).kind == MOVE) {
+                int end = i + 1;
+                while (end < commands.size() && commands.get(end).kind == MOVE) {
+                    end++;
+                }
+                dispatch(i, end);
+                i = end;
+            } else {
+                run(commands.get(i++));
+            }
+        }
+        out.flush();
+        return failures;
+    }
+
+    private void dispatch(int from, int to) {
+        String[] ids = new String[to - from];
+        double[] distances = new double[to - from];
+        for (int i = from; i < to; i++) {
+            ids[i - from] = commands.get(i).target;
+            distances[i - from] = commands.get(i).amount;
+        }
+        try {
+            fleetManager.dispatchJourneys(ids, distances, journeys);
+        } catch (RuntimeException e) {
+            for (int i = from; i < to; i++) {
+                fail(commands.get(i), e.toString());
+            }
+            return;
+        }
+        for (int i = 0; i < journeys.size(); i++) {
+            if (journeys.getStatus(i) != OperationStatus.SUCCESS) {
+                fail(commands.get(from + i), journeys.getStatus(i));
+            }
+        }
+    }
+
+    private void run(Command command) {
+        try {
+            switch (command.kind) {
+                case ADD:
+                    fleetManager.addVehicle(command.vehicle);
+                    break;
+                case REMOVE:
+                    fleetManager.removeVehicle(command.target);
+                    break;
+                case JOURNEY:
+                    fleetManager.startAllJourneys(command.amount);
+                    break;
+                case REFUEL_ALL:
+                    fleetManager.refuelAll(command.amount);
+                    break;
+                case REFUEL:
+                case BOARD:
+                case DISEMBARK:
+                case LOAD:
+                case UNLOAD:
+                    OperationStatus status = apply(command);
+                    if (status != OperationStatus.SUCCESS) {
+                        fail(command, status);
+                    }
+                    break;
+                case MAINTAIN:
+                    fleetManager.maintainAll();
+                    break;
+                case REPORT:
+                    out.println(fleetManager.generateReport());
+                    break;
+                case SEARCH:
+                    search(command.target);
+                    break;
+                case SAVE:
+                    if (!fleetManager.saveToFile(command.target)) {
+                        fail(command, "could not save fleet");
+                    }
+                    break;
+                case OPEN:
+                    if (!fleetManager.loadFromFile(command.target)) {
+                        fail(command, "could not load fleet");
+                    }
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown command kind " + command.kind);
+            }
+        } catch (InvalidOperationException e) {
+            fail(command, e.getMessage());
+        } catch (RuntimeException e) {
+            fail(command, e.toString());
+        }
+    }
+
+    private OperationStatus apply(Command command) {
+        Vehicle vehicle = fleetManager.getById(command.target);
+        if (vehicle == null) {
+            return OperationStatus.NOT_FOUND;
+        }
+        switch (command.kind) {
+            case REFUEL:
+                return vehicle instanceof FuelConsumable
+                        ? ((FuelConsumable) vehicle).tryRefuel(command.amount) : OperationStatus.NOT_SUPPORTED;
+            case BOARD:
+                return vehicle instanceof PassengerCarrier
+                        ? ((PassengerCarrier) vehicle).tryBoard((int) command.amount) : OperationStatus.NOT_SUPPORTED;
+            case DISEMBARK:
+                return vehicle instanceof PassengerCarrier
+                        ? ((PassengerCarrier) vehicle).tryDisembark((int) command.amount) : OperationStatus.NOT_SUPPORTED;
+            case LOAD:
+                return vehicle instanceof CargoCarrier
+                        ? ((CargoCarrier) vehicle).tryLoadCargo(command.amount) : OperationStatus.NOT_SUPPORTED;
+            default:
+                return vehicle instanceof CargoCarrier
+                        ? ((CargoCarrier) vehicle).tryUnloadCargo(command.amount) : OperationStatus.NOT_SUPPORTED;
+        }
+    }
+
+    private void search(String type) {
+        List<Vehicle> results;
+        switch (type) {
+            case "car": results = fleetManager.searchByType(Car.class); break;
+            case "truck": results = fleetManager.searchByType(Truck.class); break;
+            case "bus": results = fleetManager.searchByType(Bus.class); break;
+            case "airplane": results = fleetManager.searchByType(Airplane.class); break;
+            case "cargoship": results = fleetManager.searchByType(CargoShip.class); break;
+            case "fuel": results = fleetManager.searchByType(FuelConsumable.class); break;
+            default: results = fleetManager.getVehiclesNeedingMaintenance(); break;
+        }
+        out.println("Found " + results.size() + " vehicles:");
+        for (int i = 0; i < results.size(); i++) {
+            out.println((i + 1) + ". " + results.get(i).getDetails());
+        }
+    }
+
+    private void fail(Command command, OperationStatus status) {
+        fail(command, status.name().toLowerCase().replace('_', ' '));
+    }
+
+    private void fail(Command command, String reason) {
+        failures++;
+        String subject = command.vehicle != null ? command.vehicle.getId() : command.target;
+        out.println("Line " + command.line + ": " + command.name + (subject == null ? "" : " " + subject) +
+                " failed: " + reason);
+    }
+
+    private static Command parseCommand(long line, List<String> tokens) throws InvalidOperationException {
+        String name = tokens.get(0).toLowerCase();
+        switch (name) {
+            case "add":
+                return new Command(line, name, ADD, null, 0, parseVehicle(tokens));
+            case "remove":
+                expect(tokens, 2, "remove <id>");
+                return new Command(line, name, REMOVE, tokens.get(1), 0, null);
+            case "move":
+                expect(tokens, 3, "move <id> <km>");
+                return new Command(line, name, MOVE, tokens.get(1), positive(tokens.get(2), "distance"), null);
+            case "journey":
+                expect(tokens, 2, "journey <km>");
+                return new Command(line, name, JOURNEY, null, positive(tokens.get(1), "distance"), null);
+            case "refuel":
+                expect(tokens, 3, "refuel <id>|all <liters>");
+                double liters = positive(tokens.get(2), "amount");
+                return tokens.get(1).equalsIgnoreCase("all")
+                        ? new Command(line, name, REFUEL_ALL, null, liters, null)
+                        : new Command(line, name, REFUEL, tokens.get(1), liters, null);
+            case "board":
+            case "disembark":
+                expect(tokens, 3, name + " <id> <passengers>");
+                int passengers = integer(tokens.get(2), "passenger count");
+                if (passengers <= 0) {
+                    throw new IllegalArgumentException("Passenger count must be positive: " + tokens.get(2));
+                }
+                return new Command(line, name, name.equals("board") ? BOARD : DISEMBARK, tokens.get(1), passengers, null);
+            case "load":
+            case "unload":
+                expect(tokens, 3, name + " <id> <kg>");
+                return new Command(line, name, name.equals("load") ? LOAD : UNLOAD, tokens.get(1),
+                        positive(tokens.get(2), "cargo weight"), null);
+            case "maintain":
+                expect(tokens, 1, "maintain");
+                return new Command(line, name, MAINTAIN, null, 0, null);
+            case "report":
+                expect(tokens, 1, "report");
+                return new Command(line, name, REPORT, null, 0, null);
+            case "search":
+                expect(tokens, 2, "search car|truck|bus|airplane|cargoship|fuel|maintenance");
+                String type = tokens.get(1).toLowerCase();
+                switch (type) {
+                    case "car": case "truck": case "bus": case "airplane": case "cargoship":
+                    case "fuel": case "maintenance":
+                        return new Command(line, name, SEARCH, type, 0, null);
+                    default:
+                        throw new IllegalArgumentException("Unknown search type: " + tokens.get(1));
+                }
+            case "save":
+                expect(tokens, 2, "save <file>");
+                return new Command(line, name, SAVE, tokens.get(1), 0, null);
+            case "open":
+                expect(tokens, 2, "open <file>");
+                return new Command(line, name, OPEN, tokens.get(1), 0, null);
+            default:
+                throw new IllegalArgumentException("Unknown command: " + tokens.get(0));
+        }
+    }
+
+    private static Vehicle parseVehicle(List<String> tokens) throws InvalidOperationException {
+        if (tokens.size() != 6 && tokens.size() != 7) {
+            throw new IllegalArgumentException("Expected: add <type> <id> <model> <maxSpeed> <attribute> [fuel]");
+        }
+        String id = tokens.get(2);
+        String model = tokens.get(3);
+        double maxSpeed = number(tokens.get(4), "max speed");
+        String attribute = tokens.get(5);
+        Vehicle vehicle;
+        switch (tokens.get(1).toLowerCase()) {
+            case "car":
+                vehicle = new Car(id, model, maxSpeed, integer(attribute, "wheel count"));
+                break;
+            case "truck":
+                vehicle = new Truck(id, model, maxSpeed, integer(attribute, "wheel count"));
+                break;
+            case "bus":
+                vehicle = new Bus(id, model, maxSpeed, integer(attribute, "wheel count"));
+                break;
+            case "airplane":
+                vehicle = new Airplane(id, model, maxSpeed, number(attribute, "max altitude"));
+                break;
+            case "cargoship":
+                if (!attribute.equalsIgnoreCase("true") && !attribute.equalsIgnoreCase("false")) {
+                    throw new IllegalArgumentException("Has sail must be true or false: " + attribute);
+                }
+                vehicle = new CargoShip(id, model, maxSpeed, Boolean.parseBoolean(attribute));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown vehicle type: " + tokens.get(1));
+        }
+        if (tokens.size() == 7) {
+            if (!(vehicle instanceof FuelConsumable)) {
+                throw new IllegalArgumentException(tokens.get(1) + " " + id + " does not take fuel");
+            }
+            ((FuelConsumable) vehicle).refuel(positive(tokens.get(6), "fuel"));
+        }
+        return vehicle;
+    }
+
+    private static void expect(List<String> tokens, int count, String usage) {
+        if (tokens.size() != count) {
+            throw new IllegalArgumentException("Expected: " + usage);
+        }
+    }
+
+    private static double number(String token, String what) {
+        try {
+            return Double.parseDouble(token);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + what + ": " + token);
+        }
+    }
+
+    private static double positive(String token, String what) {
+        double value = number(token, what);
+        if (!(value > 0) || Double.isInfinite(value)) {
+            throw new IllegalArgumentException(Character.toUpperCase(what.charAt(0)) + what.substring(1) +
+                    " must be positive: " + token);
+        }
+        return value;
+    }
+
+    private static int integer(String token, String what) {
+        try {
+            return Integer.parseInt(token);
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("Invalid " + what + ": " + token);
+        }
+    }
+
+    // Splits on whitespace, keeping double-quoted text together; an unquoted # ends the line
+    static List<String> tokenize(String line) {
+        List<String> tokens = new ArrayList<>();
+        int i = 0;
+        int length = line.length();
+        while (i < length) {
+            char c = line.charAt(i);
+            if (Character.isWhitespace(c)) {
+                i++;
+            } else if (c == '#') {
+                break;
+            } else if (c == '"') {
+                int close = line.indexOf('"', i + 1);
+                if (close < 0) {
+                    throw new IllegalArgumentException("Unterminated quote");
+                }
+                tokens.add(line.substring(i + 1, close));
+                i = close + 1;
+            } else {
+                int start = i;
+                while (i < length && !Character.isWhitespace(line.charAt(i)) && line.charAt(i) != '"') {
+                    i++;
+                }
+                tokens.add(line.substring(start, i));
+            }
+        }
+        return tokens;
+    }
+}
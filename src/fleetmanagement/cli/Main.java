@@ -11,7 +11,25 @@ import fleetmanagement.vehicles.Bus;
 import fleetmanagement.vehicles.Airplane;
 import fleetmanagement.vehicles.CargoShip;
 import fleetmanagement.interfaces.FuelConsumable;
-
+import fleetmanagement.events.AsyncBatchingEventSink;
+import fleetmanagement.events.ConsoleEventSink;
+import fleetmanagement.events.FleetEvents;
+import fleetmanagement.io.ParseError;
+import fleetmanagement.io.ParseErrorList;
+import fleetmanagement.server.FleetHttpServer;
+
+import java.io.BufferedOutputStream;
+import java.io.BufferedReader;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
 import java.util.Scanner;
 import java.util.List;
 
@@ -19,11 +37,30 @@ public class Main {
     private static FleetManager fleetManager = new FleetManager();
     private static Scanner scanner = new Scanner(System.in);
 
-    public static void main(String[] args) {
+    private static final int DEFAULT_PORT = 8080;
+
+    // Usage: java fleetmanagement.cli.Main [--server [port [bindAddress]] | --batch [script]]
+    public static void main(String[] args) throws IOException {
+        if (args.length > 0 && args[0].equals("--batch")) {
+            int status = runBatch(args.length > 1 ? args[1] : "-");
+            if (status != 0) {
+                System.exit(status);
+            }
+            return;
+        }
+
         System.out.println("   Transportation Fleet Management System   ");
 
         createSampleVehicles();
 
+        if (args.length > 0 && args[0].equals("--server")) {
+            int port = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_PORT;
+            // The server has no authentication, so it listens on loopback unless told otherwise
+            InetAddress address = args.length > 2 ? InetAddress.getByName(args[2]) : InetAddress.getLoopbackAddress();
+            runServer(new InetSocketAddress(address, port));
+            return;
+        }
+
         boolean running = true;
         while (running) {
             displayMenu();
@@ -56,6 +93,49 @@ public class Main {
         scanner.close();
     }
 
+    // Serves the menu operations over HTTP until the process is stopped, saving and loading in the
+    // working directory. Events go through the async console sink so requests never wait on the terminal.
+    private static void runServer(InetSocketAddress address) throws IOException {
+        AsyncBatchingEventSink events = AsyncBatchingEventSink.console();
+        FleetEvents.setSink(events);
+        FleetHttpServer server = new FleetHttpServer(fleetManager, Paths.get("").toAbsolutePath(), address);
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            server.close();
+            events.close();
+        }));
+        server.start();
+        System.out.println("Serving fleet on http://" + address.getHostString() + ":" + server.getPort() + "/");
+    }
+
+    // Runs a command script, or standard input for "-", against an empty fleet: no banner, no sample
+    // vehicles and no prompts. Output, events included, is buffered and written in large blocks.
+    // Exits with 1 when the script does not parse (nothing is run) and 2 when any command failed.
+    private static int runBatch(String script) throws IOException {
+        PrintStream out = new PrintStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), 1 << 16),
+                false);
+        FleetEvents.setSink(new ConsoleEventSink(out, out));
+        BatchRunner runner = new BatchRunner(fleetManager, out);
+        ParseErrorList errors;
+        try (BufferedReader reader = script.equals("-")
+                ? new BufferedReader(new InputStreamReader(System.in, StandardCharsets.UTF_8))
+                : Files.newBufferedReader(Paths.get(script), StandardCharsets.UTF_8)) {
+            errors = runner.parse(reader);
+        }
+        if (errors.size() > 0) {
+            for (ParseError error : errors.getErrors()) {
+                System.err.println("Error on " + error);
+            }
+            System.err.println(errors.size() + " script lines rejected; nothing was run.");
+            return 1;
+        }
+        long start = System.nanoTime();
+        int failed = runner.execute();
+        out.printf("Ran %d commands in %.1f ms: %d failed.%n", runner.getCommandCount(),
+                (System.nanoTime() - start) / 1e6, failed);
+        out.flush();
+        return failed == 0 ? 0 : 2;
+    }
+
     private static void createSampleVehicles() {
         try {
             System.out.println("  Creating sample vehicles");
@@ -0,0 +1,381 @@
+package fleetmanagement.events;
+
+import fleetmanagement.interfaces.OperationStatus;
+import fleetmanagement.vehicles.Vehicle;
+
+import java.io.BufferedOutputStream;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// Hands events to a delegate sink in batches on one background thread. Reporting never blocks: a
+// full ring drops and counts the event, and an event the delegate throws on is counted and skipped.
+// Slot i is free for position p when its sequence is p, and holds the event for p once p + 1 is published.
+public final class AsyncBatchingEventSink implements FleetEventSink, AutoCloseable {
+    public static final int DEFAULT_CAPACITY = 1 << 16;
+    private static final int BATCH_SIZE = 1024;
+    private static final long IDLE_PARK_NANOS = 1_000_000;
+
+    private static final byte MOVED = 0;
+    private static final byte MOVE_FAILED = 1;
+    private static final byte MAINTAINED = 2;
+    private static final byte FUEL_SHORTFALL = 3;
+    private static final byte SAVED = 4;
+    private static final byte LOADED = 5;
+    private static final byte RECOVERED = 6;
+    private static final byte LINE_REJECTED = 7;
+    private static final byte SAVE_FAILED = 8;
+    private static final byte LOAD_FAILED = 9;
+    private static final byte JOURNAL_FLUSH_FAILED = 10;
+    private static final byte REQUEST_FAILED = 11;
+
+    private final FleetEventSink delegate;
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final byte[] kinds;
+    private final Vehicle[] vehicles;
+    private final String[] texts;
+    private final OperationStatus[] statuses;
+    private final Exception[] errors;
+    private final double[] firstValues;
+    private final double[] secondValues;
+    private final long[] counts;
+
+    private final AtomicLong tail = new AtomicLong();
+    // Written only by the drain thread
+    private volatile long head;
+    private volatile long flushed;
+    private final LongAdder dropped = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private volatile RuntimeException lastFailure;
+    private final Thread drainer;
+    private volatile boolean closed;
+
+    public AsyncBatchingEventSink(FleetEventSink delegate) {
+        this(delegate, DEFAULT_CAPACITY);
+    }
+
+    public AsyncBatchingEventSink(FleetEventSink delegate, int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.delegate = delegate;
+        this.mask = capacity - 1;
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.kinds = new byte[capacity];
+        this.vehicles = new Vehicle[capacity];
+        this.texts = new String[capacity];
+        this.statuses = new OperationStatus[capacity];
+        this.errors = new Exception[capacity];
+        this.firstValues = new double[capacity];
+        this.secondValues = new double[capacity];
+        this.counts = new long[capacity];
+        this.drainer = new Thread(this::drainLoop, "fleet-events");
+        drainer.setDaemon(true);
+        drainer.start();
+    }
+
+    // Console output, flushed once per batch rather than per line
+    public static AsyncBatchingEventSink console() {
+        PrintStream out = new PrintStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), 1 << 16));
+        PrintStream err = new PrintStream(new BufferedOutputStream(new FileOutputStream(FileDescriptor.err), 1 << 16));
+        return new AsyncBatchingEventSink(new ConsoleEventSink(out, err));
+    }
+
+    public long getDroppedCount() {
+        return dropped.sum();
+    }
+
+    // Events, and flushes, that the delegate threw on
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    // Most recent exception from the delegate, or null
+    public RuntimeException getLastFailure() {
+        return lastFailure;
+    }
+
+    @Override
+    public void vehicleMoved(Vehicle vehicle, double distance, double fuelConsumed) {
+        long position = claim();
+        if (position < 0) {
+            return;
+        }
+        int slot = (int) position & mask;
+        kinds[slot] = MOVED;
+        vehicles[slot] = vehicle;
+        firstValues[slot] = distance;
+        secondValues[slot] = fuelConsumed;
+        publish(slot, position);
+    }
+
+    @Override
+    public void moveFailed(Vehicle vehicle, double distance, OperationStatus status, String reason) {
+        long position = claim();
+        if (position < 0) {
+            return;
+        }
+        int slot = (int) position & mask;
+        kinds[slot] = MOVE_FAILED;
+        vehicles[slot] = vehicle;
+        firstValues[slot] = distance;
+        statuses[slot] = status;
+        texts[slot] = reason;
+        publish(slot, position);
+    }
+
+    @Override
+    public void maintenancePerformed(Vehicle vehicle) {
+        long position = claim();
+        if (position < 0) {
+            return;
+        }
+        int slot = (int) position & mask;
+        kinds[slot] = MAINTAINED;
+        vehicles[slot] = vehicle;
+        publish(slot, position);
+    }
+
+    @Override
+    public void fuelShortfall(String vehicleId, double fuelNeeded, double fuelAvailable) {
+        long position = claim();
+        if (position < 0) {
+            return;
+        }
+        int slot = (int) position & mask;
+        kinds[slot] = FUEL_SHORTFALL;
+        texts[slot] = vehicleId;
+        firstValues[slot] = fuelNeeded;
+        secondValues[slot] = fuelAvailable;
+        publish(slot, position);
+    }
+
+    @Override
+    public void fleetSaved(String filename, int vehicleCount) {
+        publishCount(SAVED, filename, vehicleCount);
+    }
+
+    @Override
+    public void fleetLoaded(String filename, int vehicleCount) {
+        publishCount(LOADED, filename, vehicleCount);
+    }
+
+    @Override
+    public void fleetRecovered(String snapshotFile, int vehicleCount, int journalRecords) {
+        long position = claim();
+        if (position < 0) {
+            return;
+        }
+        int slot = (int) position & mask;
+        kinds[slot] = RECOVERED;
+        texts[slot] = snapshotFile;
+        counts[slot] = vehicleCount;
+        firstValues[slot] = journalRecords;
+        publish(slot, position);
+    }
+
+    @Override
+    public void lineRejected(long lineNumber, String reason) {
+        publishCount(LINE_REJECTED, reason, lineNumber);
+    }
+
+    @Override
+    public void saveFailed(String filename, IOException error) {
+        publishError(SAVE_FAILED, filename, error);
+    }
+
+    @Override
+    public void loadFailed(String filename, IOException error) {
+        publishError(LOAD_FAILED, filename, error);
+    }
+
+    @Override
+    public void journalFlushFailed(IOException error) {
+        publishError(JOURNAL_FLUSH_FAILED, null, error);
+    }
+
+    @Override
+    public void requestFailed(String request, Exception error) {
+        publishError(REQUEST_FAILED, request, error);
+    }
+
+    @Override
+    public void flush() {
+        long target = tail.get();
+        while (flushed < target && drainer.isAlive()) {
+            LockSupport.unpark(drainer);
+            LockSupport.parkNanos(IDLE_PARK_NANOS / 10);
+        }
+    }
+
+    // Delivers everything already queued, then stops the drain thread; later events are dropped
+    @Override
+    public void close() {
+        closed = true;
+        LockSupport.unpark(drainer);
+        try {
+            drainer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void publishCount(byte kind, String text, long count) {
+        long position = claim();
+        if (position < 0) {
+            return;
+        }
+        int slot = (int) position & mask;
+        kinds[slot] = kind;
+        texts[slot] = text;
+        counts[slot] = count;
+        publish(slot, position);
+    }
+
+    private void publishError(byte kind, String text, Exception error) {
+        long position = claim();
+        if (position < 0) {
+            return;
+        }
+        int slot = (int) position & mask;
+        kinds[slot] = kind;
+        texts[slot] = text;
+        errors[slot] = error;
+        publish(slot, position);
+    }
+
+    // Position of a free slot now owned by the caller, or -1 when the ring is full or closed
+    private long claim() {
+        if (closed) {
+            dropped.increment();
+            return -1;
+        }
+        long position = tail.get();
+        while (true) {
+            long sequence = sequences.get((int) position & mask);
+            if (sequence == position) {
+                if (tail.compareAndSet(position, position + 1)) {
+                    return position;
+                }
+                position = tail.get();
+            } else if (sequence < position) {
+                // Still holds the event from one lap ago
+                dropped.increment();
+                return -1;
+            } else {
+                position = tail.get();
+            }
+        }
+    }
+
+    private void publish(int slot, long position) {
+        sequences.setRelease(slot, position + 1);
+    }
+
+    private void drainLoop() {
+        while (true) {
+            boolean stopping = closed;
+            int drained = drain();
+            if (drained > 0) {
+                continue;
+            }
+            if (stopping && head == tail.get()) {
+                return;
+            }
+            LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+        }
+    }
+
+    // Delivers up to one batch of published events and flushes the delegate behind them
+    private int drain() {
+        long position = head;
+        int drained = 0;
+        try {
+            while (drained < BATCH_SIZE) {
+                int slot = (int) position & mask;
+                if (sequences.getAcquire(slot) != position + 1) {
+                    break;
+                }
+                try {
+                    deliver(slot);
+                } catch (RuntimeException e) {
+                    recordFailure(e);
+                } finally {
+                    vehicles[slot] = null;
+                    texts[slot] = null;
+                    statuses[slot] = null;
+                    errors[slot] = null;
+                    sequences.setRelease(slot, position + mask + 1);
+                    position++;
+                    drained++;
+                }
+            }
+        } finally {
+            head = position;
+            if (drained > 0) {
+                try {
+                    delegate.flush();
+                } catch (RuntimeException e) {
+                    recordFailure(e);
+                }
+            }
+            flushed = position;
+        }
+        return drained;
+    }
+
+    private void recordFailure(RuntimeException e) {
+        lastFailure = e;
+        failed.increment();
+    }
+
+    private void deliver(int slot) {
+        switch (kinds[slot]) {
+            case MOVED:
+                delegate.vehicleMoved(vehicles[slot], firstValues[slot], secondValues[slot]);
+                break;
+            case MOVE_FAILED:
+                delegate.moveFailed(vehicles[slot], firstValues[slot], statuses[slot], texts[slot]);
+                break;
+            case MAINTAINED:
+                delegate.maintenancePerformed(vehicles[slot]);
+                break;
+            case FUEL_SHORTFALL:
+                delegate.fuelShortfall(texts[slot], firstValues[slot], secondValues[slot]);
+                break;
+            case SAVED:
+                delegate.fleetSaved(texts[slot], (int) counts[slot]);
+                break;
+            case LOADED:
+                delegate.fleetLoaded(texts[slot], (int) counts[slot]);
+                break;
+            case RECOVERED:
+                delegate.fleetRecovered(texts[slot], (int) counts[slot], (int) firstValues[slot]);
+                break;
+            case LINE_REJECTED:
+                delegate.lineRejected(counts[slot], texts[slot]);
+                break;
+            case SAVE_FAILED:
+                delegate.saveFailed(texts[slot], (IOException) errors[slot]);
+                break;
+            case LOAD_FAILED:
+                delegate.loadFailed(texts[slot], (IOException) errors[slot]);
+                break;
+            case JOURNAL_FLUSH_FAILED:
+                delegate.journalFlushFailed((IOException) errors[slot]);
+                break;
+            default:
+                delegate.requestFailed(texts[slot], errors[slot]);
+                break;
+        }
+    }
+}
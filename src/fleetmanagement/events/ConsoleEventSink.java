@@ -0,0 +1,101 @@
+package fleetmanagement.events;
+
+import fleetmanagement.interfaces.Maintainable;
+import fleetmanagement.interfaces.OperationStatus;
+import fleetmanagement.vehicles.Vehicle;
+
+import java.io.IOException;
+import java.io.PrintStream;
+
+// Prints events as the console messages the CLI has always shown: progress to the output stream,
+// failures to the error stream
+public class ConsoleEventSink implements FleetEventSink {
+    // Null means System.out / System.err as they are at the time of each event
+    private final PrintStream out;
+    private final PrintStream err;
+
+    public ConsoleEventSink() {
+        this(null, null);
+    }
+
+    public ConsoleEventSink(PrintStream out, PrintStream err) {
+        this.out = out;
+        this.err = err;
+    }
+
+    @Override
+    public void vehicleMoved(Vehicle vehicle, double distance, double fuelConsumed) {
+        out().println(vehicle.describeMove(distance, fuelConsumed));
+    }
+
+    @Override
+    public void moveFailed(Vehicle vehicle, double distance, OperationStatus status, String reason) {
+        err().println("Error moving vehicle " + vehicle.getId() + ": " + reason);
+    }
+
+    @Override
+    public void maintenancePerformed(Vehicle vehicle) {
+        out().println(((Maintainable) vehicle).describeMaintenance());
+    }
+
+    @Override
+    public void fuelShortfall(String vehicleId, double fuelNeeded, double fuelAvailable) {
+        err().println("Insufficient fuel for " + vehicleId +
+                ". Needed: " + fuelNeeded + ", Available: " + fuelAvailable);
+    }
+
+    @Override
+    public void fleetSaved(String filename, int vehicleCount) {
+        out().println("Fleet saved to " + filename + " (" + vehicleCount + " vehicles)");
+    }
+
+    @Override
+    public void fleetLoaded(String filename, int vehicleCount) {
+        out().println("Loaded " + vehicleCount + " vehicles from " + filename);
+    }
+
+    @Override
+    public void fleetRecovered(String snapshotFile, int vehicleCount, int journalRecords) {
+        out().println("Recovered " + vehicleCount + " vehicles from " + snapshotFile +
+                " (" + journalRecords + " journal records replayed)");
+    }
+
+    @Override
+    public void lineRejected(long lineNumber, String reason) {
+        err().println("Error parsing line " + lineNumber + ": " + reason);
+    }
+
+    @Override
+    public void saveFailed(String filename, IOException error) {
+        err().println("Error saving fleet to file: " + error.getMessage());
+    }
+
+    @Override
+    public void loadFailed(String filename, IOException error) {
+        err().println("Error loading fleet from file: " + error.getMessage());
+    }
+
+    @Override
+    public void journalFlushFailed(IOException error) {
+        err().println("Error flushing fleet journal: " + error.getMessage());
+    }
+
+    @Override
+    public void requestFailed(String request, Exception error) {
+        err().println("Error serving " + request + ": " + error);
+    }
+
+    @Override
+    public void flush() {
+        out().flush();
+        err().flush();
+    }
+
+    private PrintStream out() {
+        return out != null ? out : System.out;
+    }
+
+    private PrintStream err() {
+        return err != null ? err : System.err;
+    }
+}
@@ -0,0 +1,37 @@
+package fleetmanagement.events;
+
+import fleetmanagement.interfaces.OperationStatus;
+import fleetmanagement.vehicles.Vehicle;
+
+import java.io.IOException;
+
+// Receives what vehicle and fleet operations report, instead of them printing it. Vehicle events
+// arrive with the vehicle's lock held, so implementations must be thread-safe, quick, and must not
+// call back into the vehicle or the fleet.
+public interface FleetEventSink {
+    void vehicleMoved(Vehicle vehicle, double distance, double fuelConsumed);
+    // The reason is the vehicle's describeMoveFailure text, taken while the refused state was current
+    void moveFailed(Vehicle vehicle, double distance, OperationStatus status, String reason);
+    void maintenancePerformed(Vehicle vehicle);
+    void fuelShortfall(String vehicleId, double fuelNeeded, double fuelAvailable);
+
+    void fleetSaved(String filename, int vehicleCount);
+    void fleetLoaded(String filename, int vehicleCount);
+    void fleetRecovered(String snapshotFile, int vehicleCount, int journalRecords);
+    void lineRejected(long lineNumber, String reason);
+
+    void saveFailed(String filename, IOException error);
+    void loadFailed(String filename, IOException error);
+    void journalFlushFailed(IOException error);
+    // An unexpected failure while serving a request, e.g. an HTTP call; the client is not told the detail
+    void requestFailed(String request, Exception error);
+
+    // False when events are discarded, so callers can skip building details such as failure text
+    default boolean isEnabled() {
+        return true;
+    }
+
+    // Returns once every event reported before the call has been written out
+    default void flush() {
+    }
+}
@@ -0,0 +1,24 @@
+package fleetmanagement.events;
+
+// Process-wide sink that vehicles and fleets report to. Defaults to the console so the CLI keeps
+// its output; install a NoOpEventSink or an AsyncBatchingEventSink for bulk workloads.
+public final class FleetEvents {
+    private static volatile FleetEventSink sink = new ConsoleEventSink();
+
+    private FleetEvents() {
+    }
+
+    public static FleetEventSink sink() {
+        return sink;
+    }
+
+    // Returns the previous sink, which the caller may want to flush or close
+    public static FleetEventSink setSink(FleetEventSink replacement) {
+        if (replacement == null) {
+            throw new IllegalArgumentException("Event sink cannot be null");
+        }
+        FleetEventSink previous = sink;
+        sink = replacement;
+        return previous;
+    }
+}
@@ -0,0 +1,43 @@
+package fleetmanagement.events;
+
+import fleetmanagement.interfaces.OperationStatus;
+import fleetmanagement.vehicles.Vehicle;
+
+import java.io.IOException;
+
+public class NoOpEventSink implements FleetEventSink {
+    public static final NoOpEventSink INSTANCE = new NoOpEventSink();
+
+    private NoOpEventSink() {
+    }
+
+    @Override
+    public void vehicleMoved(Vehicle vehicle, double distance, double fuelConsumed) {}
+    @Override
+    public void moveFailed(Vehicle vehicle, double distance, OperationStatus status, String reason) {}
+    @Override
+    public void maintenancePerformed(Vehicle vehicle) {}
+    @Override
+    public void fuelShortfall(String vehicleId, double fuelNeeded, double fuelAvailable) {}
+    @Override
+    public void fleetSaved(String filename, int vehicleCount) {}
+    @Override
+    public void fleetLoaded(String filename, int vehicleCount) {}
+    @Override
+    public void fleetRecovered(String snapshotFile, int vehicleCount, int journalRecords) {}
+    @Override
+    public void lineRejected(long lineNumber, String reason) {}
+    @Override
+    public void saveFailed(String filename, IOException error) {}
+    @Override
+    public void loadFailed(String filename, IOException error) {}
+    @Override
+    public void journalFlushFailed(IOException error) {}
+    @Override
+    public void requestFailed(String request, Exception error) {}
+
+    @Override
+    public boolean isEnabled() {
+        return false;
+    }
+}
@@ -0,0 +1,64 @@
+package fleetmanagement.fleet;
+
+import fleetmanagement.vehicles.Vehicle;
+
+import java.io.PrintStream;
+
+// Per-vehicle outcomes of a fleet-wide operation, indexed in fleet order. Failures keep their
+// message instead of printing it, so a parallel run can report them afterwards in one block.
+public class BulkResult {
+    public static final byte SUCCESS = 0;
+    public static final byte INSUFFICIENT_FUEL = 1;
+    public static final byte ERROR = 2;
+    public static final byte SKIPPED = 3;
+
+    private final String action;
+    private final Vehicle[] vehicles;
+    private final byte[] outcomes;
+    private final String[] messages;
+
+    BulkResult(String action, Vehicle[] vehicles) {
+        this.action = action;
+        this.vehicles = vehicles;
+        this.outcomes = new byte[vehicles.length];
+        this.messages = new String[vehicles.length];
+    }
+
+    // Each index is written by exactly one task; the pool's join makes the writes visible
+    void record(int index, byte outcome, String message) {
+        outcomes[index] = outcome;
+        messages[index] = message;
+    }
+
+    public int size() { return vehicles.length; }
+    public Vehicle getVehicle(int index) { return vehicles[index]; }
+    public byte getOutcome(int index) { return outcomes[index]; }
+    public String getMessage(int index) { return messages[index]; }
+
+    public int count(byte outcome) {
+        int count = 0;
+        for (byte value : outcomes) {
+            if (value == outcome) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public int getSuccessCount() { return count(SUCCESS); }
+    public int getInsufficientFuelCount() { return count(INSUFFICIENT_FUEL); }
+    public int getErrorCount() { return count(ERROR); }
+
+    // Prints failures in fleet order, in the same format the sequential operations use
+    public void printErrors(PrintStream out) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < vehicles.length; i++) {
+            if (messages[i] != null) {
+                text.append("Error ").append(action).append(" vehicle ").append(vehicles[i].getId())
+                        .append(": ").append(messages[i]).append(System.lineSeparator());
+            }
+        }
+        out.print(text);
+        out.flush();
+    }
+}
@@ -0,0 +1,49 @@
+package fleetmanagement.fleet;
+
+import fleetmanagement.vehicles.Vehicle;
+
+import java.util.concurrent.RecursiveAction;
+
+// Splits a fleet snapshot into ranges and applies one operation to every vehicle, recording each outcome.
+// Serializable only because ForkJoinTask is; tasks are never serialized.
+@SuppressWarnings("serial")
+class BulkTask extends RecursiveAction {
+    interface Operation {
+        void apply(Vehicle vehicle, int index, BulkResult result);
+    }
+
+    private final Vehicle[] vehicles;
+    private final int from;
+    private final int to;
+    private final int threshold;
+    private final Operation operation;
+    private final BulkResult result;
+
+    BulkTask(Vehicle[] vehicles, int from, int to, int threshold, Operation operation, BulkResult result) {
+        this.vehicles = vehicles;
+        this.from = from;
+        this.to = to;
+        this.threshold = threshold;
+        this.operation = operation;
+        this.result = result;
+    }
+
+    // Aim for several ranges per worker so uneven vehicles still balance, but keep ranges large enough
+    // that task overhead stays small next to the work itself
+    static int threshold(int count, int parallelism) {
+        return Math.max(256, count / (parallelism * 8));
+    }
+
+    @Override
+    protected void compute() {
+        if (to - from <= threshold) {
+            for (int i = from; i < to; i++) {
+                operation.apply(vehicles[i], i, result);
+            }
+            return;
+        }
+        int middle = (from + to) >>> 1;
+        invokeAll(new BulkTask(vehicles, from, middle, threshold, operation, result),
+                new BulkTask(vehicles, middle, to, threshold, operation, result));
+    }
+}
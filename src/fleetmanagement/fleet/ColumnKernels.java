@@ -0,0 +1,64 @@
+package fleetmanagement.fleet;
+
+// Reductions and filters over FleetColumns arrays, each over rows [from, to). Filters take the
+// type tag column so tombstones never match, write matching rows to rows[0..] in ascending order
+// and return how many matched; rows needs room for to - from entries.
+// get() is the Vector API implementation when the JVM has jdk.incubator.vector
+// (--add-modules jdk.incubator.vector) and the scalar loops otherwise; -Dfleet.kernels=scalar
+// forces the scalar loops. The two give identical filter results; sums can differ in the last
+// bits because the vector kernels add in a different order.
+public abstract class ColumnKernels {
+    private static final ColumnKernels SCALAR = new ScalarColumnKernels();
+    private static final ColumnKernels VECTOR = loadVector();
+    private static final ColumnKernels SELECTED =
+            VECTOR == null || "scalar".equals(System.getProperty("fleet.kernels")) ? SCALAR : VECTOR;
+
+    public static ColumnKernels get() {
+        return SELECTED;
+    }
+
+    public static ColumnKernels scalar() {
+        return SCALAR;
+    }
+
+    // Null when the vector module is not available
+    public static ColumnKernels vector() {
+        return VECTOR;
+    }
+
+    public abstract String name();
+
+    public abstract double sum(double[] values, int from, int to);
+
+    public abstract int countTrue(boolean[] flags, int from, int to);
+
+    // Live rows with a finite value; sail-powered ships have infinite efficiency
+    public abstract double sumFinite(double[] values, byte[] tags, int from, int to);
+
+    public abstract int countFinite(double[] values, byte[] tags, int from, int to);
+
+    public abstract int filterBelow(double[] values, double threshold, byte[] tags, int from, int to, int[] rows);
+
+    public abstract int filterAbove(double[] values, double threshold, byte[] tags, int from, int to, int[] rows);
+
+    // Fuel the live rows that can cover the distance would use; the rest are fuel shortfalls
+    public abstract double feasibleFuel(double distance, double[] efficiencies, double[] fuelLevels,
+                                        byte[] tags, int from, int to);
+
+    public abstract int filterShortfalls(double distance, double[] efficiencies, double[] fuelLevels,
+                                         byte[] tags, int from, int to, int[] rows);
+
+    // The vector class is only loaded once the module is known to be there, so a JVM without it
+    // never links against jdk.incubator.vector
+    private static ColumnKernels loadVector() {
+        if (!ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            return null;
+        }
+        try {
+            return (ColumnKernels) Class.forName("fleetmanagement.fleet.VectorColumnKernels")
+                    .getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+}
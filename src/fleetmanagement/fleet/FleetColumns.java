@@ -0,0 +1,468 @@
+package fleetmanagement.fleet;
+
+import fleetmanagement.interfaces.CargoCarrier;
+import fleetmanagement.interfaces.FuelConsumable;
+import fleetmanagement.interfaces.Maintainable;
+import fleetmanagement.interfaces.PassengerCarrier;
+import fleetmanagement.vehicles.AirVehicle;
+import fleetmanagement.vehicles.Airplane;
+import fleetmanagement.vehicles.Bus;
+import fleetmanagement.vehicles.Car;
+import fleetmanagement.vehicles.CargoShip;
+import fleetmanagement.vehicles.LandVehicle;
+import fleetmanagement.vehicles.Truck;
+import fleetmanagement.vehicles.Vehicle;
+import fleetmanagement.vehicles.WaterVehicle;
+
+import java.util.*;
+
+// Structure-of-arrays copy of the fleet's numeric state, one primitive column per attribute,
+// kept in fleet order. Rows are refreshed from the vehicle listener and the Vehicle column gives
+// back the object view. A removal leaves a REMOVED tombstone row (all zeros) until enough pile up
+// to compact; compaction copies into fresh arrays, so a scan holding the old arrays stays valid.
+// Outside the fleet's lock, callers get a detached copy from snapshot() instead of the live columns.
+public class FleetColumns {
+    public static final byte REMOVED = 0;
+    public static final byte CAR = 1;
+    public static final byte TRUCK = 2;
+    public static final byte BUS = 3;
+    public static final byte AIRPLANE = 4;
+    public static final byte CARGO_SHIP = 5;
+
+    private static final int INITIAL_CAPACITY = 16;
+    // Vehicle.estimateJourneyTime multiplier by type tag
+    static final double[] JOURNEY_TIME_FACTORS = {
+            0, LandVehicle.JOURNEY_TIME_FACTOR, LandVehicle.JOURNEY_TIME_FACTOR, LandVehicle.JOURNEY_TIME_FACTOR,
+            AirVehicle.JOURNEY_TIME_FACTOR, WaterVehicle.JOURNEY_TIME_FACTOR
+    };
+
+    private byte[] typeTags = new byte[INITIAL_CAPACITY];
+    private String[] ids = new String[INITIAL_CAPACITY];
+    private FleetEntry[] entries = new FleetEntry[INITIAL_CAPACITY];
+    private double[] maxSpeeds = new double[INITIAL_CAPACITY];
+    private double[] mileages = new double[INITIAL_CAPACITY];
+    private double[] fuelLevels = new double[INITIAL_CAPACITY];
+    private double[] efficiencies = new double[INITIAL_CAPACITY];
+    private double[] cargo = new double[INITIAL_CAPACITY];
+    private double[] cargoCapacities = new double[INITIAL_CAPACITY];
+    private int[] passengers = new int[INITIAL_CAPACITY];
+    private int[] passengerCapacities = new int[INITIAL_CAPACITY];
+    private boolean[] maintenanceDue = new boolean[INITIAL_CAPACITY];
+    // Average km per journey while in this fleet, 0 before the first; see FleetEntry.journeys
+    private double[] journeyLengths = new double[INITIAL_CAPACITY];
+
+    private final Map<String, Integer> rowById = new HashMap<>();
+    private int size;
+    private int removed;
+
+    // add, remove and rebuild run under the fleet's write lock, update under its read lock
+    // and the vehicle's monitor, so updates to different rows never race with a row move
+    void add(FleetEntry entry) {
+        if (size == typeTags.length) {
+            grow(size * 2);
+        }
+        int row = size++;
+        ids[row] = entry.vehicle.getId();
+        entries[row] = entry;
+        entry.row = row;
+        rowById.put(ids[row], row);
+        write(row, entry.vehicle);
+        journeyLengths[row] = entry.averageJourney();
+    }
+
+    void remove(FleetEntry entry) {
+        int row = entry.row;
+        if (row < 0) {
+            return;
+        }
+        rowById.remove(ids[row]);
+        entry.row = -1;
+        clear(row);
+        removed++;
+        if (removed > INITIAL_CAPACITY && removed * 2 > size) {
+            compact();
+        }
+    }
+
+    // Only a move that adds mileage counts as a journey; telemetry catching the odometer up does not
+    void update(FleetEntry entry, boolean moved) {
+        int row = entry.row;
+        if (row >= 0) {
+            double before = mileages[row];
+            write(row, entry.vehicle);
+            if (moved && mileages[row] > before) {
+                entry.journeys++;
+                entry.journeyKm += mileages[row] - before;
+                journeyLengths[row] = entry.averageJourney();
+            }
+        }
+    }
+
+    void rebuild(Collection<FleetEntry> fleet) {
+        for (int row = 0; row < size; row++) {
+            clear(row);
+        }
+        rowById.clear();
+        size = 0;
+        removed = 0;
+        if (typeTags.length < fleet.size()) {
+            grow(Math.max(INITIAL_CAPACITY, fleet.size()));
+        }
+        for (FleetEntry entry : fleet) {
+            add(entry);
+        }
+    }
+
+    // Rows [0, size()) copied under the fleet's read lock
+    FleetColumns snapshot() {
+        FleetColumns copy = new FleetColumns();
+        copy.typeTags = Arrays.copyOf(typeTags, size);
+        copy.ids = Arrays.copyOf(ids, size);
+        copy.entries = Arrays.copyOf(entries, size);
+        copy.maxSpeeds = Arrays.copyOf(maxSpeeds, size);
+        copy.mileages = Arrays.copyOf(mileages, size);
+        copy.fuelLevels = Arrays.copyOf(fuelLevels, size);
+        copy.efficiencies = Arrays.copyOf(efficiencies, size);
+        copy.cargo = Arrays.copyOf(cargo, size);
+        copy.cargoCapacities = Arrays.copyOf(cargoCapacities, size);
+        copy.passengers = Arrays.copyOf(passengers, size);
+        copy.passengerCapacities = Arrays.copyOf(passengerCapacities, size);
+        copy.maintenanceDue = Arrays.copyOf(maintenanceDue, size);
+        copy.journeyLengths = Arrays.copyOf(journeyLengths, size);
+        copy.rowById.putAll(rowById);
+        copy.size = size;
+        copy.removed = removed;
+        return copy;
+    }
+
+    // Rows in use, tombstones included; every scan below runs over rows [0, size())
+    public int size() {
+        return size;
+    }
+
+    public int liveCount() {
+        return size - removed;
+    }
+
+    public byte[] typeTags() { return typeTags; }
+    public String[] ids() { return ids; }
+    public double[] maxSpeeds() { return maxSpeeds; }
+    public double[] mileages() { return mileages; }
+    public double[] fuelLevels() { return fuelLevels; }
+    public double[] efficiencies() { return efficiencies; }
+    public double[] cargo() { return cargo; }
+    public double[] cargoCapacities() { return cargoCapacities; }
+    public int[] passengers() { return passengers; }
+    public int[] passengerCapacities() { return passengerCapacities; }
+    public boolean[] maintenanceDue() { return maintenanceDue; }
+    public double[] journeyLengths() { return journeyLengths; }
+
+    public int rowOf(String id) {
+        Integer row = rowById.get(id);
+        return row == null ? -1 : row;
+    }
+
+    // Null for a REMOVED row
+    public Vehicle vehicleAt(int row) {
+        FleetEntry entry = entries[row];
+        return entry == null ? null : entry.vehicle;
+    }
+
+    FleetEntry entryAt(int row) {
+        return entries[row];
+    }
+
+    public List<Vehicle> vehiclesAt(int[] rows, int count) {
+        List<Vehicle> result = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            result.add(entries[rows[i]].vehicle);
+        }
+        return result;
+    }
+
+    // The aggregates and filters below run on ColumnKernels.get(); tombstone rows are all zeros, so
+    // plain sums need no liveness check
+    public double totalFuel() {
+        return ColumnKernels.get().sum(fuelLevels, 0, size);
+    }
+
+    public double totalMileage() {
+        return ColumnKernels.get().sum(mileages, 0, size);
+    }
+
+    public double totalCargo() {
+        return ColumnKernels.get().sum(cargo, 0, size);
+    }
+
+    public double cargoUtilization() {
+        ColumnKernels kernels = ColumnKernels.get();
+        double capacity = kernels.sum(cargoCapacities, 0, size);
+        return capacity > 0 ? kernels.sum(cargo, 0, size) / capacity : 0;
+    }
+
+    public int countNeedingMaintenance() {
+        return ColumnKernels.get().countTrue(maintenanceDue, 0, size);
+    }
+
+    // Mean over vehicles that burn fuel; sail-powered ships have no finite efficiency
+    public double averageEfficiency() {
+        ColumnKernels kernels = ColumnKernels.get();
+        int count = kernels.countFinite(efficiencies, typeTags, 0, size);
+        return count > 0 ? kernels.sumFinite(efficiencies, typeTags, 0, size) / count : 0;
+    }
+
+    // Fills the plan's matrices for every live row against every distance. Each row reduces to three
+    // constants, so the inner loops are straight-line arithmetic over the distances that the JIT can
+    // vectorize. They divide rather than multiply by a reciprocal so that every figure is bit for bit
+    // what the vehicle's own methods compute.
+    void planJourneys(JourneyPlan plan) {
+        double[] distances = plan.distances();
+        double[] fuelNeeded = plan.fuelNeeded();
+        boolean[] feasible = plan.feasible();
+        double[] journeyHours = plan.journeyHours();
+        double[] totalFuel = plan.totalFuel();
+        int[] feasibleCounts = plan.feasibleCounts();
+        Vehicle[] vehicles = plan.vehicles();
+        int count = distances.length;
+        int vehicle = 0;
+        for (int row = 0; row < size; row++) {
+            if (typeTags[row] == REMOVED) {
+                continue;
+            }
+            vehicles[vehicle] = entries[row].vehicle;
+            double efficiency = efficiencies[row];
+            double fuelLevel = fuelLevels[row];
+            double maxSpeed = maxSpeeds[row];
+            double timeFactor = JOURNEY_TIME_FACTORS[typeTags[row]];
+            int base = vehicle * count;
+            for (int i = 0; i < count; i++) {
+                fuelNeeded[base + i] = distances[i] / efficiency;
+            }
+            for (int i = 0; i < count; i++) {
+                boolean enough = fuelNeeded[base + i] <= fuelLevel;
+                feasible[base + i] = enough;
+                totalFuel[i] += enough ? fuelNeeded[base + i] : 0;
+                feasibleCounts[i] += enough ? 1 : 0;
+            }
+            for (int i = 0; i < count; i++) {
+                journeyHours[base + i] = distances[i] / maxSpeed * timeFactor;
+            }
+            vehicle++;
+        }
+    }
+
+    // Fills rows with every live row whose fuel level is below the threshold and returns how many matched
+    public int filterFuelBelow(double threshold, int[] rows) {
+        return ColumnKernels.get().filterBelow(fuelLevels, threshold, typeTags, 0, size, rows);
+    }
+
+    // Fills rows with the k most efficient live rows, best first, and returns how many it found.
+    // Equal efficiencies keep fleet order, matching sortFleetByEfficiency. A min-heap of the best k
+    // seen so far makes this O(n log k); each row's efficiency is read once into the heap's keys, so
+    // a concurrent update cannot reorder entries already in the heap.
+    public int topEfficient(int k, int[] rows) {
+        if (k <= 0) {
+            return 0;
+        }
+        double[] keys = new double[k];
+        int count = 0;
+        for (int row = 0; row < size; row++) {
+            if (typeTags[row] == REMOVED) {
+                continue;
+            }
+            double efficiency = efficiencies[row];
+            if (count < k) {
+                rows[count] = row;
+                keys[count] = efficiency;
+                siftUp(rows, keys, count++);
+            } else if (ranksBefore(efficiency, row, keys[0], rows[0])) {
+                rows[0] = row;
+                keys[0] = efficiency;
+                siftDown(rows, keys, 0, count);
+            }
+        }
+        // Heap sort: moving the weakest to the back each time leaves the best at the front
+        for (int end = count - 1; end > 0; end--) {
+            swap(rows, keys, 0, end);
+            siftDown(rows, keys, 0, end);
+        }
+        return count;
+    }
+
+    // 1-based position of the row in sortFleetByEfficiency order
+    public int efficiencyRank(int row) {
+        double efficiency = efficiencies[row];
+        int rank = 1;
+        for (int other = 0; other < size; other++) {
+            if (typeTags[other] != REMOVED && ranksBefore(efficiencies[other], other, efficiency, row)) {
+                rank++;
+            }
+        }
+        return rank;
+    }
+
+    public int filterMileageAbove(double threshold, int[] rows) {
+        return ColumnKernels.get().filterAbove(mileages, threshold, typeTags, 0, size, rows);
+    }
+
+    // Higher efficiency first, then fleet order
+    private static boolean ranksBefore(double efficiency, int row, double otherEfficiency, int otherRow) {
+        int compare = Double.compare(efficiency, otherEfficiency);
+        return compare > 0 || (compare == 0 && row < otherRow);
+    }
+
+    // The heap keeps its weakest entry at the root
+    private static void siftUp(int[] rows, double[] keys, int i) {
+        while (i > 0) {
+            int parent = (i - 1) / 2;
+            if (!ranksBefore(keys[parent], rows[parent], keys[i], rows[i])) {
+                return;
+            }
+            swap(rows, keys, i, parent);
+            i = parent;
+        }
+    }
+
+    private static void siftDown(int[] rows, double[] keys, int i, int count) {
+        while (true) {
+            int weakest = i;
+            int left = 2 * i + 1;
+            int right = left + 1;
+            if (left < count && ranksBefore(keys[weakest], rows[weakest], keys[left], rows[left])) {
+                weakest = left;
+            }
+            if (right < count && ranksBefore(keys[weakest], rows[weakest], keys[right], rows[right])) {
+                weakest = right;
+            }
+            if (weakest == i) {
+                return;
+            }
+            swap(rows, keys, i, weakest);
+            i = weakest;
+        }
+    }
+
+    private static void swap(int[] rows, double[] keys, int i, int j) {
+        int row = rows[i];
+        rows[i] = rows[j];
+        rows[j] = row;
+        double key = keys[i];
+        keys[i] = keys[j];
+        keys[j] = key;
+    }
+
+    public static byte typeTag(Vehicle vehicle) {
+        if (vehicle instanceof Car) return CAR;
+        if (vehicle instanceof Truck) return TRUCK;
+        if (vehicle instanceof Bus) return BUS;
+        if (vehicle instanceof Airplane) return AIRPLANE;
+        if (vehicle instanceof CargoShip) return CARGO_SHIP;
+        throw new IllegalArgumentException("Unsupported vehicle type: " + vehicle.getClass().getSimpleName());
+    }
+
+    private void write(int row, Vehicle vehicle) {
+        typeTags[row] = typeTag(vehicle);
+        maxSpeeds[row] = vehicle.getMaxSpeed();
+        mileages[row] = vehicle.getCurrentMileage();
+        efficiencies[row] = vehicle.calculateFuelEfficiency();
+        fuelLevels[row] = vehicle instanceof FuelConsumable ? ((FuelConsumable) vehicle).getFuelLevel() : 0;
+        if (vehicle instanceof CargoCarrier) {
+            CargoCarrier carrier = (CargoCarrier) vehicle;
+            cargo[row] = carrier.getCurrentCargo();
+            cargoCapacities[row] = carrier.getCargoCapacity();
+        }
+        if (vehicle instanceof PassengerCarrier) {
+            PassengerCarrier carrier = (PassengerCarrier) vehicle;
+            passengers[row] = carrier.getCurrentPassengers();
+            passengerCapacities[row] = carrier.getPassengerCapacity();
+        }
+        maintenanceDue[row] = vehicle instanceof Maintainable && ((Maintainable) vehicle).needsMaintenance();
+    }
+
+    private void clear(int row) {
+        typeTags[row] = REMOVED;
+        ids[row] = null;
+        entries[row] = null;
+        maxSpeeds[row] = 0;
+        mileages[row] = 0;
+        fuelLevels[row] = 0;
+        efficiencies[row] = 0;
+        cargo[row] = 0;
+        cargoCapacities[row] = 0;
+        passengers[row] = 0;
+        passengerCapacities[row] = 0;
+        maintenanceDue[row] = false;
+        journeyLengths[row] = 0;
+    }
+
+    // Copies the live rows, in fleet order, into fresh arrays so concurrent scans keep a stable view
+    private void compact() {
+        int capacity = Math.max(INITIAL_CAPACITY, (size - removed) * 2);
+        byte[] newTags = new byte[capacity];
+        String[] newIds = new String[capacity];
+        FleetEntry[] newEntries = new FleetEntry[capacity];
+        double[] newMaxSpeeds = new double[capacity];
+        double[] newMileages = new double[capacity];
+        double[] newFuelLevels = new double[capacity];
+        double[] newEfficiencies = new double[capacity];
+        double[] newCargo = new double[capacity];
+        double[] newCargoCapacities = new double[capacity];
+        int[] newPassengers = new int[capacity];
+        int[] newPassengerCapacities = new int[capacity];
+        boolean[] newMaintenanceDue = new boolean[capacity];
+        double[] newJourneyLengths = new double[capacity];
+        int target = 0;
+        for (int row = 0; row < size; row++) {
+            if (typeTags[row] == REMOVED) {
+                continue;
+            }
+            newTags[target] = typeTags[row];
+            newIds[target] = ids[row];
+            newEntries[target] = entries[row];
+            newEntries[target].row = target;
+            newMaxSpeeds[target] = maxSpeeds[row];
+            newMileages[target] = mileages[row];
+            newFuelLevels[target] = fuelLevels[row];
+            newEfficiencies[target] = efficiencies[row];
+            newCargo[target] = cargo[row];
+            newCargoCapacities[target] = cargoCapacities[row];
+            newPassengers[target] = passengers[row];
+            newPassengerCapacities[target] = passengerCapacities[row];
+            newMaintenanceDue[target] = maintenanceDue[row];
+            newJourneyLengths[target] = journeyLengths[row];
+            rowById.put(newIds[target], target);
+            target++;
+        }
+        typeTags = newTags;
+        ids = newIds;
+        entries = newEntries;
+        maxSpeeds = newMaxSpeeds;
+        mileages = newMileages;
+        fuelLevels = newFuelLevels;
+        efficiencies = newEfficiencies;
+        cargo = newCargo;
+        cargoCapacities = newCargoCapacities;
+        passengers = newPassengers;
+        passengerCapacities = newPassengerCapacities;
+        maintenanceDue = newMaintenanceDue;
+        journeyLengths = newJourneyLengths;
+        size = target;
+        removed = 0;
+    }
+
+    private void grow(int capacity) {
+        typeTags = Arrays.copyOf(typeTags, capacity);
+        ids = Arrays.copyOf(ids, capacity);
+        entries = Arrays.copyOf(entries, capacity);
+        maxSpeeds = Arrays.copyOf(maxSpeeds, capacity);
+        mileages = Arrays.copyOf(mileages, capacity);
+        fuelLevels = Arrays.copyOf(fuelLevels, capacity);
+        efficiencies = Arrays.copyOf(efficiencies, capacity);
+        cargo = Arrays.copyOf(cargo, capacity);
+        cargoCapacities = Arrays.copyOf(cargoCapacities, capacity);
+        passengers = Arrays.copyOf(passengers, capacity);
+        passengerCapacities = Arrays.copyOf(passengerCapacities, capacity);
+        maintenanceDue = Arrays.copyOf(maintenanceDue, capacity);
+        journeyLengths = Arrays.copyOf(journeyLengths, capacity);
+    }
+}
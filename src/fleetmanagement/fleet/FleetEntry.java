@@ -0,0 +1,52 @@
+package fleetmanagement.fleet;
+
+import fleetmanagement.vehicles.Vehicle;
+import fleetmanagement.vehicles.VehicleListener;
+
+// A vehicle's membership in one FleetManager, installed as the vehicle's listener. It carries the
+// bookkeeping each derived structure needs for the vehicle, so a state change reaches the index,
+// stats and columns without any lookups. Fields are written under the fleet's write lock, or under
+// its read lock together with the vehicle's monitor.
+class FleetEntry implements VehicleListener {
+    final Vehicle vehicle;
+    private final FleetManager manager;
+    boolean active;
+
+    // FleetIndex
+    long position;
+    boolean markedForMaintenance;
+
+    // FleetStats
+    FleetStats.Stripe stripe;
+    double efficiency;
+    double mileage;
+
+    // FleetColumns; journeys are counted here rather than in the row so they survive a rebuild
+    int row = -1;
+    long journeys;
+    double journeyKm;
+
+    // FleetRanges: the bucket each NumericIndex files the vehicle in, by NumericAttribute ordinal,
+    // null when the attribute does not apply; the mask has bit 1 << ordinal set for each one filed
+    final NumericIndex.Bucket[] numericBuckets = new NumericIndex.Bucket[NumericAttribute.values().length];
+    int numericMask;
+
+    FleetEntry(FleetManager manager, Vehicle vehicle) {
+        this.manager = manager;
+        this.vehicle = vehicle;
+    }
+
+    double averageJourney() {
+        return journeys == 0 ? 0 : journeyKm / journeys;
+    }
+
+    @Override
+    public void vehicleChanged(Vehicle vehicle) {
+        manager.onVehicleChanged(this, false);
+    }
+
+    @Override
+    public void vehicleMoved(Vehicle vehicle) {
+        manager.onVehicleChanged(this, true);
+    }
+}
@@ -0,0 +1,110 @@
+package fleetmanagement.fleet;
+
+import fleetmanagement.interfaces.CargoCarrier;
+import fleetmanagement.interfaces.FuelConsumable;
+import fleetmanagement.interfaces.Maintainable;
+import fleetmanagement.interfaces.PassengerCarrier;
+import fleetmanagement.vehicles.Airplane;
+import fleetmanagement.vehicles.Bus;
+import fleetmanagement.vehicles.Car;
+import fleetmanagement.vehicles.CargoShip;
+import fleetmanagement.vehicles.Truck;
+import fleetmanagement.vehicles.Vehicle;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Secondary indexes kept in step with the fleet so type and maintenance queries cost O(result).
+// Type sets change only under the fleet's write lock; the maintenance set is also updated from
+// vehicle listeners running concurrently, so it is a concurrent map with its own count.
+class FleetIndex {
+    private static final Class<?>[] INDEXED_TYPES = {
+            Car.class, Truck.class, Bus.class, Airplane.class, CargoShip.class,
+            FuelConsumable.class, PassengerCarrier.class, CargoCarrier.class, Maintainable.class
+    };
+
+    private final Map<Class<?>, Set<Vehicle>> byType = new HashMap<>();
+    // Keyed by fleet position (FleetEntry.position), so the set comes back in fleet order
+    private final ConcurrentSkipListMap<Long, Vehicle> needingMaintenance = new ConcurrentSkipListMap<>();
+    private final AtomicInteger needingMaintenanceCount = new AtomicInteger();
+    private long nextPosition;
+
+    FleetIndex() {
+        for (Class<?> type : INDEXED_TYPES) {
+            byType.put(type, new LinkedHashSet<>());
+        }
+    }
+
+    void add(FleetEntry entry) {
+        entry.position = nextPosition++;
+        entry.markedForMaintenance = false;
+        for (Class<?> type : INDEXED_TYPES) {
+            if (type.isInstance(entry.vehicle)) {
+                byType.get(type).add(entry.vehicle);
+            }
+        }
+        update(entry);
+    }
+
+    void remove(FleetEntry entry) {
+        for (Class<?> type : INDEXED_TYPES) {
+            if (type.isInstance(entry.vehicle)) {
+                byType.get(type).remove(entry.vehicle);
+            }
+        }
+        if (entry.markedForMaintenance) {
+            needingMaintenance.remove(entry.position);
+            needingMaintenanceCount.decrementAndGet();
+            entry.markedForMaintenance = false;
+        }
+    }
+
+    // Touches the maintenance set only when the vehicle's flag actually flips
+    void update(FleetEntry entry) {
+        boolean needed = needsMaintenance(entry.vehicle);
+        if (needed == entry.markedForMaintenance) {
+            return;
+        }
+        entry.markedForMaintenance = needed;
+        if (needed) {
+            needingMaintenance.put(entry.position, entry.vehicle);
+            needingMaintenanceCount.incrementAndGet();
+        } else {
+            needingMaintenance.remove(entry.position);
+            needingMaintenanceCount.decrementAndGet();
+        }
+    }
+
+    void rebuild(Collection<FleetEntry> entries) {
+        for (Set<Vehicle> set : byType.values()) {
+            set.clear();
+        }
+        needingMaintenance.clear();
+        needingMaintenanceCount.set(0);
+        nextPosition = 0;
+        for (FleetEntry entry : entries) {
+            add(entry);
+        }
+    }
+
+    boolean isIndexed(Class<?> type) {
+        return byType.containsKey(type);
+    }
+
+    List<Vehicle> byType(Class<?> type) {
+        return new ArrayList<>(byType.get(type));
+    }
+
+    List<Vehicle> needingMaintenance() {
+        return new ArrayList<>(needingMaintenance.values());
+    }
+
+    int needingMaintenanceCount() {
+        return needingMaintenanceCount.get();
+    }
+
+    private static boolean needsMaintenance(Vehicle vehicle) {
+        return vehicle instanceof Maintainable && ((Maintainable) vehicle).needsMaintenance();
+    }
+}
@@ -1,232 +1,930 @@
 package fleetmanagement.fleet;
 
+import fleetmanagement.events.FleetEventSink;
+import fleetmanagement.events.FleetEvents;
 import fleetmanagement.exceptions.InvalidOperationException;
 import fleetmanagement.interfaces.FuelConsumable;
+import fleetmanagement.interfaces.OperationStatus;
+import fleetmanagement.io.BinarySnapshot;
+import fleetmanagement.io.CsvFleetReader;
+import fleetmanagement.io.FleetFileFormat;
+import fleetmanagement.io.FleetJournal;
+import fleetmanagement.io.ParallelCsvLoader;
+import fleetmanagement.io.ParseErrorCollector;
 import fleetmanagement.interfaces.Maintainable;
+import fleetmanagement.metrics.MetricsRegistry;
 import fleetmanagement.vehicles.Vehicle;
-import fleetmanagement.vehicles.VehicleFactory;
 
 import java.io.*;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
 import java.util.*;
-
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Safe for concurrent use. Each vehicle is its own lock for state changes; fleet membership is
+// guarded by a read-write lock that membership changes take exclusively and vehicle listeners share.
+// Lock order is vehicle monitor, then fleet lock, so vehicles are never mutated while the fleet lock
+// is held: bulk operations copy the vehicles out first. Reports read lock-free aggregates.
+// Public operations record their latency and outcome in a MetricsRegistry (see FleetMetrics);
+// cheap accessors such as getById and getFleet are not timed.
 public class FleetManager {
-    private List<Vehicle> fleet;
+    // Rows per ColumnKernels call in getTotalFuelConsumption
+    private static final int KERNEL_CHUNK = 4096;
+
+    // Keyed by vehicle ID; LinkedHashMap keeps insertion order for display and CSV output
+    private Map<String, Vehicle> fleet;
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile int fleetSize;
+    private final FleetIndex index = new FleetIndex();
+    private final FleetStats stats = new FleetStats();
+    private final FleetColumns columns = new FleetColumns();
+    private final FleetRanges ranges = new FleetRanges(columns);
+    private volatile FleetJournal journal;
+    private Path snapshotPath;
+    private final FleetMetrics metrics;
 
     public FleetManager() {
-        this.fleet = new ArrayList<>();
+        this(new MetricsRegistry());
+    }
+
+    // Several managers may share one registry, in which case their figures are combined
+    public FleetManager(MetricsRegistry registry) {
+        this.fleet = new LinkedHashMap<>();
+        this.metrics = new FleetMetrics(registry);
+    }
+
+    public MetricsRegistry getMetrics() {
+        return metrics.registry;
     }
 
     public void addVehicle(Vehicle vehicle) throws InvalidOperationException {
-        // Check for duplicate ID
-        for (Vehicle v : fleet) {
-            if (v.getId().equals(vehicle.getId())) {
+        long start = System.nanoTime();
+        boolean added = false;
+        lock.writeLock().lock();
+        try {
+            if (fleet.containsKey(vehicle.getId())) {
                 throw new InvalidOperationException("Vehicle with ID " + vehicle.getId() + " already exists");
             }
+            FleetEntry entry = claim(vehicle);
+            fleet.put(vehicle.getId(), vehicle);
+            attach(entry);
+            journalAdd(vehicle);
+            added = true;
+        } finally {
+            lock.writeLock().unlock();
+            metrics.addVehicle.record(start, added);
         }
-        fleet.add(vehicle);
     }
 
-    public void removeVehicle(String id) throws InvalidOperationException {
-        Iterator<Vehicle> iterator = fleet.iterator();
-        while (iterator.hasNext()) {
-            Vehicle vehicle = iterator.next();
-            if (vehicle.getId().equals(id)) {
-                iterator.remove();
-                return;
+    public void addAll(Collection<? extends Vehicle> vehicles) throws InvalidOperationException {
+        long start = System.nanoTime();
+        boolean added = false;
+        lock.writeLock().lock();
+        try {
+            // Validate the whole batch first so a duplicate leaves the fleet untouched
+            Set<String> batchIds = new HashSet<>();
+            for (Vehicle vehicle : vehicles) {
+                if (fleet.containsKey(vehicle.getId()) || !batchIds.add(vehicle.getId())) {
+                    throw new InvalidOperationException("Vehicle with ID " + vehicle.getId() + " already exists");
+                }
             }
-        }
-        throw new InvalidOperationException("Vehicle with ID " + id + " not found");
-    }
-
-    public void startAllJourneys(double distance) {
-        for (Vehicle vehicle : fleet) {
+            List<FleetEntry> claimed = new ArrayList<>(vehicles.size());
             try {
-                vehicle.move(distance);
+                for (Vehicle vehicle : vehicles) {
+                    claimed.add(claim(vehicle));
+                }
             } catch (InvalidOperationException e) {
-                System.err.println("Error moving vehicle " + vehicle.getId() + ": " + e.getMessage());
+                for (FleetEntry entry : claimed) {
+                    entry.vehicle.setListener(null);
+                }
+                throw e;
+            }
+            for (FleetEntry entry : claimed) {
+                fleet.put(entry.vehicle.getId(), entry.vehicle);
+                attach(entry);
+                journalAdd(entry.vehicle);
             }
+            added = true;
+        } finally {
+            lock.writeLock().unlock();
+            metrics.addAll.record(start, added);
         }
     }
 
-    public double getTotalFuelConsumption(double distance) {
-        double totalFuel = 0;
-        for (Vehicle vehicle : fleet) {
-            if (vehicle instanceof FuelConsumable) {
+    public void removeVehicle(String id) throws InvalidOperationException {
+        long start = System.nanoTime();
+        boolean removed = false;
+        lock.writeLock().lock();
+        try {
+            Vehicle vehicle = fleet.remove(id);
+            if (vehicle == null) {
+                throw new InvalidOperationException("Vehicle with ID " + id + " not found");
+            }
+            detach(vehicle);
+            if (journal != null) {
                 try {
-                    FuelConsumable fuelVehicle = (FuelConsumable) vehicle;
-                    double fuelNeeded = distance / vehicle.calculateFuelEfficiency();
-
-                    if (fuelNeeded > fuelVehicle.getFuelLevel()) {
-                        System.err.println("Insufficient fuel for " + vehicle.getId() +
-                                ". Needed: " + fuelNeeded + ", Available: " + fuelVehicle.getFuelLevel());
-                        continue;
-                    }
-
-                    totalFuel += fuelNeeded;
-                } catch (Exception e) {
-                    System.err.println("Error calculating fuel for " + vehicle.getId() + ": " + e.getMessage());
+                    journal.recordRemove(id);
+                } catch (IOException e) {
+                    throw new UncheckedIOException("Error writing fleet journal", e);
                 }
+                compactIfNeeded();
             }
+            removed = true;
+        } finally {
+            lock.writeLock().unlock();
+            metrics.removeVehicle.record(start, removed);
         }
-        return totalFuel;
     }
 
-    public void maintainAll() {
-        for (Vehicle vehicle : fleet) {
-            if (vehicle instanceof Maintainable) {
-                Maintainable maintainable = (Maintainable) vehicle;
-                if (maintainable.needsMaintenance()) {
-                    maintainable.performMaintenance();
+    public Vehicle getById(String id) {
+        lock.readLock().lock();
+        try {
+            return fleet.get(id);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void startAllJourneys(double distance) {
+        long start = System.nanoTime();
+        FleetEventSink events = FleetEvents.sink();
+        JourneyTally tally = new JourneyTally();
+        for (Vehicle vehicle : getFleet()) {
+            // Holding the vehicle's lock keeps the failure text on the state the move was refused on
+            synchronized (vehicle) {
+                double fuelNeeded = distance / vehicle.calculateFuelEfficiency();
+                OperationStatus status = vehicle.tryMove(distance);
+                tally.record(vehicle, status);
+                if (status == OperationStatus.SUCCESS) {
+                    events.vehicleMoved(vehicle, distance, fuelNeeded);
+                } else if (events.isEnabled()) {
+                    events.moveFailed(vehicle, distance, status, vehicle.describeMoveFailure(distance, status));
                 }
             }
         }
+        tally.addTo(metrics);
+        metrics.startAllJourneys.record(start, true);
     }
 
-    public List<Vehicle> searchByType(Class<?> type) {
-        List<Vehicle> result = new ArrayList<>();
-        for (Vehicle vehicle : fleet) {
-            if (type.isInstance(vehicle)) {
-                result.add(vehicle);
+    public BulkResult startAllJourneysParallel(double distance) {
+        return startAllJourneysParallel(distance, ForkJoinPool.commonPool());
+    }
+
+    // Parallel startAllJourneys on the given pool: nothing is printed, outcomes come back in fleet order
+    public BulkResult startAllJourneysParallel(double distance, ForkJoinPool pool) {
+        long start = System.nanoTime();
+        BulkResult bulk = runParallel("moving", getFleet(), pool, (vehicle, i, result) -> {
+            synchronized (vehicle) {
+                OperationStatus status = vehicle.tryMove(distance);
+                if (status == OperationStatus.SUCCESS) {
+                    result.record(i, BulkResult.SUCCESS, null);
+                } else {
+                    byte outcome = status == OperationStatus.INSUFFICIENT_FUEL
+                            ? BulkResult.INSUFFICIENT_FUEL : BulkResult.ERROR;
+                    result.record(i, outcome, vehicle.describeMoveFailure(distance, status));
+                }
+            }
+        });
+        // tryMove only fails for fuel or a negative distance, so the outcomes give back the statuses
+        JourneyTally tally = new JourneyTally();
+        for (int i = 0; i < bulk.size(); i++) {
+            byte outcome = bulk.getOutcome(i);
+            tally.record(bulk.getVehicle(i), outcome == BulkResult.SUCCESS ? OperationStatus.SUCCESS
+                    : outcome == BulkResult.INSUFFICIENT_FUEL ? OperationStatus.INSUFFICIENT_FUEL
+                    : OperationStatus.INVALID_AMOUNT);
+        }
+        tally.addTo(metrics);
+        metrics.startAllJourneysParallel.record(start, true);
+        return bulk;
+    }
+
+    public JourneyBatchResult dispatchJourneys(String[] ids, double[] distances) {
+        return dispatchJourneys(ids, distances, new JourneyBatchResult(ids.length));
+    }
+
+    // Moves each listed vehicle by its own distance, in order, without console output, exceptions or
+    // per-entry allocation. The result is reset and filled; the same ID may appear more than once.
+    public JourneyBatchResult dispatchJourneys(String[] ids, double[] distances, JourneyBatchResult result) {
+        if (ids.length != distances.length) {
+            throw new IllegalArgumentException("Got " + ids.length + " vehicle IDs but " +
+                    distances.length + " distances");
+        }
+        long start = System.nanoTime();
+        result.reset(ids.length);
+        JourneyTally tally = new JourneyTally();
+        Vehicle[] vehicles = result.vehicles();
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < ids.length; i++) {
+                vehicles[i] = fleet.get(ids[i]);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        for (int i = 0; i < ids.length; i++) {
+            Vehicle vehicle = vehicles[i];
+            if (vehicle == null) {
+                result.record(i, OperationStatus.NOT_FOUND, 0, Double.NaN);
+                continue;
+            }
+            // The fuel reading before and after must bracket this move alone
+            synchronized (vehicle) {
+                double fuelBefore = fuelLevel(vehicle);
+                OperationStatus status = vehicle.tryMove(distances[i]);
+                tally.record(vehicle, status);
+                result.record(i, status, fuelBefore - fuelLevel(vehicle), vehicle.getCurrentMileage());
             }
         }
+        tally.addTo(metrics);
+        metrics.dispatchJourneys.record(start, true);
         return result;
     }
 
-    public void sortFleetByEfficiency() {
-        Collections.sort(fleet, (v1, v2) -> {
-            double eff1 = v1.calculateFuelEfficiency();
-            double eff2 = v2.calculateFuelEfficiency();
-            return Double.compare(eff2, eff1);
-        });
+    // Looks the batch up under one read lock and applies it after release, as the lock order requires.
+    // Returns how many readings were applied.
+    public int applyTelemetry(String[] ids, long[] sampleTimes, double[] odometers, double[] fuelLevels, int count) {
+        long start = System.nanoTime();
+        Vehicle[] vehicles = new Vehicle[count];
+        lock.readLock().lock();
+        try {
+            for (int i = 0; i < count; i++) {
+                vehicles[i] = fleet.get(ids[i]);
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        int applied = 0;
+        int stale = 0;
+        for (int i = 0; i < count; i++) {
+            Vehicle vehicle = vehicles[i];
+            if (vehicle == null) {
+                continue;
+            }
+            OperationStatus status = vehicle.applyTelemetry(sampleTimes[i], odometers[i], fuelLevels[i]);
+            if (status == OperationStatus.SUCCESS) {
+                applied++;
+            } else if (status == OperationStatus.STALE) {
+                stale++;
+            }
+        }
+        metrics.telemetryApplied.add(applied);
+        metrics.telemetryStale.add(stale);
+        metrics.telemetryRejected.add(count - applied - stale);
+        metrics.applyTelemetry.record(start, true);
+        return applied;
     }
 
-    public String generateReport() {
-        StringBuilder report = new StringBuilder();
-        report.append("   FLEET MANAGEMENT REPORT   \n");
-        report.append("Total Vehicles: ").append(fleet.size()).append("\n");
+    // Runs on ColumnKernels a chunk of rows at a time: the chunk's shortfalls are reported in fleet
+    // order, then its feasible fuel is summed while the rows are still in cache
+    public double getTotalFuelConsumption(double distance) {
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            int size = columns.size();
+            byte[] typeTags = columns.typeTags();
+            double[] efficiencies = columns.efficiencies();
+            double[] fuelLevels = columns.fuelLevels();
+            String[] ids = columns.ids();
+            ColumnKernels kernels = ColumnKernels.get();
+            FleetEventSink events = FleetEvents.sink();
+            int[] shortfalls = new int[Math.min(size, KERNEL_CHUNK)];
+            double totalFuel = 0;
+            for (int from = 0; from < size; from += KERNEL_CHUNK) {
+                int to = Math.min(size, from + KERNEL_CHUNK);
+                int count = kernels.filterShortfalls(distance, efficiencies, fuelLevels, typeTags, from, to, shortfalls);
+                for (int i = 0; i < count; i++) {
+                    int row = shortfalls[i];
+                    events.fuelShortfall(ids[row], distance / efficiencies[row], fuelLevels[row]);
+                }
+                totalFuel += kernels.feasibleFuel(distance, efficiencies, fuelLevels, typeTags, from, to);
+            }
+            return totalFuel;
+        } finally {
+            lock.readLock().unlock();
+            metrics.getTotalFuelConsumption.record(start, true);
+        }
+    }
+
+    public JourneyPlan planJourneys(double[] distances) {
+        return planJourneys(distances, new JourneyPlan());
+    }
 
-        Map<String, Integer> typeCounts = new HashMap<>();
-        for (Vehicle vehicle : fleet) {
-            String typeName = vehicle.getClass().getSimpleName();
-            typeCounts.put(typeName, typeCounts.getOrDefault(typeName, 0) + 1);
+    // What-if for many candidate distances at once: fuel, feasibility and journey time for every
+    // vehicle and distance, plus fleet fuel totals per distance, from one pass over the columnar
+    // view. Nothing moves and no events are reported. The plan is reset and filled; its matrices
+    // hold fleet size x distances cells each.
+    public JourneyPlan planJourneys(double[] distances, JourneyPlan plan) {
+        long start = System.nanoTime();
+        boolean planned = false;
+        lock.readLock().lock();
+        try {
+            plan.reset(columns.liveCount(), distances);
+            columns.planJourneys(plan);
+            planned = true;
+            return plan;
+        } finally {
+            lock.readLock().unlock();
+            metrics.planJourneys.record(start, planned);
         }
+    }
 
-        report.append("\nVehicle Count by Type:\n");
-        for (Map.Entry<String, Integer> entry : typeCounts.entrySet()) {
-            report.append("  ").append(entry.getKey()).append(": ").append(entry.getValue()).append("\n");
+    // A snapshot: the live columns change under the write lock. REMOVED rows are included.
+    public FleetColumns getColumns() {
+        lock.readLock().lock();
+        try {
+            return columns.snapshot();
+        } finally {
+            lock.readLock().unlock();
         }
+    }
 
-        double totalEfficiency = 0;
-        int fuelVehicleCount = 0;
-        for (Vehicle vehicle : fleet) {
-            if (vehicle instanceof FuelConsumable) {
-                totalEfficiency += vehicle.calculateFuelEfficiency();
-                fuelVehicleCount++;
-            }
+    public void maintainAll() {
+        long start = System.nanoTime();
+        for (Vehicle vehicle : index.needingMaintenance()) {
+            ((Maintainable) vehicle).performMaintenance();
+            metrics.maintained(vehicle);
         }
-        double avgEfficiency = fuelVehicleCount > 0 ? totalEfficiency / fuelVehicleCount : 0;
-        report.append("Average Fuel Efficiency: ").append(String.format("%.2f", avgEfficiency)).append(" km/l\n");
+        metrics.maintainAll.record(start, true);
+    }
+
+    public BulkResult maintainAllParallel() {
+        return maintainAllParallel(ForkJoinPool.commonPool());
+    }
+
+    public BulkResult maintainAllParallel(ForkJoinPool pool) {
+        long start = System.nanoTime();
+        BulkResult bulk = runParallel("maintaining", index.needingMaintenance(), pool, (vehicle, i, result) -> {
+            ((Maintainable) vehicle).performMaintenance();
+            metrics.maintained(vehicle);
+            result.record(i, BulkResult.SUCCESS, null);
+        });
+        metrics.maintainAllParallel.record(start, true);
+        return bulk;
+    }
 
-        double totalMileage = 0;
-        for (Vehicle vehicle : fleet) {
-            totalMileage += vehicle.getCurrentMileage();
+    public List<Vehicle> searchByType(Class<?> type) {
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            if (index.isIndexed(type)) {
+                return index.byType(type);
+            }
+            List<Vehicle> result = new ArrayList<>();
+            for (Vehicle vehicle : fleet.values()) {
+                if (type.isInstance(vehicle)) {
+                    result.add(vehicle);
+                }
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+            metrics.searchByType.record(start, true);
         }
-        report.append("Total Mileage: ").append(String.format("%.2f", totalMileage)).append(" km\n");
+    }
 
-        int needMaintenance = 0;
-        for (Vehicle vehicle : fleet) {
-            if (vehicle instanceof Maintainable && ((Maintainable) vehicle).needsMaintenance()) {
-                needMaintenance++;
+    public void sortFleetByEfficiency() {
+        long start = System.nanoTime();
+        boolean done = false;
+        lock.writeLock().lock();
+        try {
+            // Efficiencies are read once up front: a truck's can change mid-sort as cargo is loaded
+            Map<Vehicle, Double> efficiencies = new IdentityHashMap<>();
+            for (Vehicle vehicle : fleet.values()) {
+                efficiencies.put(vehicle, vehicle.calculateFuelEfficiency());
             }
+            List<Vehicle> sorted = new ArrayList<>(fleet.values());
+            Collections.sort(sorted, (v1, v2) -> {
+                double eff1 = efficiencies.get(v1);
+                double eff2 = efficiencies.get(v2);
+                return Double.compare(eff2, eff1);
+            });
+            fleet.clear();
+            for (Vehicle vehicle : sorted) {
+                fleet.put(vehicle.getId(), vehicle);
+            }
+            List<FleetEntry> entries = entries(sorted);
+            index.rebuild(entries);
+            columns.rebuild(entries);
+            compactIfJournaled();
+            done = true;
+        } finally {
+            lock.writeLock().unlock();
+            metrics.sortFleetByEfficiency.record(start, done);
         }
-        report.append("Vehicles Needing Maintenance: ").append(needMaintenance).append("/").append(fleet.size()).append("\n");
+    }
 
-        return report.toString();
+    // The k most fuel-efficient vehicles, best first, in the order sortFleetByEfficiency would put
+    // them, without touching the fleet's order. Efficiencies come from the columnar view, so a
+    // truck ranks by its efficiency as of its last cargo change.
+    public List<Vehicle> getMostEfficient(int k) {
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            int[] rows = new int[Math.max(0, Math.min(k, columns.liveCount()))];
+            int count = columns.topEfficient(rows.length, rows);
+            return columns.vehiclesAt(rows, count);
+        } finally {
+            lock.readLock().unlock();
+            metrics.getMostEfficient.record(start, true);
+        }
     }
 
-    public List<Vehicle> getVehiclesNeedingMaintenance() {
-        List<Vehicle> result = new ArrayList<>();
-        for (Vehicle vehicle : fleet) {
-            if (vehicle instanceof Maintainable && ((Maintainable) vehicle).needsMaintenance()) {
-                result.add(vehicle);
+    // 1-based position the vehicle would take after sortFleetByEfficiency, or -1 if it is not in the fleet
+    public int getEfficiencyRank(String id) {
+        long start = System.nanoTime();
+        int rank = -1;
+        lock.readLock().lock();
+        try {
+            int row = columns.rowOf(id);
+            if (row >= 0) {
+                rank = columns.efficiencyRank(row);
             }
+            return rank;
+        } finally {
+            lock.readLock().unlock();
+            metrics.getEfficiencyRank.record(start, rank > 0);
         }
-        return result;
     }
 
-    public void saveToFile(String filename) {
+    // Vehicles whose attribute lies in [min, max), in fleet order. Vehicles the attribute does not
+    // apply to are never returned, and a vehicle changing during the call may be missed.
+    public List<Vehicle> getVehiclesInRange(NumericAttribute attribute, double min, double max) {
+        return range(metrics.getVehiclesInRange, attribute, min, true, max, false);
+    }
+
+    public List<Vehicle> getVehiclesWithFuelBelow(double liters) {
+        return range(metrics.getVehiclesWithFuelBelow, NumericAttribute.FUEL_LEVEL,
+                Double.NEGATIVE_INFINITY, true, liters, false);
+    }
+
+    public List<Vehicle> getVehiclesWithMileageAbove(double km) {
+        return range(metrics.getVehiclesWithMileageAbove, NumericAttribute.MILEAGE,
+                km, false, Double.POSITIVE_INFINITY, true);
+    }
+
+    public List<Vehicle> getVehiclesWithFreeSeats(int atLeast) {
+        return range(metrics.getVehiclesWithFreeSeats, NumericAttribute.FREE_SEATS,
+                atLeast, true, Double.POSITIVE_INFINITY, true);
+    }
+
+    public List<Vehicle> getVehiclesWithFreeCargo(double atLeastKg) {
+        return range(metrics.getVehiclesWithFreeCargo, NumericAttribute.FREE_CARGO,
+                atLeastKg, true, Double.POSITIVE_INFINITY, true);
+    }
+
+    // Maintainable vehicles that reach maintenance within the next km kilometres, soonest first;
+    // vehicles already due come first
+    public List<Vehicle> getVehiclesDueWithin(double km) {
+        return range(metrics.getVehiclesDueWithin, NumericAttribute.MAINTENANCE_KM, 0, true, km, true, true);
+    }
+
+    // Likewise within the next journeys journeys, at each vehicle's average journey length so far.
+    // A vehicle that has not moved since joining the fleet has no average and is only listed once due.
+    public List<Vehicle> getVehiclesDueWithinJourneys(int journeys) {
+        return range(metrics.getVehiclesDueWithinJourneys, NumericAttribute.MAINTENANCE_JOURNEYS,
+                0, true, journeys, true, true);
+    }
+
+    private List<Vehicle> range(FleetMetrics.Operation operation, NumericAttribute attribute,
+                                double from, boolean fromInclusive, double to, boolean toInclusive) {
+        return range(operation, attribute, from, fromInclusive, to, toInclusive, false);
+    }
+
+    private List<Vehicle> range(FleetMetrics.Operation operation, NumericAttribute attribute,
+                                double from, boolean fromInclusive, double to, boolean toInclusive, boolean byValue) {
+        long start = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            return ranges.range(attribute, from, fromInclusive, to, toInclusive, byValue);
+        } finally {
+            lock.readLock().unlock();
+            operation.record(start, true);
+        }
+    }
+
+    public String generateReport() {
+        long start = System.nanoTime();
+        String report = getSummary().toReport();
+        metrics.generateReport.record(start, true);
+        return report;
+    }
+
+    // Lock-free: each figure is current as of some moment during the call
+    public FleetSummary getSummary() {
+        return stats.summary(fleetSize, index.needingMaintenanceCount());
+    }
+
+    public List<Vehicle> getVehiclesNeedingMaintenance() {
+        return index.needingMaintenance();
+    }
+
+    // Save and load report success and failure to the event sink, and return false on failure so
+    // callers that answer someone other than the console can tell
+    public boolean saveToFile(String filename) {
+        return saveToFile(filename, FleetFileFormat.forFilename(filename));
+    }
+
+    public boolean saveToFile(String filename, FleetFileFormat format) {
+        long start = System.nanoTime();
+        List<Vehicle> vehicles = getFleet();
+        if (format == FleetFileFormat.BINARY) {
+            try {
+                BinarySnapshot.write(Paths.get(filename), vehicles);
+                FleetEvents.sink().fleetSaved(filename, vehicles.size());
+                metrics.saveToFile.record(start, true);
+                return true;
+            } catch (IOException e) {
+                FleetEvents.sink().saveFailed(filename, e);
+                metrics.saveToFile.record(start, false);
+                return false;
+            }
+        }
         try (PrintWriter writer = new PrintWriter(new FileWriter(filename))) {
-            for (Vehicle vehicle : fleet) {
+            for (Vehicle vehicle : vehicles) {
                 String csvLine = vehicle.toCSVString();
                 writer.println(csvLine);
             }
-            System.out.println("Fleet saved to " + filename + " (" + fleet.size() + " vehicles)");
+            FleetEvents.sink().fleetSaved(filename, vehicles.size());
+            metrics.saveToFile.record(start, true);
+            return true;
         } catch (IOException e) {
-            System.err.println("Error saving fleet to file: " + e.getMessage());
+            FleetEvents.sink().saveFailed(filename, e);
+            metrics.saveToFile.record(start, false);
+            return false;
         }
     }
 
-    public void loadFromFile(String filename) {
-        try (BufferedReader reader = new BufferedReader(new FileReader(filename))) {
-            List<Vehicle> loadedFleet = new ArrayList<>();
-            String line;
-            int lineNumber = 0;
+    public boolean loadFromFile(String filename) {
+        return loadFromFile(filename, FleetFileFormat.forFilename(filename));
+    }
 
-            while ((line = reader.readLine()) != null) {
-                lineNumber++;
-                try {
-                    String[] data = line.split(",");
-                    if (data.length < 2) {
-                        System.err.println("Skipping invalid line " + lineNumber + ": " + line);
-                        continue;
-                    }
-
-                    String vehicleType = data[0];
-                    Vehicle vehicle = VehicleFactory.createVehicle(vehicleType, data);
-                    if (vehicle != null) {
-                        loadedFleet.add(vehicle);
-                    }
-                } catch (Exception e) {
-                    System.err.println("Error parsing line " + lineNumber + ": " + e.getMessage());
-                }
+    public boolean loadFromFile(String filename, FleetFileFormat format) {
+        if (format == FleetFileFormat.BINARY) {
+            long start = System.nanoTime();
+            try {
+                List<Vehicle> loaded = BinarySnapshot.read(Paths.get(filename));
+                replaceFleet(loaded);
+                metrics.rowsLoaded.add(loaded.size());
+                FleetEvents.sink().fleetLoaded(filename, loaded.size());
+                metrics.loadFromFile.record(start, true);
+                return true;
+            } catch (IOException e) {
+                FleetEvents.sink().loadFailed(filename, e);
+                metrics.loadFromFile.record(start, false);
+                return false;
             }
+        }
+        return loadFromFile(filename, FleetEvents.sink()::lineRejected);
+    }
 
-            this.fleet = loadedFleet;
-            System.out.println("Loaded " + loadedFleet.size() + " vehicles from " + filename);
+    public boolean loadFromFile(String filename, ParseErrorCollector errors) {
+        long start = System.nanoTime();
+        try (InputStream in = new FileInputStream(filename)) {
+            List<Vehicle> loaded = new CsvFleetReader(countRejections(errors)).read(in);
+            replaceFleet(loaded);
+            metrics.rowsLoaded.add(loaded.size());
+            FleetEvents.sink().fleetLoaded(filename, loaded.size());
+            metrics.loadFromFile.record(start, true);
+            return true;
+        } catch (IOException e) {
+            FleetEvents.sink().loadFailed(filename, e);
+            metrics.loadFromFile.record(start, false);
+            return false;
+        }
+    }
 
+    public boolean loadFromFileParallel(String filename) {
+        return loadFromFileParallel(filename, ForkJoinPool.commonPool(), FleetEvents.sink()::lineRejected);
+    }
+
+    // Memory-mapped, chunk-parallel variant of loadFromFile with identical results
+    public boolean loadFromFileParallel(String filename, ForkJoinPool pool, ParseErrorCollector errors) {
+        long start = System.nanoTime();
+        try {
+            List<Vehicle> loaded = new ParallelCsvLoader(pool).load(Paths.get(filename), countRejections(errors));
+            replaceFleet(loaded);
+            metrics.rowsLoaded.add(loaded.size());
+            FleetEvents.sink().fleetLoaded(filename, loaded.size());
+            metrics.loadFromFileParallel.record(start, true);
+            return true;
         } catch (IOException e) {
-            System.err.println("Error loading fleet from file: " + e.getMessage());
+            FleetEvents.sink().loadFailed(filename, e);
+            metrics.loadFromFileParallel.record(start, false);
+            return false;
+        }
+    }
+
+    private ParseErrorCollector countRejections(ParseErrorCollector errors) {
+        return (lineNumber, reason) -> {
+            metrics.rowsRejected.increment();
+            errors.reject(lineNumber, reason);
+        };
+    }
+
+    // Restores the fleet from the latest snapshot plus the journal tail, then journals every later change
+    public void openJournal(String snapshotFile, String journalFile, FleetJournal.SyncPolicy policy)
+            throws IOException {
+        openJournal(snapshotFile, journalFile, policy, 100, FleetJournal.DEFAULT_COMPACTION_BYTES);
+    }
+
+    public void openJournal(String snapshotFile, String journalFile, FleetJournal.SyncPolicy policy,
+                            long syncIntervalMillis, long compactionBytes) throws IOException {
+        long start = System.nanoTime();
+        boolean opened = false;
+        Map<String, Vehicle> recovered = new LinkedHashMap<>();
+        int replayed;
+        lock.writeLock().lock();
+        try {
+            closeJournal();
+            Path snapshot = Paths.get(snapshotFile);
+            Path journalPath = Paths.get(journalFile);
+            if (Files.exists(snapshot)) {
+                for (Vehicle vehicle : BinarySnapshot.read(snapshot)) {
+                    recovered.put(vehicle.getId(), vehicle);
+                }
+            }
+            replayed = FleetJournal.replay(journalPath, recovered);
+            replaceFleet(new ArrayList<>(recovered.values()));
+            this.snapshotPath = snapshot;
+            this.journal = new FleetJournal(journalPath, policy, syncIntervalMillis, compactionBytes);
+            opened = true;
+        } finally {
+            lock.writeLock().unlock();
+            metrics.openJournal.record(start, opened);
+        }
+        FleetEvents.sink().fleetRecovered(snapshotFile, recovered.size(), replayed);
+    }
+
+    // Folds the journal into a new snapshot: write to a temp file, sync, rename, then truncate the journal
+    // Runs under the write lock; changes applied but not yet journaled are already in the snapshot
+    // and are journaled again afterwards, which replay treats as a no-op
+    public void compact() throws IOException {
+        long start = System.nanoTime();
+        boolean compacted = false;
+        lock.writeLock().lock();
+        try {
+            if (journal == null) {
+                return;
+            }
+            journal.commit();
+            Path temp = snapshotPath.resolveSibling(snapshotPath.getFileName() + ".tmp");
+            BinarySnapshot.writeCompacted(temp, fleet.values());
+            Files.move(temp, snapshotPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            journal.reset();
+            compacted = true;
+        } finally {
+            lock.writeLock().unlock();
+            if (compacted) {
+                metrics.compact.record(start, true);
+            }
+        }
+    }
+
+    public void closeJournal() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (journal != null) {
+                journal.close();
+                journal = null;
+                snapshotPath = null;
+            }
+        } finally {
+            lock.writeLock().unlock();
         }
     }
 
     public List<Vehicle> getFleet() {
-        return new ArrayList<>(fleet);
+        lock.readLock().lock();
+        try {
+            return new ArrayList<>(fleet.values());
+        } finally {
+            lock.readLock().unlock();
+        }
     }
 
     public int getFleetSize() {
-        return fleet.size();
+        return fleetSize;
     }
 
     public void displayAllVehicles() {
-        if (fleet.isEmpty()) {
+        List<Vehicle> vehicles = getFleet();
+        if (vehicles.isEmpty()) {
             System.out.println("No vehicles in fleet");
             return;
         }
 
         System.out.println("   ALL VEHICLES IN FLEET   ");
-        for (int i = 0; i < fleet.size(); i++) {
-            Vehicle vehicle = fleet.get(i);
-            System.out.println((i + 1) + ". " + vehicle.getId() + " - " +
+        int i = 0;
+        for (Vehicle vehicle : vehicles) {
+            System.out.println(++i + ". " + vehicle.getId() + " - " +
                     vehicle.getClass().getSimpleName() + " - " +
                     vehicle.getModel());
         }
     }
 
     public void refuelAll(double amount) throws InvalidOperationException {
-        for (Vehicle v : fleet) {
-            if (v instanceof FuelConsumable) {
-                ((FuelConsumable) v).refuel(amount);
+        long start = System.nanoTime();
+        boolean refueled = false;
+        try {
+            for (Vehicle v : getFleet()) {
+                if (v instanceof FuelConsumable) {
+                    refuel(v, amount);
+                }
+            }
+            refueled = true;
+        } finally {
+            metrics.refuelAll.record(start, refueled);
+        }
+    }
+
+    public BulkResult refuelAllParallel(double amount) {
+        return refuelAllParallel(amount, ForkJoinPool.commonPool());
+    }
+
+    // Unlike refuelAll, a failure is recorded for that vehicle and the rest of the fleet is still refueled
+    public BulkResult refuelAllParallel(double amount, ForkJoinPool pool) {
+        long start = System.nanoTime();
+        BulkResult bulk = runParallel("refueling", getFleet(), pool, (vehicle, i, result) -> {
+            if (!(vehicle instanceof FuelConsumable)) {
+                result.record(i, BulkResult.SKIPPED, null);
+                return;
+            }
+            try {
+                refuel(vehicle, amount);
+                result.record(i, BulkResult.SUCCESS, null);
+            } catch (InvalidOperationException e) {
+                result.record(i, BulkResult.ERROR, e.getMessage());
+            }
+        });
+        metrics.refuelAllParallel.record(start, true);
+        return bulk;
+    }
+
+    // Throws with the message the vehicle's own refuel would give for the status
+    private void refuel(Vehicle vehicle, double amount) throws InvalidOperationException {
+        OperationStatus status = ((FuelConsumable) vehicle).tryRefuel(amount);
+        metrics.refuel(vehicle, status);
+        switch (status) {
+            case SUCCESS:
+                return;
+            case INVALID_AMOUNT:
+                throw new InvalidOperationException("Refuel amount must be positive");
+            case NOT_SUPPORTED:
+                throw new InvalidOperationException("Sail-powered ships don't require fuel");
+            default:
+                throw new InvalidOperationException("Cannot refuel " + vehicle.getId() + ": " + status);
+        }
+    }
+
+    private static double fuelLevel(Vehicle vehicle) {
+        return vehicle instanceof FuelConsumable ? ((FuelConsumable) vehicle).getFuelLevel() : 0;
+    }
+
+    // No fleet lock is held while the operation runs, so vehicle mutators keep the usual lock order
+    private BulkResult runParallel(String action, List<Vehicle> snapshot, ForkJoinPool pool,
+                                   BulkTask.Operation operation) {
+        Vehicle[] vehicles = snapshot.toArray(new Vehicle[0]);
+        BulkResult result = new BulkResult(action, vehicles);
+        int threshold = BulkTask.threshold(vehicles.length, pool.getParallelism());
+        pool.invoke(new BulkTask(vehicles, 0, vehicles.length, threshold, operation, result));
+        return result;
+    }
+
+    // A vehicle has one listener slot, so it can belong to only one fleet at a time
+    private FleetEntry claim(Vehicle vehicle) throws InvalidOperationException {
+        FleetEntry entry = new FleetEntry(this, vehicle);
+        entry.active = true;
+        if (!vehicle.claimListener(entry)) {
+            throw new InvalidOperationException("Vehicle " + vehicle.getId() + " already belongs to a fleet");
+        }
+        return entry;
+    }
+
+    // Vehicles must already have unique IDs
+    private void replaceFleet(List<Vehicle> vehicles) {
+        lock.writeLock().lock();
+        try {
+            for (Vehicle vehicle : fleet.values()) {
+                entryOf(vehicle).active = false;
+                vehicle.setListener(null);
+            }
+            Map<String, Vehicle> replacement = new LinkedHashMap<>();
+            List<FleetEntry> entries = new ArrayList<>(vehicles.size());
+            for (Vehicle vehicle : vehicles) {
+                replacement.put(vehicle.getId(), vehicle);
+                FleetEntry entry = new FleetEntry(this, vehicle);
+                entry.active = true;
+                vehicle.setListener(entry);
+                entries.add(entry);
+            }
+            this.fleet = replacement;
+            fleetSize = fleet.size();
+            index.rebuild(entries);
+            stats.rebuild(entries);
+            columns.rebuild(entries);
+            ranges.rebuild(entries);
+            compactIfJournaled();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // The listener is set before the vehicle's state is read, so a change racing with the add is
+    // either already visible here or reported to onVehicleChanged once the write lock is released
+    private void attach(FleetEntry entry) {
+        Vehicle vehicle = entry.vehicle;
+        fleetSize = fleet.size();
+        index.add(entry);
+        stats.add(entry);
+        columns.add(entry);
+        ranges.add(entry);
+        metrics.added(vehicle);
+    }
+
+    private void detach(Vehicle vehicle) {
+        FleetEntry entry = entryOf(vehicle);
+        entry.active = false;
+        vehicle.setListener(null);
+        fleetSize = fleet.size();
+        index.remove(entry);
+        stats.remove(entry);
+        columns.remove(entry);
+        ranges.remove(entry);
+        metrics.removed(vehicle);
+    }
+
+    // Every vehicle in the fleet has its entry installed as its listener
+    private static FleetEntry entryOf(Vehicle vehicle) {
+        return (FleetEntry) vehicle.getListener();
+    }
+
+    private static List<FleetEntry> entries(List<Vehicle> vehicles) {
+        List<FleetEntry> entries = new ArrayList<>(vehicles.size());
+        for (Vehicle vehicle : vehicles) {
+            entries.add(entryOf(vehicle));
+        }
+        return entries;
+    }
+
+    // Called with the vehicle's monitor held, so changes to one vehicle arrive here one at a time
+    void onVehicleChanged(FleetEntry entry, boolean moved) {
+        boolean compactionDue;
+        lock.readLock().lock();
+        try {
+            // A change that raced with a removal or reload may arrive after the vehicle left the fleet
+            if (!entry.active) {
+                return;
+            }
+            index.update(entry);
+            stats.update(entry);
+            columns.update(entry, moved);
+            ranges.update(entry);
+            if (journal == null) {
+                return;
+            }
+            try {
+                journal.recordState(entry.vehicle);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error writing fleet journal", e);
+            }
+            compactionDue = journal.needsCompaction();
+        } finally {
+            lock.readLock().unlock();
+        }
+        // The read lock cannot be upgraded, so compaction takes the write lock afresh
+        if (compactionDue) {
+            compactIfJournaled();
+        }
+    }
+
+    private void journalAdd(Vehicle vehicle) {
+        if (journal != null) {
+            try {
+                journal.recordAdd(vehicle);
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error writing fleet journal", e);
+            }
+            compactIfNeeded();
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (journal.needsCompaction()) {
+            compactIfJournaled();
+        }
+    }
+
+    // Whole-fleet changes (load, sort) are persisted by writing a fresh snapshot
+    private void compactIfJournaled() {
+        if (journal != null) {
+            try {
+                compact();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Error compacting fleet journal", e);
             }
         }
     }
-}
+}
\ No newline at end of file
@@ -0,0 +1,177 @@
+package fleetmanagement.fleet;
+
+import fleetmanagement.interfaces.OperationStatus;
+import fleetmanagement.metrics.Counter;
+import fleetmanagement.metrics.LatencyHistogram;
+import fleetmanagement.metrics.MetricsRegistry;
+import fleetmanagement.vehicles.Vehicle;
+
+// A FleetManager's metrics, looked up once so that recording is an array index and a counter
+// increment. Per-type counters are indexed by FleetColumns type tag. Journeys are counted per call
+// in a JourneyTally and added here when the call ends.
+//   fleet.operation.latency{operation}            time per public operation call
+//   fleet.operation.calls{operation,outcome}      success / failure per call
+//   fleet.journeys{type,outcome}                  one per journey attempted, outcome is the OperationStatus
+//   fleet.refuels{type,outcome}                   likewise for refuelAll / refuelAllParallel
+//   fleet.maintenance{type}                       maintenance performed by maintainAll
+//   fleet.vehicles.added{type}, .removed{type}    membership changes
+//   fleet.load.rows{outcome=loaded|rejected}      vehicles read from files, and rejected CSV lines
+//   fleet.telemetry{outcome=applied|stale|rejected} readings passed to applyTelemetry
+class FleetMetrics {
+    private static final String[] TYPE_NAMES = {"Removed", "Car", "Truck", "Bus", "Airplane", "CargoShip"};
+
+    final MetricsRegistry registry;
+    final Operation addVehicle;
+    final Operation addAll;
+    final Operation removeVehicle;
+    final Operation searchByType;
+    final Operation generateReport;
+    final Operation sortFleetByEfficiency;
+    final Operation getMostEfficient;
+    final Operation getEfficiencyRank;
+    final Operation getVehiclesInRange;
+    final Operation getVehiclesWithFuelBelow;
+    final Operation getVehiclesWithMileageAbove;
+    final Operation getVehiclesWithFreeSeats;
+    final Operation getVehiclesWithFreeCargo;
+    final Operation getVehiclesDueWithin;
+    final Operation getVehiclesDueWithinJourneys;
+    final Operation startAllJourneys;
+    final Operation startAllJourneysParallel;
+    final Operation dispatchJourneys;
+    final Operation applyTelemetry;
+    final Operation getTotalFuelConsumption;
+    final Operation planJourneys;
+    final Operation refuelAll;
+    final Operation refuelAllParallel;
+    final Operation maintainAll;
+    final Operation maintainAllParallel;
+    final Operation saveToFile;
+    final Operation loadFromFile;
+    final Operation loadFromFileParallel;
+    final Operation openJournal;
+    final Operation compact;
+    final Counter rowsLoaded;
+    final Counter rowsRejected;
+    final Counter telemetryApplied;
+    final Counter telemetryStale;
+    final Counter telemetryRejected;
+
+    private final Counter[][] journeys;
+    private final Counter[][] refuels;
+    private final Counter[] maintained;
+    private final Counter[] added;
+    private final Counter[] removed;
+
+    FleetMetrics(MetricsRegistry registry) {
+        this.registry = registry;
+        addVehicle = new Operation(registry, "addVehicle");
+        addAll = new Operation(registry, "addAll");
+        removeVehicle = new Operation(registry, "removeVehicle");
+        searchByType = new Operation(registry, "searchByType");
+        generateReport = new Operation(registry, "generateReport");
+        sortFleetByEfficiency = new Operation(registry, "sortFleetByEfficiency");
+        getMostEfficient = new Operation(registry, "getMostEfficient");
+        getEfficiencyRank = new Operation(registry, "getEfficiencyRank");
+        getVehiclesInRange = new Operation(registry, "getVehiclesInRange");
+        getVehiclesWithFuelBelow = new Operation(registry, "getVehiclesWithFuelBelow");
+        getVehiclesWithMileageAbove = new Operation(registry, "getVehiclesWithMileageAbove");
+        getVehiclesWithFreeSeats = new Operation(registry, "getVehiclesWithFreeSeats");
+        getVehiclesWithFreeCargo = new Operation(registry, "getVehiclesWithFreeCargo");
+        getVehiclesDueWithin = new Operation(registry, "getVehiclesDueWithin");
+        getVehiclesDueWithinJourneys = new Operation(registry, "getVehiclesDueWithinJourneys");
+        startAllJourneys = new Operation(registry, "startAllJourneys");
+        startAllJourneysParallel = new Operation(registry, "startAllJourneysParallel");
+        dispatchJourneys = new Operation(registry, "dispatchJourneys");
+        applyTelemetry = new Operation(registry, "applyTelemetry");
+        getTotalFuelConsumption = new Operation(registry, "getTotalFuelConsumption");
+        planJourneys = new Operation(registry, "planJourneys");
+        refuelAll = new Operation(registry, "refuelAll");
+        refuelAllParallel = new Operation(registry, "refuelAllParallel");
+        maintainAll = new Operation(registry, "maintainAll");
+        maintainAllParallel = new Operation(registry, "maintainAllParallel");
+        saveToFile = new Operation(registry, "saveToFile");
+        loadFromFile = new Operation(registry, "loadFromFile");
+        loadFromFileParallel = new Operation(registry, "loadFromFileParallel");
+        openJournal = new Operation(registry, "openJournal");
+        compact = new Operation(registry, "compact");
+        rowsLoaded = registry.counter("fleet.load.rows", "outcome", "loaded");
+        rowsRejected = registry.counter("fleet.load.rows", "outcome", "rejected");
+        telemetryApplied = registry.counter("fleet.telemetry", "outcome", "applied");
+        telemetryStale = registry.counter("fleet.telemetry", "outcome", "stale");
+        telemetryRejected = registry.counter("fleet.telemetry", "outcome", "rejected");
+
+        OperationStatus[] statuses = OperationStatus.values();
+        journeys = new Counter[TYPE_NAMES.length][statuses.length];
+        refuels = new Counter[TYPE_NAMES.length][statuses.length];
+        maintained = new Counter[TYPE_NAMES.length];
+        added = new Counter[TYPE_NAMES.length];
+        removed = new Counter[TYPE_NAMES.length];
+        for (int type = 1; type < TYPE_NAMES.length; type++) {
+            String typeName = TYPE_NAMES[type];
+            for (OperationStatus status : statuses) {
+                String outcome = status.name().toLowerCase();
+                journeys[type][status.ordinal()] = registry.counter("fleet.journeys", "type", typeName, "outcome", outcome);
+                refuels[type][status.ordinal()] = registry.counter("fleet.refuels", "type", typeName, "outcome", outcome);
+            }
+            maintained[type] = registry.counter("fleet.maintenance", "type", typeName);
+            added[type] = registry.counter("fleet.vehicles.added", "type", typeName);
+            removed[type] = registry.counter("fleet.vehicles.removed", "type", typeName);
+        }
+    }
+
+    Counter journeys(int typeTag, int statusOrdinal) {
+        return journeys[typeTag][statusOrdinal];
+    }
+
+    // Per type tag, for stores that tally a bulk operation before adding to the shared counters
+    Counter refuels(int typeTag, int statusOrdinal) {
+        return refuels[typeTag][statusOrdinal];
+    }
+
+    Counter maintained(int typeTag) {
+        return maintained[typeTag];
+    }
+
+    void refuel(Vehicle vehicle, OperationStatus status) {
+        refuels[FleetColumns.typeTag(vehicle)][status.ordinal()].increment();
+    }
+
+    void maintained(Vehicle vehicle) {
+        maintained[FleetColumns.typeTag(vehicle)].increment();
+    }
+
+    void added(Vehicle vehicle) {
+        added(FleetColumns.typeTag(vehicle));
+    }
+
+    void added(int typeTag) {
+        added[typeTag].increment();
+    }
+
+    void removed(Vehicle vehicle) {
+        removed(FleetColumns.typeTag(vehicle));
+    }
+
+    void removed(int typeTag) {
+        removed[typeTag].increment();
+    }
+
+    static class Operation {
+        private final LatencyHistogram latency;
+        private final Counter succeeded;
+        private final Counter failed;
+
+        Operation(MetricsRegistry registry, String name) {
+            latency = registry.histogram("fleet.operation.latency", "operation", name);
+            succeeded = registry.counter("fleet.operation.calls", "operation", name, "outcome", "success");
+            failed = registry.counter("fleet.operation.calls", "operation", name, "outcome", "failure");
+        }
+
+        // startNanos is the System.nanoTime() reading taken when the call began
+        void record(long startNanos, boolean success) {
+            latency.recordSince(startNanos);
+            (success ? succeeded : failed).increment();
+        }
+    }
+}
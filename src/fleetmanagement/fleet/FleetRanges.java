@@ -0,0 +1,50 @@
+package fleetmanagement.fleet;
+
+import fleetmanagement.vehicles.Vehicle;
+
+import java.util.Collection;
+import java.util.List;
+
+// One NumericIndex per NumericAttribute; each call here follows the matching FleetColumns call.
+// Updates run under the read lock, so a vehicle changing during a query may be missed.
+class FleetRanges {
+    private final NumericIndex[] indexes = new NumericIndex[NumericAttribute.values().length];
+
+    FleetRanges(FleetColumns columns) {
+        for (NumericAttribute attribute : NumericAttribute.values()) {
+            indexes[attribute.ordinal()] = new NumericIndex(attribute, columns);
+        }
+    }
+
+    void add(FleetEntry entry) {
+        for (NumericIndex index : indexes) {
+            index.add(entry);
+        }
+    }
+
+    void remove(FleetEntry entry) {
+        for (NumericIndex index : indexes) {
+            index.remove(entry);
+        }
+    }
+
+    void update(FleetEntry entry) {
+        for (NumericIndex index : indexes) {
+            index.update(entry);
+        }
+    }
+
+    void rebuild(Collection<FleetEntry> entries) {
+        for (NumericIndex index : indexes) {
+            index.clear();
+        }
+        for (FleetEntry entry : entries) {
+            add(entry);
+        }
+    }
+
+    List<Vehicle> range(NumericAttribute attribute, double from, boolean fromInclusive, double to, boolean toInclusive,
+                        boolean byValue) {
+        return indexes[attribute.ordinal()].range(from, fromInclusive, to, toInclusive, byValue);
+    }
+}
@@ -0,0 +1,180 @@
+package fleetmanagement.fleet;
+
+import fleetmanagement.interfaces.FuelConsumable;
+import fleetmanagement.vehicles.Vehicle;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.StampedLock;
+
+// Running fleet aggregates, adjusted by each vehicle's previous contribution (kept on its FleetEntry)
+// on every change. Sums are split across lock stripes so concurrent vehicle updates rarely contend,
+// and summary() reads each stripe optimistically, so building a report never blocks a writer.
+// Sums are compensated so long runs of deltas do not drift, and a stripe whose last vehicle
+// leaves is reset to exact zeros.
+class FleetStats {
+    private static final int STRIPES = 32;
+
+    // Type counts and the fuel vehicle count change only under the fleet's write lock
+    private final Map<String, Integer> typeCounts = new ConcurrentHashMap<>();
+    private final Stripe[] stripes = new Stripe[STRIPES];
+    private volatile int fuelVehicleCount;
+
+    static class Stripe {
+        final StampedLock lock = new StampedLock();
+        // Finite efficiencies only; a sail-powered ship's is infinite, and Inf - Inf would turn the
+        // running sum into NaN for good, so those are counted instead
+        final CompensatedSum totalEfficiency = new CompensatedSum();
+        int infiniteEfficiencies;
+        final CompensatedSum totalMileage = new CompensatedSum();
+        int vehicles;
+
+        void clear() {
+            totalEfficiency.clear();
+            infiniteEfficiencies = 0;
+            totalMileage.clear();
+            vehicles = 0;
+        }
+    }
+
+    // Kahan summation: error holds the low-order bits lost by the last addition
+    static class CompensatedSum {
+        private double sum;
+        private double error;
+
+        void add(double value) {
+            double corrected = value - error;
+            double next = sum + corrected;
+            error = (next - sum) - corrected;
+            sum = next;
+        }
+
+        double value() {
+            return sum - error;
+        }
+
+        void clear() {
+            sum = 0;
+            error = 0;
+        }
+    }
+
+    FleetStats() {
+        for (int i = 0; i < STRIPES; i++) {
+            stripes[i] = new Stripe();
+        }
+    }
+
+    void add(FleetEntry entry) {
+        Vehicle vehicle = entry.vehicle;
+        String typeName = vehicle.getClass().getSimpleName();
+        typeCounts.put(typeName, typeCounts.getOrDefault(typeName, 0) + 1);
+
+        entry.stripe = stripes[System.identityHashCode(vehicle) & (STRIPES - 1)];
+        entry.efficiency = 0;
+        entry.mileage = 0;
+        if (vehicle instanceof FuelConsumable) {
+            fuelVehicleCount++;
+        }
+        adjust(entry.stripe, 1, 0, 0, 0);
+        update(entry);
+    }
+
+    void remove(FleetEntry entry) {
+        Vehicle vehicle = entry.vehicle;
+        String typeName = vehicle.getClass().getSimpleName();
+        int count = typeCounts.get(typeName) - 1;
+        if (count == 0) {
+            typeCounts.remove(typeName);
+        } else {
+            typeCounts.put(typeName, count);
+        }
+        if (vehicle instanceof FuelConsumable) {
+            fuelVehicleCount--;
+        }
+        adjust(entry.stripe, -1, -finite(entry.efficiency), -infinite(entry.efficiency), -entry.mileage);
+    }
+
+    void update(FleetEntry entry) {
+        Vehicle vehicle = entry.vehicle;
+        // Truck efficiency depends on its current cargo, so it is re-read on every change
+        double efficiencyDelta = 0;
+        int infiniteDelta = 0;
+        if (vehicle instanceof FuelConsumable) {
+            double efficiency = vehicle.calculateFuelEfficiency();
+            efficiencyDelta = finite(efficiency) - finite(entry.efficiency);
+            infiniteDelta = infinite(efficiency) - infinite(entry.efficiency);
+            entry.efficiency = efficiency;
+        }
+        double mileage = vehicle.getCurrentMileage();
+        double mileageDelta = mileage - entry.mileage;
+        entry.mileage = mileage;
+        if (efficiencyDelta != 0 || infiniteDelta != 0 || mileageDelta != 0) {
+            adjust(entry.stripe, 0, efficiencyDelta, infiniteDelta, mileageDelta);
+        }
+    }
+
+    void rebuild(Collection<FleetEntry> entries) {
+        typeCounts.clear();
+        for (Stripe stripe : stripes) {
+            long stamp = stripe.lock.writeLock();
+            stripe.clear();
+            stripe.lock.unlockWrite(stamp);
+        }
+        fuelVehicleCount = 0;
+        for (FleetEntry entry : entries) {
+            add(entry);
+        }
+    }
+
+    FleetSummary summary(int totalVehicles, int needMaintenance) {
+        double totalEfficiency = 0;
+        int infiniteEfficiencies = 0;
+        double totalMileage = 0;
+        for (Stripe stripe : stripes) {
+            double efficiency;
+            int infinite;
+            double mileage;
+            long stamp;
+            do {
+                stamp = stripe.lock.tryOptimisticRead();
+                efficiency = stripe.totalEfficiency.value();
+                infinite = stripe.infiniteEfficiencies;
+                mileage = stripe.totalMileage.value();
+            } while (!stripe.lock.validate(stamp));
+            totalEfficiency += efficiency;
+            infiniteEfficiencies += infinite;
+            totalMileage += mileage;
+        }
+        if (infiniteEfficiencies > 0) {
+            totalEfficiency = Double.POSITIVE_INFINITY;
+        }
+        return new FleetSummary(totalVehicles, typeCounts, totalEfficiency, fuelVehicleCount,
+                totalMileage, needMaintenance);
+    }
+
+    private static void adjust(Stripe stripe, int vehicleDelta, double efficiencyDelta, int infiniteDelta,
+                               double mileageDelta) {
+        long stamp = stripe.lock.writeLock();
+        try {
+            stripe.vehicles += vehicleDelta;
+            if (stripe.vehicles == 0) {
+                stripe.clear();
+                return;
+            }
+            stripe.totalEfficiency.add(efficiencyDelta);
+            stripe.infiniteEfficiencies += infiniteDelta;
+            stripe.totalMileage.add(mileageDelta);
+        } finally {
+            stripe.lock.unlockWrite(stamp);
+        }
+    }
+
+    private static double finite(double efficiency) {
+        return Double.isInfinite(efficiency) ? 0 : efficiency;
+    }
+
+    private static int infinite(double efficiency) {
+        return Double.isInfinite(efficiency) ? 1 : 0;
+    }
+}
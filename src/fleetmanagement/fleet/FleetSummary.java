@@ -0,0 +1,75 @@
+package fleetmanagement.fleet;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+public class FleetSummary {
+    private final int totalVehicles;
+    private final Map<String, Integer> typeCounts;
+    private final double totalEfficiency;
+    private final int fuelVehicleCount;
+    private final double totalMileage;
+    private final int needMaintenance;
+
+    public FleetSummary(int totalVehicles, Map<String, Integer> typeCounts, double totalEfficiency,
+                        int fuelVehicleCount, double totalMileage, int needMaintenance) {
+        this.totalVehicles = totalVehicles;
+        this.typeCounts = Collections.unmodifiableMap(new LinkedHashMap<>(typeCounts));
+        this.totalEfficiency = totalEfficiency;
+        this.fuelVehicleCount = fuelVehicleCount;
+        this.totalMileage = totalMileage;
+        this.needMaintenance = needMaintenance;
+    }
+
+    // One summary for several disjoint fleets, e.g. the shards of a ShardedFleetManager
+    public static FleetSummary combine(Collection<FleetSummary> summaries) {
+        int totalVehicles = 0;
+        Map<String, Integer> typeCounts = new LinkedHashMap<>();
+        double totalEfficiency = 0;
+        int fuelVehicleCount = 0;
+        double totalMileage = 0;
+        int needMaintenance = 0;
+        for (FleetSummary summary : summaries) {
+            totalVehicles += summary.totalVehicles;
+            for (Map.Entry<String, Integer> entry : summary.typeCounts.entrySet()) {
+                typeCounts.merge(entry.getKey(), entry.getValue(), Integer::sum);
+            }
+            totalEfficiency += summary.totalEfficiency;
+            fuelVehicleCount += summary.fuelVehicleCount;
+            totalMileage += summary.totalMileage;
+            needMaintenance += summary.needMaintenance;
+        }
+        return new FleetSummary(totalVehicles, typeCounts, totalEfficiency, fuelVehicleCount,
+                totalMileage, needMaintenance);
+    }
+
+    public int getTotalVehicles() { return totalVehicles; }
+    public Map<String, Integer> getTypeCounts() { return typeCounts; }
+    public double getTotalEfficiency() { return totalEfficiency; }
+    public int getFuelVehicleCount() { return fuelVehicleCount; }
+    public double getTotalMileage() { return totalMileage; }
+    public int getNeedMaintenance() { return needMaintenance; }
+
+    public double getAverageEfficiency() {
+        return fuelVehicleCount > 0 ? totalEfficiency / fuelVehicleCount : 0;
+    }
+
+    public String toReport() {
+        StringBuilder report = new StringBuilder();
+        report.append("   FLEET MANAGEMENT REPORT   \n");
+        report.append("Total Vehicles: ").append(totalVehicles).append("\n");
+
+        report.append("\nVehicle Count by Type:\n");
+        for (Map.Entry<String, Integer> entry : typeCounts.entrySet()) {
+            report.append("  ").append(entry.getKey()).append(": ").append(entry.getValue()).append("\n");
+        }
+
+        report.append("Average Fuel Efficiency: ").append(String.format("%.2f", getAverageEfficiency())).append(" km/l\n");
+        report.append("Total Mileage: ").append(String.format("%.2f", totalMileage)).append(" km\n");
+        report.append("Vehicles Needing Maintenance: ").append(needMaintenance).append("/").append(totalVehicles).append("\n");
+
+        return report.toString();
+    }
+}
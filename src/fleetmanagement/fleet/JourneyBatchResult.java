@@ -0,0 +1,73 @@
+package fleetmanagement.fleet;
+
+import fleetmanagement.interfaces.OperationStatus;
+import fleetmanagement.vehicles.Vehicle;
+
+import java.util.Arrays;
+
+// Outcome of FleetManager.dispatchJourneys: one status, fuel figure and mileage per batch entry, in
+// parallel arrays. A result can be passed back in for the next batch so a dispatch tick reuses its arrays.
+public class JourneyBatchResult {
+    private OperationStatus[] statuses;
+    private double[] fuelConsumed;
+    private double[] newMileage;
+    private Vehicle[] vehicles;
+    private int size;
+
+    public JourneyBatchResult() {
+        this(0);
+    }
+
+    public JourneyBatchResult(int capacity) {
+        statuses = new OperationStatus[capacity];
+        fuelConsumed = new double[capacity];
+        newMileage = new double[capacity];
+        vehicles = new Vehicle[capacity];
+    }
+
+    void reset(int size) {
+        if (statuses.length < size) {
+            statuses = new OperationStatus[size];
+            fuelConsumed = new double[size];
+            newMileage = new double[size];
+            vehicles = new Vehicle[size];
+        } else if (size < this.size) {
+            // Drop references left over from a longer previous batch
+            Arrays.fill(vehicles, size, this.size, null);
+        }
+        this.size = size;
+    }
+
+    Vehicle[] vehicles() { return vehicles; }
+
+    void record(int index, OperationStatus status, double fuel, double mileage) {
+        statuses[index] = status;
+        fuelConsumed[index] = fuel;
+        newMileage[index] = mileage;
+    }
+
+    public int size() { return size; }
+    public OperationStatus getStatus(int index) { return statuses[index]; }
+    // Zero unless the journey succeeded
+    public double getFuelConsumed(int index) { return fuelConsumed[index]; }
+    // Mileage after the entry was processed; NaN for an unknown vehicle ID
+    public double getNewMileage(int index) { return newMileage[index]; }
+
+    public int count(OperationStatus status) {
+        int count = 0;
+        for (int i = 0; i < size; i++) {
+            if (statuses[i] == status) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    public double getTotalFuelConsumed() {
+        double total = 0;
+        for (int i = 0; i < size; i++) {
+            total += fuelConsumed[i];
+        }
+        return total;
+    }
+}
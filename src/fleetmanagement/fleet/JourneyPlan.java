@@ -0,0 +1,94 @@
+package fleetmanagement.fleet;
+
+import fleetmanagement.vehicles.Vehicle;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+// Outcome of FleetManager.planJourneys: for every vehicle in the fleet and every candidate distance,
+// the fuel the journey would take, whether the vehicle has that much, and the estimated journey
+// time. Matrices are flattened row-major, one row of distances per vehicle, so cell (v, d) is at
+// v * distanceCount() + d. A plan can be passed back in so repeated planning reuses its arrays.
+public class JourneyPlan {
+    private Vehicle[] vehicles = new Vehicle[0];
+    private double[] distances = new double[0];
+    private double[] fuelNeeded = new double[0];
+    private boolean[] feasible = new boolean[0];
+    private double[] journeyHours = new double[0];
+    private double[] totalFuel = new double[0];
+    private int[] feasibleCounts = new int[0];
+    private int vehicleCount;
+    private int distanceCount;
+
+    void reset(int vehicleCount, double[] distances) {
+        long cells = (long) vehicleCount * distances.length;
+        if (cells > Integer.MAX_VALUE - 8) {
+            throw new IllegalArgumentException("Plan of " + vehicleCount + " vehicles by " +
+                    distances.length + " distances is too large");
+        }
+        if (vehicles.length < vehicleCount) {
+            vehicles = new Vehicle[vehicleCount];
+        } else if (vehicleCount < this.vehicleCount) {
+            // Drop references left over from a larger previous plan
+            Arrays.fill(vehicles, vehicleCount, this.vehicleCount, null);
+        }
+        if (fuelNeeded.length < cells) {
+            fuelNeeded = new double[(int) cells];
+            feasible = new boolean[(int) cells];
+            journeyHours = new double[(int) cells];
+        }
+        if (totalFuel.length < distances.length) {
+            totalFuel = new double[distances.length];
+            feasibleCounts = new int[distances.length];
+        } else {
+            Arrays.fill(totalFuel, 0, distances.length, 0);
+            Arrays.fill(feasibleCounts, 0, distances.length, 0);
+        }
+        this.distances = distances.clone();
+        this.vehicleCount = vehicleCount;
+        this.distanceCount = distances.length;
+    }
+
+    Vehicle[] vehicles() { return vehicles; }
+    double[] distances() { return distances; }
+    double[] fuelNeeded() { return fuelNeeded; }
+    boolean[] feasible() { return feasible; }
+    double[] journeyHours() { return journeyHours; }
+    double[] totalFuel() { return totalFuel; }
+    int[] feasibleCounts() { return feasibleCounts; }
+
+    public int vehicleCount() { return vehicleCount; }
+    public int distanceCount() { return distanceCount; }
+    public Vehicle getVehicle(int vehicle) { return vehicles[Objects.checkIndex(vehicle, vehicleCount)]; }
+    public double getDistance(int distance) { return distances[Objects.checkIndex(distance, distanceCount)]; }
+
+    // Litres; zero for sail-powered ships
+    public double getFuelNeeded(int vehicle, int distance) {
+        return fuelNeeded[cell(vehicle, distance)];
+    }
+
+    // Whether the vehicle's fuel covers the journey, as tryMove would decide it
+    public boolean isFeasible(int vehicle, int distance) {
+        return feasible[cell(vehicle, distance)];
+    }
+
+    // Hours, as Vehicle.estimateJourneyTime gives it
+    public double getJourneyTime(int vehicle, int distance) {
+        return journeyHours[cell(vehicle, distance)];
+    }
+
+    // Fuel the whole fleet would use for the distance, counting only vehicles that could make it,
+    // as getTotalFuelConsumption does
+    public double getTotalFuel(int distance) {
+        return totalFuel[Objects.checkIndex(distance, distanceCount)];
+    }
+
+    public int getFeasibleCount(int distance) {
+        return feasibleCounts[Objects.checkIndex(distance, distanceCount)];
+    }
+
+    // The arrays are reused and may be longer than this plan, so indexes are checked against its counts
+    private int cell(int vehicle, int distance) {
+        return Objects.checkIndex(vehicle, vehicleCount) * distanceCount + Objects.checkIndex(distance, distanceCount);
+    }
+}
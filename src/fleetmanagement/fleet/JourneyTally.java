@@ -0,0 +1,28 @@
+package fleetmanagement.fleet;
+
+import fleetmanagement.interfaces.OperationStatus;
+import fleetmanagement.vehicles.Vehicle;
+
+// Journey outcomes counted by one thread during one operation and added to the shared counters
+// once at the end, so each move costs a plain array increment instead of an atomic one
+class JourneyTally {
+    private static final int STATUSES = OperationStatus.values().length;
+
+    private final long[] counts = new long[(FleetColumns.CARGO_SHIP + 1) * STATUSES];
+
+    void record(Vehicle vehicle, OperationStatus status) {
+        record(FleetColumns.typeTag(vehicle), status);
+    }
+
+    void record(int typeTag, OperationStatus status) {
+        counts[typeTag * STATUSES + status.ordinal()]++;
+    }
+
+    void addTo(FleetMetrics metrics) {
+        for (int i = 0; i < counts.length; i++) {
+            if (counts[i] != 0) {
+                metrics.journeys(i / STATUSES, i % STATUSES).add(counts[i]);
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package fleetmanagement.fleet;
+
+import fleetmanagement.interfaces.CargoCarrier;
+import fleetmanagement.interfaces.FuelConsumable;
+import fleetmanagement.interfaces.Maintainable;
+import fleetmanagement.interfaces.PassengerCarrier;
+import fleetmanagement.vehicles.CargoShip;
+import fleetmanagement.vehicles.Vehicle;
+
+// Vehicle quantities FleetManager keeps range indexes over
+public enum NumericAttribute {
+    FUEL_LEVEL,     // litres; fuel-burning vehicles only, so sail-powered ships are left out
+    MILEAGE,        // km; every vehicle
+    FREE_SEATS,     // passenger capacity minus passengers on board; passenger carriers only
+    FREE_CARGO,     // kg of cargo capacity not in use; cargo carriers only
+    // Maintainable vehicles only, and 0 once maintenance is due:
+    MAINTENANCE_KM,         // km left before Maintainable.MAINTENANCE_MILEAGE
+    MAINTENANCE_JOURNEYS;   // those km in journeys of the vehicle's average length, infinite before its first journey
+
+    boolean appliesTo(Vehicle vehicle) {
+        switch (this) {
+            case FUEL_LEVEL:
+                return vehicle instanceof FuelConsumable
+                        && !(vehicle instanceof CargoShip && ((CargoShip) vehicle).hasSail());
+            case MILEAGE:
+                return true;
+            case FREE_SEATS:
+                return vehicle instanceof PassengerCarrier;
+            case FREE_CARGO:
+                return vehicle instanceof CargoCarrier;
+            default:
+                return vehicle instanceof Maintainable;
+        }
+    }
+
+    double valueAt(FleetColumns columns, int row) {
+        switch (this) {
+            case FUEL_LEVEL:
+                return columns.fuelLevels()[row];
+            case MILEAGE:
+                return columns.mileages()[row];
+            case FREE_SEATS:
+                return columns.passengerCapacities()[row] - columns.passengers()[row];
+            case FREE_CARGO:
+                return columns.cargoCapacities()[row] - columns.cargo()[row];
+            case MAINTENANCE_KM:
+                return kmToMaintenance(columns, row);
+            default:
+                double km = kmToMaintenance(columns, row);
+                double journeyLength = columns.journeyLengths()[row];
+                if (km == 0) {
+                    return 0;
+                }
+                return journeyLength > 0 ? km / journeyLength : Double.POSITIVE_INFINITY;
+        }
+    }
+
+    private static double kmToMaintenance(FleetColumns columns, int row) {
+        if (columns.maintenanceDue()[row]) {
+            return 0;
+        }
+        return Math.max(0, Maintainable.MAINTENANCE_MILEAGE - columns.mileages()[row]);
+    }
+}
@@ -0,0 +1,150 @@
+package fleetmanagement.fleet;
+
+import fleetmanagement.vehicles.Vehicle;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+// Vehicles in sorted buckets by one NumericAttribute. A bucket spans about 6% of a magnitude, so a
+// move rarely changes a vehicle's bucket and the update on the journey path is one comparison.
+class NumericIndex {
+    private static final int MANTISSA_BITS = 4;
+    private static final int BUCKET_SHIFT = 52 - MANTISSA_BITS;
+    private static final int SCAN_DIVISOR = 16;
+
+    private final NumericAttribute attribute;
+    private final int bit;
+    private final FleetColumns columns;
+    private final ConcurrentSkipListMap<Long, Bucket> buckets = new ConcurrentSkipListMap<>();
+
+    NumericIndex(NumericAttribute attribute, FleetColumns columns) {
+        this.attribute = attribute;
+        this.bit = 1 << attribute.ordinal();
+        this.columns = columns;
+    }
+
+    // Expects the vehicle's row to be in the columns already
+    void add(FleetEntry entry) {
+        if (attribute.appliesTo(entry.vehicle)) {
+            file(entry, null, bucketOf(attribute.valueAt(columns, entry.row)));
+        }
+    }
+
+    void update(FleetEntry entry) {
+        Bucket current = entry.numericBuckets[attribute.ordinal()];
+        if (current == null) {
+            return;
+        }
+        long key = bucketOf(attribute.valueAt(columns, entry.row));
+        if (current.key != key) {
+            file(entry, current, key);
+        }
+    }
+
+    void remove(FleetEntry entry) {
+        Bucket current = entry.numericBuckets[attribute.ordinal()];
+        if (current != null) {
+            current.members.remove(entry);
+            entry.numericBuckets[attribute.ordinal()] = null;
+            entry.numericMask &= ~bit;
+        }
+    }
+
+    void clear() {
+        buckets.clear();
+    }
+
+    // In fleet order, or by value with ties in fleet order; wide ranges scan the column instead
+    List<Vehicle> range(double from, boolean fromInclusive, double to, boolean toInclusive, boolean byValue) {
+        if (Double.isNaN(from) || Double.isNaN(to) || from > to) {
+            return new ArrayList<>();
+        }
+        Collection<Bucket> overlapping = buckets.subMap(bucketOf(from), true, bucketOf(to), true).values();
+        long candidates = 0;
+        for (Bucket bucket : overlapping) {
+            candidates += bucket.members.size();
+        }
+        int[] rows;
+        int count = 0;
+        if (candidates * SCAN_DIVISOR > columns.liveCount()) {
+            rows = new int[columns.size()];
+            for (int row = 0; row < columns.size(); row++) {
+                if (inRange(attribute.valueAt(columns, row), from, fromInclusive, to, toInclusive)) {
+                    FleetEntry entry = columns.entryAt(row);
+                    if (entry != null && (entry.numericMask & bit) != 0) {
+                        rows[count++] = row;
+                    }
+                }
+            }
+        } else {
+            rows = new int[(int) candidates];
+            for (Bucket bucket : overlapping) {
+                for (FleetEntry entry : bucket.members) {
+                    if (inRange(attribute.valueAt(columns, entry.row), from, fromInclusive, to, toInclusive)) {
+                        // Listeners may have filed more vehicles since the count
+                        if (count == rows.length) {
+                            rows = Arrays.copyOf(rows, Math.max(16, count * 2));
+                        }
+                        rows[count++] = entry.row;
+                    }
+                }
+            }
+            Arrays.sort(rows, 0, count);
+        }
+        if (byValue) {
+            sortByValue(rows, count);
+        }
+        return columns.vehiclesAt(rows, count);
+    }
+
+    // Reads each value once, so a vehicle changing meanwhile cannot upset the sort
+    private void sortByValue(int[] rows, int count) {
+        double[] values = new double[count];
+        Integer[] order = new Integer[count];
+        for (int i = 0; i < count; i++) {
+            values[i] = attribute.valueAt(columns, rows[i]);
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+        int[] sorted = new int[count];
+        for (int i = 0; i < count; i++) {
+            sorted[i] = rows[order[i]];
+        }
+        System.arraycopy(sorted, 0, rows, 0, count);
+    }
+
+    private static boolean inRange(double value, double from, boolean fromInclusive, double to, boolean toInclusive) {
+        return (fromInclusive ? value >= from : value > from) && (toInclusive ? value <= to : value < to);
+    }
+
+    private void file(FleetEntry entry, Bucket current, long key) {
+        if (current != null) {
+            current.members.remove(entry);
+        }
+        Bucket bucket = buckets.computeIfAbsent(key, Bucket::new);
+        bucket.members.add(entry);
+        entry.numericBuckets[attribute.ordinal()] = bucket;
+        entry.numericMask |= bit;
+    }
+
+    // Order-preserving. Values under 1 share a bucket, or a draining tank would change bucket every move
+    private static long bucketOf(double value) {
+        long bits = Double.doubleToLongBits(Math.abs(value) < 1.0 ? 0.0 : value);
+        bits ^= (bits >> 63) & Long.MAX_VALUE;
+        return bits >> BUCKET_SHIFT;
+    }
+
+    static final class Bucket {
+        final long key;
+        final Set<FleetEntry> members = ConcurrentHashMap.newKeySet();
+
+        Bucket(long key) {
+            this.key = key;
+        }
+    }
+}
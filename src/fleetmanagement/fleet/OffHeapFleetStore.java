@@ -0,0 +1,759 @@
+package fleetmanagement.fleet;
+
+import fleetmanagement.events.FleetEventSink;
+import fleetmanagement.events.FleetEvents;
+import fleetmanagement.exceptions.InvalidOperationException;
+import fleetmanagement.interfaces.CargoCarrier;
+import fleetmanagement.interfaces.FuelConsumable;
+import fleetmanagement.interfaces.Maintainable;
+import fleetmanagement.interfaces.OperationStatus;
+import fleetmanagement.interfaces.PassengerCarrier;
+import fleetmanagement.metrics.MetricsRegistry;
+import fleetmanagement.vehicles.AirVehicle;
+import fleetmanagement.vehicles.LandVehicle;
+import fleetmanagement.vehicles.Vehicle;
+import fleetmanagement.vehicles.WaterVehicle;
+
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// A fleet kept off the Java heap, for fleets large enough that millions of Vehicle objects, their
+// ID and model strings and the FleetManager structures around them make garbage collection slow.
+// Each vehicle type has its own growable buffer of fixed-width records (see OffHeapLayout), IDs
+// are found through an open-addressing hash table that is off-heap too, and model names are stored
+// once each in a small dictionary. The collector sees a few dozen objects whatever the fleet size.
+// The bulk operations of FleetManager run directly over the records, type by type, so results and
+// getFleet-style iteration are grouped by type rather than in insertion order. They record the same
+// metrics, but report only events that carry no Vehicle: fuel shortfalls, saves and save failures.
+// Individual vehicles are reached through OffHeapVehicleView flyweights. Changes take the store's
+// write lock and queries its read lock. Uses the Foreign Function & Memory API, a preview in
+// JDK 21, so this class and the view need --enable-preview; the rest of the fleet code does not.
+public class OffHeapFleetStore implements AutoCloseable {
+    private static final int INITIAL_ROWS = 1024;
+    private static final int MIN_INDEX_SLOTS = 1024;
+    // An index entry is the ID hash in the high 32 bits and the type tag and row in the low 32;
+    // type tags start at 1, so no entry is 0 and 0 marks an empty slot
+    private static final int ROW_BITS = 28;
+    private static final int MAX_ROWS = 1 << ROW_BITS;
+    private static final long EMPTY = 0;
+    private static final int STATUSES = OperationStatus.values().length;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final FleetMetrics metrics;
+
+    // By type tag; every buffer has an arena of its own so the old one can be freed when it grows
+    private final Arena[] arenas = new Arena[FleetColumns.CARGO_SHIP + 1];
+    private final MemorySegment[] records = new MemorySegment[FleetColumns.CARGO_SHIP + 1];
+    private final int[] counts = new int[FleetColumns.CARGO_SHIP + 1];
+    private final int[] capacities = new int[FleetColumns.CARGO_SHIP + 1];
+
+    private Arena indexArena;
+    private MemorySegment index;
+    private long indexMask;
+    private int indexShift;
+
+    private final List<String> models = new ArrayList<>();
+    private final Map<String, Integer> modelIds = new HashMap<>();
+    private int size;
+    // Bumped by every removal, which can move a record, so views bound before it can tell they are stale
+    private volatile int modifications;
+
+    public OffHeapFleetStore() {
+        this(0, new MetricsRegistry());
+    }
+
+    // Sizing the ID index for the expected fleet avoids rehashing it while the fleet is loaded
+    public OffHeapFleetStore(int expectedVehicles, MetricsRegistry registry) {
+        this.metrics = new FleetMetrics(registry);
+        long slots = Long.highestOneBit(Math.max(MIN_INDEX_SLOTS, (long) expectedVehicles * 2 - 1)) * 2;
+        allocateIndex(slots);
+    }
+
+    public MetricsRegistry getMetrics() {
+        return metrics.registry;
+    }
+
+    public int getFleetSize() {
+        lock.readLock().lock();
+        try {
+            return size;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Native memory held for records and the ID index, including room reserved for growth
+    public long getOffHeapBytes() {
+        lock.readLock().lock();
+        try {
+            long bytes = index.byteSize();
+            for (MemorySegment segment : records) {
+                if (segment != null) {
+                    bytes += segment.byteSize();
+                }
+            }
+            return bytes;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public void addVehicle(Vehicle vehicle) throws InvalidOperationException {
+        long start = System.nanoTime();
+        boolean added = false;
+        lock.writeLock().lock();
+        try {
+            insert(vehicle);
+            added = true;
+        } finally {
+            lock.writeLock().unlock();
+            metrics.addVehicle.record(start, added);
+        }
+    }
+
+    // All or nothing: if one vehicle is rejected, those added before it are removed again
+    public void addAll(Collection<? extends Vehicle> vehicles) throws InvalidOperationException {
+        long start = System.nanoTime();
+        boolean added = false;
+        lock.writeLock().lock();
+        try {
+            List<String> inserted = new ArrayList<>(vehicles.size());
+            try {
+                for (Vehicle vehicle : vehicles) {
+                    insert(vehicle);
+                    inserted.add(vehicle.getId());
+                }
+            } catch (InvalidOperationException | RuntimeException e) {
+                for (String id : inserted) {
+                    delete(id);
+                }
+                throw e;
+            }
+            added = true;
+        } finally {
+            lock.writeLock().unlock();
+            metrics.addAll.record(start, added);
+        }
+    }
+
+    public void removeVehicle(String id) throws InvalidOperationException {
+        long start = System.nanoTime();
+        boolean removed = false;
+        lock.writeLock().lock();
+        try {
+            removed = delete(id);
+            if (!removed) {
+                throw new InvalidOperationException("Vehicle with ID " + id + " not found");
+            }
+        } finally {
+            lock.writeLock().unlock();
+            metrics.removeVehicle.record(start, removed);
+        }
+    }
+
+    // A new view bound to the vehicle, or null for an unknown ID
+    public OffHeapVehicleView view(String id) {
+        OffHeapVehicleView view = newView();
+        return view(id, view) ? view : null;
+    }
+
+    // Rebinds the view to the vehicle; false, leaving the view as it was, for an unknown ID
+    public boolean view(String id, OffHeapVehicleView view) {
+        lock.readLock().lock();
+        try {
+            long entry = entry(id);
+            if (entry == EMPTY) {
+                return false;
+            }
+            view.bind(typeTag(entry), row(entry));
+            return true;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // An unbound view, for forEach-style code that rebinds one view many times
+    public OffHeapVehicleView newView() {
+        try {
+            return new OffHeapVehicleView(this);
+        } catch (InvalidOperationException e) {
+            // The view passes Vehicle a fixed placeholder ID, which is never empty
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // Calls the action with one view rebound to each vehicle in turn, type by type. Runs under the
+    // write lock, so the action may move or refuel through the view but not add or remove vehicles.
+    public void forEach(Consumer<? super OffHeapVehicleView> action) {
+        OffHeapVehicleView view = newView();
+        lock.writeLock().lock();
+        try {
+            for (int tag = FleetColumns.CAR; tag <= FleetColumns.CARGO_SHIP; tag++) {
+                for (int row = 0; row < counts[tag]; row++) {
+                    view.bind(tag, row);
+                    action.accept(view);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Heap copies of every vehicle, e.g. to hand the fleet to a FleetManager
+    public List<Vehicle> getFleet() {
+        List<Vehicle> fleet = new ArrayList<>();
+        OffHeapVehicleView view = newView();
+        lock.readLock().lock();
+        try {
+            for (int tag = FleetColumns.CAR; tag <= FleetColumns.CARGO_SHIP; tag++) {
+                for (int row = 0; row < counts[tag]; row++) {
+                    view.bind(tag, row);
+                    fleet.add(view.toVehicle());
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return fleet;
+    }
+
+    // Returns how many vehicles moved
+    public int startAllJourneys(double distance) {
+        long start = System.nanoTime();
+        JourneyTally tally = new JourneyTally();
+        int moved = 0;
+        lock.writeLock().lock();
+        try {
+            for (int tag = FleetColumns.CAR; tag <= FleetColumns.CARGO_SHIP; tag++) {
+                OffHeapLayout layout = OffHeapLayout.of(tag);
+                MemorySegment segment = records[tag];
+                for (int row = 0; row < counts[tag]; row++) {
+                    OperationStatus status = move(layout, segment, (long) row * layout.size, distance);
+                    tally.record(tag, status);
+                    if (status == OperationStatus.SUCCESS) {
+                        moved++;
+                    }
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        tally.addTo(metrics);
+        metrics.startAllJourneys.record(start, true);
+        return moved;
+    }
+
+    // Same figure as FleetManager.getTotalFuelConsumption, with shortfalls reported type by type
+    public double getTotalFuelConsumption(double distance) {
+        long start = System.nanoTime();
+        FleetEventSink events = FleetEvents.sink();
+        double totalFuel = 0;
+        lock.readLock().lock();
+        try {
+            for (int tag = FleetColumns.CAR; tag <= FleetColumns.CARGO_SHIP; tag++) {
+                OffHeapLayout layout = OffHeapLayout.of(tag);
+                MemorySegment segment = records[tag];
+                for (int row = 0; row < counts[tag]; row++) {
+                    long base = (long) row * layout.size;
+                    double fuelNeeded = distance / layout.efficiency(segment, base);
+                    double fuelLevel = segment.get(ValueLayout.JAVA_DOUBLE, base + layout.fuel);
+                    if (fuelNeeded > fuelLevel) {
+                        events.fuelShortfall(id(layout, segment, base), fuelNeeded, fuelLevel);
+                    } else {
+                        totalFuel += fuelNeeded;
+                    }
+                }
+            }
+            return totalFuel;
+        } finally {
+            lock.readLock().unlock();
+            metrics.getTotalFuelConsumption.record(start, true);
+        }
+    }
+
+    // Refuels every vehicle that takes fuel and returns how many; sail-powered ships are skipped
+    // rather than failing the whole call
+    public int refuelAll(double amount) throws InvalidOperationException {
+        long start = System.nanoTime();
+        if (amount <= 0) {
+            metrics.refuelAll.record(start, false);
+            throw new InvalidOperationException("Refuel amount must be positive");
+        }
+        int refueled = 0;
+        lock.writeLock().lock();
+        try {
+            for (int tag = FleetColumns.CAR; tag <= FleetColumns.CARGO_SHIP; tag++) {
+                OffHeapLayout layout = OffHeapLayout.of(tag);
+                MemorySegment segment = records[tag];
+                int typeRefueled = 0;
+                for (int row = 0; row < counts[tag]; row++) {
+                    if (refuel(layout, segment, (long) row * layout.size, amount) == OperationStatus.SUCCESS) {
+                        typeRefueled++;
+                    }
+                }
+                metrics.refuels(tag, OperationStatus.SUCCESS.ordinal()).add(typeRefueled);
+                metrics.refuels(tag, OperationStatus.NOT_SUPPORTED.ordinal()).add(counts[tag] - typeRefueled);
+                refueled += typeRefueled;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        metrics.refuelAll.record(start, true);
+        return refueled;
+    }
+
+    // Performs maintenance on every vehicle that needs it and returns how many
+    public int maintainAll() {
+        long start = System.nanoTime();
+        int maintained = 0;
+        lock.writeLock().lock();
+        try {
+            for (int tag = FleetColumns.CAR; tag <= FleetColumns.CARGO_SHIP; tag++) {
+                OffHeapLayout layout = OffHeapLayout.of(tag);
+                MemorySegment segment = records[tag];
+                int typeMaintained = 0;
+                for (int row = 0; row < counts[tag]; row++) {
+                    long base = (long) row * layout.size;
+                    if (needsMaintenance(layout, segment, base)) {
+                        segment.set(ValueLayout.JAVA_BYTE, base + layout.maintenance, (byte) 0);
+                        typeMaintained++;
+                    }
+                }
+                metrics.maintained(tag).add(typeMaintained);
+                maintained += typeMaintained;
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+        metrics.maintainAll.record(start, true);
+        return maintained;
+    }
+
+    public int countNeedingMaintenance() {
+        lock.readLock().lock();
+        try {
+            int count = 0;
+            for (int tag = FleetColumns.CAR; tag <= FleetColumns.CARGO_SHIP; tag++) {
+                OffHeapLayout layout = OffHeapLayout.of(tag);
+                MemorySegment segment = records[tag];
+                for (int row = 0; row < counts[tag]; row++) {
+                    if (needsMaintenance(layout, segment, (long) row * layout.size)) {
+                        count++;
+                    }
+                }
+            }
+            return count;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public FleetSummary getSummary() {
+        lock.readLock().lock();
+        try {
+            Map<String, Integer> typeCounts = new HashMap<>();
+            double totalEfficiency = 0;
+            double totalMileage = 0;
+            int needMaintenance = 0;
+            for (int tag = FleetColumns.CAR; tag <= FleetColumns.CARGO_SHIP; tag++) {
+                if (counts[tag] == 0) {
+                    continue;
+                }
+                OffHeapLayout layout = OffHeapLayout.of(tag);
+                MemorySegment segment = records[tag];
+                typeCounts.put(layout.typeName, counts[tag]);
+                for (int row = 0; row < counts[tag]; row++) {
+                    long base = (long) row * layout.size;
+                    totalEfficiency += layout.efficiency(segment, base);
+                    totalMileage += segment.get(ValueLayout.JAVA_DOUBLE, base + layout.mileage);
+                    if (needsMaintenance(layout, segment, base)) {
+                        needMaintenance++;
+                    }
+                }
+            }
+            // Every vehicle type burns fuel, so all of them count towards the average efficiency
+            return new FleetSummary(size, typeCounts, totalEfficiency, size, totalMileage, needMaintenance);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public String generateReport() {
+        long start = System.nanoTime();
+        String report = getSummary().toReport();
+        metrics.generateReport.record(start, true);
+        return report;
+    }
+
+    // CSV in the format FleetManager reads, type by type
+    public void saveToFile(String filename) {
+        long start = System.nanoTime();
+        OffHeapVehicleView view = newView();
+        lock.readLock().lock();
+        try (PrintWriter writer = new PrintWriter(new FileWriter(filename))) {
+            for (int tag = FleetColumns.CAR; tag <= FleetColumns.CARGO_SHIP; tag++) {
+                for (int row = 0; row < counts[tag]; row++) {
+                    view.bind(tag, row);
+                    writer.println(view.toCSVString());
+                }
+            }
+            FleetEvents.sink().fleetSaved(filename, size);
+            metrics.saveToFile.record(start, true);
+        } catch (IOException e) {
+            FleetEvents.sink().saveFailed(filename, e);
+            metrics.saveToFile.record(start, false);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Frees all native memory; the store and its views are unusable afterwards
+    @Override
+    public void close() {
+        lock.writeLock().lock();
+        try {
+            for (int tag = FleetColumns.CAR; tag <= FleetColumns.CARGO_SHIP; tag++) {
+                if (arenas[tag] != null) {
+                    arenas[tag].close();
+                    arenas[tag] = null;
+                    records[tag] = null;
+                    counts[tag] = 0;
+                    capacities[tag] = 0;
+                }
+            }
+            indexArena.close();
+            size = 0;
+            modifications++;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Record access for views; the segment changes when a type's buffer grows
+    MemorySegment records(int typeTag) {
+        return records[typeTag];
+    }
+
+    int modifications() {
+        return modifications;
+    }
+
+    String model(int modelId) {
+        return models.get(modelId);
+    }
+
+    OperationStatus move(OffHeapVehicleView view, double distance) {
+        lock.writeLock().lock();
+        try {
+            return move(view.layout(), records[view.typeTag()], view.base(), distance);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    OperationStatus refuel(OffHeapVehicleView view, double amount) {
+        lock.writeLock().lock();
+        try {
+            return refuel(view.layout(), records[view.typeTag()], view.base(), amount);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Mirrors tryMove of the vehicle classes; a sail ship's infinite efficiency makes its fuel
+    // needed zero, so it always moves
+    private static OperationStatus move(OffHeapLayout layout, MemorySegment segment, long base, double distance) {
+        if (distance < 0) return OperationStatus.INVALID_AMOUNT;
+        double fuelNeeded = distance / layout.efficiency(segment, base);
+        double fuelLevel = segment.get(ValueLayout.JAVA_DOUBLE, base + layout.fuel);
+        if (fuelNeeded > fuelLevel) return OperationStatus.INSUFFICIENT_FUEL;
+        segment.set(ValueLayout.JAVA_DOUBLE, base + layout.fuel, fuelLevel - fuelNeeded);
+        if (distance > 0) {
+            double mileage = segment.get(ValueLayout.JAVA_DOUBLE, base + layout.mileage);
+            segment.set(ValueLayout.JAVA_DOUBLE, base + layout.mileage, mileage + distance);
+        }
+        return OperationStatus.SUCCESS;
+    }
+
+    private static OperationStatus refuel(OffHeapLayout layout, MemorySegment segment, long base, double amount) {
+        if (layout.hasSail(segment, base)) return OperationStatus.NOT_SUPPORTED;
+        if (amount <= 0) return OperationStatus.INVALID_AMOUNT;
+        double fuelLevel = segment.get(ValueLayout.JAVA_DOUBLE, base + layout.fuel);
+        segment.set(ValueLayout.JAVA_DOUBLE, base + layout.fuel, fuelLevel + amount);
+        return OperationStatus.SUCCESS;
+    }
+
+    static boolean needsMaintenance(OffHeapLayout layout, MemorySegment segment, long base) {
+        return segment.get(ValueLayout.JAVA_BYTE, base + layout.maintenance) != 0 ||
+                segment.get(ValueLayout.JAVA_DOUBLE, base + layout.mileage) > Maintainable.MAINTENANCE_MILEAGE;
+    }
+
+    static String id(OffHeapLayout layout, MemorySegment segment, long base) {
+        int length = segment.get(ValueLayout.JAVA_BYTE, base + layout.id);
+        byte[] bytes = new byte[length];
+        MemorySegment.copy(segment, ValueLayout.JAVA_BYTE, base + layout.id + 1, bytes, 0, length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private void insert(Vehicle vehicle) throws InvalidOperationException {
+        int tag;
+        try {
+            tag = FleetColumns.typeTag(vehicle);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidOperationException(e.getMessage());
+        }
+        byte[] id = vehicle.getId().getBytes(StandardCharsets.UTF_8);
+        if (id.length > OffHeapLayout.MAX_ID_LENGTH) {
+            throw new InvalidOperationException("Vehicle ID " + vehicle.getId() + " is longer than " +
+                    OffHeapLayout.MAX_ID_LENGTH + " bytes");
+        }
+        int hash = hash(id);
+        if (find(id, hash) >= 0) {
+            throw new InvalidOperationException("Vehicle with ID " + vehicle.getId() + " already exists");
+        }
+        if (counts[tag] == capacities[tag]) {
+            grow(tag);
+        }
+        if ((long) (size + 1) * 2 > index.byteSize() / Long.BYTES) {
+            allocateIndex(index.byteSize() / Long.BYTES * 2);
+        }
+        OffHeapLayout layout = OffHeapLayout.of(tag);
+        int row = counts[tag]++;
+        write(layout, records[tag], (long) row * layout.size, vehicle, id);
+        put(hash, tag, row);
+        size++;
+        metrics.added(tag);
+    }
+
+    private boolean delete(String id) {
+        byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+        long slot = find(bytes, hash(bytes));
+        if (slot < 0) {
+            return false;
+        }
+        long entry = index.getAtIndex(ValueLayout.JAVA_LONG, slot);
+        int tag = typeTag(entry);
+        int row = row(entry);
+        clearSlot(slot);
+        modifications++;
+
+        // The type's last record moves into the hole, and its index entry follows it
+        OffHeapLayout layout = OffHeapLayout.of(tag);
+        MemorySegment segment = records[tag];
+        int last = --counts[tag];
+        if (row != last) {
+            MemorySegment.copy(segment, (long) last * layout.size, segment, (long) row * layout.size, layout.size);
+            int movedHash = hash(layout, segment, (long) row * layout.size);
+            index.setAtIndex(ValueLayout.JAVA_LONG, slotOf(movedHash, tag, last), entry(movedHash, tag, row));
+        }
+        segment.asSlice((long) last * layout.size, layout.size).fill((byte) 0);
+        size--;
+        metrics.removed(tag);
+        return true;
+    }
+
+    private void write(OffHeapLayout layout, MemorySegment segment, long base, Vehicle vehicle, byte[] id) {
+        segment.set(ValueLayout.JAVA_BYTE, base + layout.id, (byte) id.length);
+        MemorySegment.copy(id, 0, segment, ValueLayout.JAVA_BYTE, base + layout.id + 1, id.length);
+        segment.set(ValueLayout.JAVA_DOUBLE, base + layout.maxSpeed, vehicle.getMaxSpeed());
+        segment.set(ValueLayout.JAVA_DOUBLE, base + layout.mileage, vehicle.getCurrentMileage());
+        segment.set(ValueLayout.JAVA_DOUBLE, base + layout.fuel, ((FuelConsumable) vehicle).getFuelLevel());
+        segment.set(ValueLayout.JAVA_INT, base + layout.model, modelId(vehicle.getModel()));
+        segment.set(ValueLayout.JAVA_BYTE, base + layout.maintenance,
+                (byte) (((Maintainable) vehicle).isMaintenanceScheduled() ? 1 : 0));
+        if (layout.wheels >= 0) {
+            segment.set(ValueLayout.JAVA_INT, base + layout.wheels, ((LandVehicle) vehicle).getNumWheels());
+        }
+        if (layout.passengers >= 0) {
+            segment.set(ValueLayout.JAVA_INT, base + layout.passengers, ((PassengerCarrier) vehicle).getCurrentPassengers());
+        }
+        if (layout.cargo >= 0) {
+            segment.set(ValueLayout.JAVA_DOUBLE, base + layout.cargo, ((CargoCarrier) vehicle).getCurrentCargo());
+        }
+        if (layout.altitude >= 0) {
+            segment.set(ValueLayout.JAVA_DOUBLE, base + layout.altitude, ((AirVehicle) vehicle).getMaxAltitude());
+        }
+        if (layout.sail >= 0) {
+            segment.set(ValueLayout.JAVA_BYTE, base + layout.sail, (byte) (((WaterVehicle) vehicle).hasSail() ? 1 : 0));
+        }
+    }
+
+    private int modelId(String model) {
+        Integer id = modelIds.get(model);
+        if (id == null) {
+            id = models.size();
+            models.add(model);
+            modelIds.put(model, id);
+        }
+        return id;
+    }
+
+    private void grow(int tag) throws InvalidOperationException {
+        if (capacities[tag] == MAX_ROWS) {
+            throw new InvalidOperationException("Off-heap store is full for " + OffHeapLayout.of(tag).typeName);
+        }
+        int capacity = capacities[tag] == 0 ? INITIAL_ROWS : Math.min(MAX_ROWS, capacities[tag] * 2);
+        OffHeapLayout layout = OffHeapLayout.of(tag);
+        Arena arena = Arena.ofShared();
+        MemorySegment segment = arena.allocate(capacity * layout.size, Long.BYTES);
+        if (records[tag] != null) {
+            MemorySegment.copy(records[tag], 0, segment, 0, counts[tag] * layout.size);
+            arenas[tag].close();
+        }
+        arenas[tag] = arena;
+        records[tag] = segment;
+        capacities[tag] = capacity;
+    }
+
+    // ID index: linear probing from a Fibonacci hash of the ID's UTF-8 bytes
+
+    private void allocateIndex(long slots) {
+        Arena arena = Arena.ofShared();
+        MemorySegment table = arena.allocate(slots * Long.BYTES, Long.BYTES);
+        table.fill((byte) 0);
+        MemorySegment old = index;
+        Arena oldArena = indexArena;
+        index = table;
+        indexArena = arena;
+        indexMask = slots - 1;
+        indexShift = 64 - Long.numberOfTrailingZeros(slots);
+        if (old != null) {
+            long oldSlots = old.byteSize() / Long.BYTES;
+            for (long slot = 0; slot < oldSlots; slot++) {
+                long entry = old.getAtIndex(ValueLayout.JAVA_LONG, slot);
+                if (entry != EMPTY) {
+                    long target = home((int) (entry >>> 32));
+                    while (index.getAtIndex(ValueLayout.JAVA_LONG, target) != EMPTY) {
+                        target = (target + 1) & indexMask;
+                    }
+                    index.setAtIndex(ValueLayout.JAVA_LONG, target, entry);
+                }
+            }
+            oldArena.close();
+        }
+    }
+
+    private long entry(String id) {
+        byte[] bytes = id.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > OffHeapLayout.MAX_ID_LENGTH) {
+            return EMPTY;
+        }
+        long slot = find(bytes, hash(bytes));
+        return slot < 0 ? EMPTY : index.getAtIndex(ValueLayout.JAVA_LONG, slot);
+    }
+
+    // Index slot holding the ID, or -1
+    private long find(byte[] id, int hash) {
+        long slot = home(hash);
+        while (true) {
+            long entry = index.getAtIndex(ValueLayout.JAVA_LONG, slot);
+            if (entry == EMPTY) {
+                return -1;
+            }
+            if ((int) (entry >>> 32) == hash && idEquals(entry, id)) {
+                return slot;
+            }
+            slot = (slot + 1) & indexMask;
+        }
+    }
+
+    // Index slot of the entry for this row, which must exist
+    private long slotOf(int hash, int tag, int row) {
+        long slot = home(hash);
+        long target = entry(hash, tag, row);
+        while (index.getAtIndex(ValueLayout.JAVA_LONG, slot) != target) {
+            slot = (slot + 1) & indexMask;
+        }
+        return slot;
+    }
+
+    private void put(int hash, int tag, int row) {
+        long slot = home(hash);
+        while (index.getAtIndex(ValueLayout.JAVA_LONG, slot) != EMPTY) {
+            slot = (slot + 1) & indexMask;
+        }
+        index.setAtIndex(ValueLayout.JAVA_LONG, slot, entry(hash, tag, row));
+    }
+
+    // Backward-shift deletion: later entries of the same probe run move up into the hole, so
+    // lookups never need tombstones
+    private void clearSlot(long slot) {
+        long hole = slot;
+        long next = slot;
+        while (true) {
+            next = (next + 1) & indexMask;
+            long entry = index.getAtIndex(ValueLayout.JAVA_LONG, next);
+            if (entry == EMPTY) {
+                break;
+            }
+            long home = home((int) (entry >>> 32));
+            boolean movable = hole <= next ? (home <= hole || home > next) : (home <= hole && home > next);
+            if (movable) {
+                index.setAtIndex(ValueLayout.JAVA_LONG, hole, entry);
+                hole = next;
+            }
+        }
+        index.setAtIndex(ValueLayout.JAVA_LONG, hole, EMPTY);
+    }
+
+    private boolean idEquals(long entry, byte[] id) {
+        OffHeapLayout layout = OffHeapLayout.of(typeTag(entry));
+        MemorySegment segment = records[typeTag(entry)];
+        long offset = (long) row(entry) * layout.size + layout.id;
+        if (segment.get(ValueLayout.JAVA_BYTE, offset) != id.length) {
+            return false;
+        }
+        for (int i = 0; i < id.length; i++) {
+            if (segment.get(ValueLayout.JAVA_BYTE, offset + 1 + i) != id[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private long home(int hash) {
+        return ((hash & 0xFFFFFFFFL) * 0x9E3779B97F4A7C15L) >>> indexShift;
+    }
+
+    private static long entry(int hash, int tag, int row) {
+        return ((long) hash << 32) | ((long) tag << ROW_BITS) | row;
+    }
+
+    private static int typeTag(long entry) {
+        return (int) (entry >>> ROW_BITS) & 0x7;
+    }
+
+    private static int row(long entry) {
+        return (int) entry & (MAX_ROWS - 1);
+    }
+
+    // FNV-1a over the UTF-8 bytes
+    private static int hash(byte[] id) {
+        int hash = 0x811C9DC5;
+        for (byte b : id) {
+            hash = (hash ^ (b & 0xFF)) * 0x01000193;
+        }
+        return hash;
+    }
+
+    private static int hash(OffHeapLayout layout, MemorySegment segment, long base) {
+        int length = segment.get(ValueLayout.JAVA_BYTE, base + layout.id);
+        int hash = 0x811C9DC5;
+        for (int i = 0; i < length; i++) {
+            hash = (hash ^ (segment.get(ValueLayout.JAVA_BYTE, base + layout.id + 1 + i) & 0xFF)) * 0x01000193;
+        }
+        return hash;
+    }
+}
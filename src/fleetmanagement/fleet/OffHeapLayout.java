@@ -0,0 +1,178 @@
+package fleetmanagement.fleet;
+
+import fleetmanagement.exceptions.InvalidOperationException;
+import fleetmanagement.vehicles.Airplane;
+import fleetmanagement.vehicles.Bus;
+import fleetmanagement.vehicles.Car;
+import fleetmanagement.vehicles.CargoShip;
+import fleetmanagement.vehicles.Truck;
+import fleetmanagement.vehicles.Vehicle;
+
+import java.lang.foreign.MemoryLayout;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.StructLayout;
+import java.lang.foreign.ValueLayout;
+import java.util.ArrayList;
+import java.util.List;
+
+// Fixed-width record layout for one vehicle type in an OffHeapFleetStore. Every type starts with
+// the fields Vehicle and the capability interfaces share, then adds the fields of its own class,
+// in the order BinarySnapshot writes them:
+//   all       id (length byte + UTF-8), maxSpeed, mileage, fuel, model (store dictionary index), maintenance
+//   Car       wheels, passengers
+//   Truck     wheels, cargo
+//   Bus       wheels, passengers, cargo
+//   Airplane  altitude, passengers, cargo
+//   CargoShip sail, cargo
+// Members are padded to their natural alignment and records to 8 bytes, so every field of every
+// row is aligned. Capacities and fuel efficiencies are read from prototype vehicles rather than
+// copied, so they follow the vehicle classes.
+class OffHeapLayout {
+    // Length byte plus up to 23 bytes of UTF-8
+    static final int ID_BYTES = 24;
+    static final int MAX_ID_LENGTH = ID_BYTES - 1;
+
+    private static final OffHeapLayout[] BY_TAG = new OffHeapLayout[FleetColumns.CARGO_SHIP + 1];
+
+    static {
+        try {
+            Car car = new Car("layout", "", 1, 4);
+            Truck truck = new Truck("layout", "", 1, 6);
+            Truck loadedTruck = Truck.restore("layout", "", 1, 6, 0, truck.getCargoCapacity(), 0, false);
+            Bus bus = new Bus("layout", "", 1, 6);
+            Airplane airplane = new Airplane("layout", "", 1, 1);
+            CargoShip ship = new CargoShip("layout", "", 1, false);
+            BY_TAG[FleetColumns.CAR] = new OffHeapLayout(FleetColumns.CAR, car, car.calculateFuelEfficiency(),
+                    car.getPassengerCapacity(), 0, wheels(), passengers());
+            BY_TAG[FleetColumns.TRUCK] = new OffHeapLayout(FleetColumns.TRUCK, truck, loadedTruck.calculateFuelEfficiency(),
+                    0, truck.getCargoCapacity(), wheels(), cargo());
+            BY_TAG[FleetColumns.BUS] = new OffHeapLayout(FleetColumns.BUS, bus, bus.calculateFuelEfficiency(),
+                    bus.getPassengerCapacity(), bus.getCargoCapacity(), wheels(), passengers(), cargo());
+            BY_TAG[FleetColumns.AIRPLANE] = new OffHeapLayout(FleetColumns.AIRPLANE, airplane,
+                    airplane.calculateFuelEfficiency(), airplane.getPassengerCapacity(), airplane.getCargoCapacity(),
+                    ValueLayout.JAVA_DOUBLE.withName("altitude"), passengers(), cargo());
+            BY_TAG[FleetColumns.CARGO_SHIP] = new OffHeapLayout(FleetColumns.CARGO_SHIP, ship,
+                    ship.calculateFuelEfficiency(), 0, ship.getCargoCapacity(),
+                    ValueLayout.JAVA_BYTE.withName("sail"), cargo());
+        } catch (InvalidOperationException e) {
+            throw new IllegalStateException("Cannot build prototype vehicles", e);
+        }
+    }
+
+    final byte typeTag;
+    final String typeName;
+    final StructLayout layout;
+    final long size;
+    final double journeyTimeFactor;
+    final int passengerCapacity;
+    final double cargoCapacity;
+    // Fuel efficiency of the type; Truck's drops to the loaded figure above half its capacity
+    private final double efficiency;
+    private final double loadedEfficiency;
+
+    // Byte offsets within a record; -1 where the type has no such field
+    final long id;
+    final long maxSpeed;
+    final long mileage;
+    final long fuel;
+    final long model;
+    final long maintenance;
+    final long wheels;
+    final long passengers;
+    final long cargo;
+    final long altitude;
+    final long sail;
+
+    private OffHeapLayout(byte typeTag, Vehicle prototype, double loadedEfficiency, int passengerCapacity,
+                          double cargoCapacity, MemoryLayout... typeFields) {
+        List<MemoryLayout> fields = new ArrayList<>();
+        fields.add(MemoryLayout.sequenceLayout(ID_BYTES, ValueLayout.JAVA_BYTE).withName("id"));
+        fields.add(ValueLayout.JAVA_DOUBLE.withName("maxSpeed"));
+        fields.add(ValueLayout.JAVA_DOUBLE.withName("mileage"));
+        fields.add(ValueLayout.JAVA_DOUBLE.withName("fuel"));
+        fields.add(ValueLayout.JAVA_INT.withName("model"));
+        fields.add(ValueLayout.JAVA_BYTE.withName("maintenance"));
+        for (MemoryLayout field : typeFields) {
+            fields.add(field);
+        }
+        this.typeTag = typeTag;
+        this.typeName = prototype.getClass().getSimpleName();
+        this.layout = aligned(typeName, fields);
+        this.size = layout.byteSize();
+        this.journeyTimeFactor = FleetColumns.JOURNEY_TIME_FACTORS[typeTag];
+        this.passengerCapacity = passengerCapacity;
+        this.cargoCapacity = cargoCapacity;
+        this.efficiency = prototype.calculateFuelEfficiency();
+        this.loadedEfficiency = loadedEfficiency;
+        this.id = offset("id");
+        this.maxSpeed = offset("maxSpeed");
+        this.mileage = offset("mileage");
+        this.fuel = offset("fuel");
+        this.model = offset("model");
+        this.maintenance = offset("maintenance");
+        this.wheels = offset("wheels");
+        this.passengers = offset("passengers");
+        this.cargo = offset("cargo");
+        this.altitude = offset("altitude");
+        this.sail = offset("sail");
+    }
+
+    static OffHeapLayout of(int typeTag) {
+        return BY_TAG[typeTag];
+    }
+
+    // Mirrors calculateFuelEfficiency of the vehicle classes
+    double efficiency(MemorySegment records, long base) {
+        if (sail >= 0 && records.get(ValueLayout.JAVA_BYTE, base + sail) != 0) {
+            return Double.POSITIVE_INFINITY;
+        }
+        if (typeTag == FleetColumns.TRUCK && records.get(ValueLayout.JAVA_DOUBLE, base + cargo) > cargoCapacity * 0.5) {
+            return loadedEfficiency;
+        }
+        return efficiency;
+    }
+
+    boolean hasSail(MemorySegment records, long base) {
+        return sail >= 0 && records.get(ValueLayout.JAVA_BYTE, base + sail) != 0;
+    }
+
+    private long offset(String name) {
+        for (MemoryLayout member : layout.memberLayouts()) {
+            if (member.name().isPresent() && member.name().get().equals(name)) {
+                return layout.byteOffset(MemoryLayout.PathElement.groupElement(name));
+            }
+        }
+        return -1;
+    }
+
+    private static StructLayout aligned(String name, List<MemoryLayout> fields) {
+        List<MemoryLayout> members = new ArrayList<>();
+        long offset = 0;
+        for (MemoryLayout field : fields) {
+            long padding = -offset & (field.byteAlignment() - 1);
+            if (padding > 0) {
+                members.add(MemoryLayout.paddingLayout(padding));
+                offset += padding;
+            }
+            members.add(field);
+            offset += field.byteSize();
+        }
+        long padding = -offset & (Long.BYTES - 1);
+        if (padding > 0) {
+            members.add(MemoryLayout.paddingLayout(padding));
+        }
+        return MemoryLayout.structLayout(members.toArray(new MemoryLayout[0])).withName(name);
+    }
+
+    private static MemoryLayout wheels() {
+        return ValueLayout.JAVA_INT.withName("wheels");
+    }
+
+    private static MemoryLayout passengers() {
+        return ValueLayout.JAVA_INT.withName("passengers");
+    }
+
+    private static MemoryLayout cargo() {
+        return ValueLayout.JAVA_DOUBLE.withName("cargo");
+    }
+}
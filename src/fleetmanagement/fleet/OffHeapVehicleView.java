@@ -0,0 +1,196 @@
+package fleetmanagement.fleet;
+
+import fleetmanagement.events.FleetEventSink;
+import fleetmanagement.events.FleetEvents;
+import fleetmanagement.exceptions.InvalidOperationException;
+import fleetmanagement.interfaces.OperationStatus;
+import fleetmanagement.vehicles.Airplane;
+import fleetmanagement.vehicles.Bus;
+import fleetmanagement.vehicles.Car;
+import fleetmanagement.vehicles.CargoShip;
+import fleetmanagement.vehicles.Truck;
+import fleetmanagement.vehicles.Vehicle;
+
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+
+// A Vehicle that reads one record of an OffHeapFleetStore in place. A view is rebound from record
+// to record rather than allocated per vehicle, and a binding holds until the next remove on the
+// store, which may move another record into its row; after that, or before the first bind, every
+// method throws IllegalStateException. Moves and refuels change the record under the store's lock;
+// a view itself is not thread-safe. Anything that needs the full vehicle class, such as the
+// console text or CSV line, goes through a heap copy from toVehicle().
+public class OffHeapVehicleView extends Vehicle {
+    private final OffHeapFleetStore store;
+    private OffHeapLayout layout;
+    private int typeTag;
+    private long base;
+    // The store's removal count when bound
+    private int modifications;
+
+    OffHeapVehicleView(OffHeapFleetStore store) throws InvalidOperationException {
+        super("(unbound view)", "", 0);
+        this.store = store;
+    }
+
+    void bind(int typeTag, int row) {
+        this.typeTag = typeTag;
+        this.layout = OffHeapLayout.of(typeTag);
+        this.base = (long) row * layout.size;
+        this.modifications = store.modifications();
+    }
+
+    OffHeapLayout layout() {
+        if (layout == null) {
+            throw new IllegalStateException("View is not bound to a vehicle");
+        }
+        if (modifications != store.modifications()) {
+            throw new IllegalStateException("View is stale: a vehicle was removed since it was bound");
+        }
+        return layout;
+    }
+
+    int typeTag() { return typeTag; }
+    long base() { return base; }
+
+    public String getTypeName() { return layout().typeName; }
+    public int getTypeTag() {
+        layout();
+        return typeTag;
+    }
+
+    @Override
+    public String getId() { return OffHeapFleetStore.id(layout(), records(), base); }
+    @Override
+    public String getModel() { return store.model(records().get(ValueLayout.JAVA_INT, base + layout.model)); }
+    @Override
+    public double getMaxSpeed() { return records().get(ValueLayout.JAVA_DOUBLE, base + layout.maxSpeed); }
+    @Override
+    public double getCurrentMileage() { return records().get(ValueLayout.JAVA_DOUBLE, base + layout.mileage); }
+
+    public double getFuelLevel() { return records().get(ValueLayout.JAVA_DOUBLE, base + layout.fuel); }
+    public boolean isMaintenanceScheduled() { return records().get(ValueLayout.JAVA_BYTE, base + layout.maintenance) != 0; }
+    public boolean needsMaintenance() { return OffHeapFleetStore.needsMaintenance(layout(), records(), base); }
+
+    // Type-specific fields read as 0, or false, for types that do not have them
+    public int getNumWheels() {
+        return layout().wheels >= 0 ? records().get(ValueLayout.JAVA_INT, base + layout.wheels) : 0;
+    }
+
+    public double getMaxAltitude() {
+        return layout().altitude >= 0 ? records().get(ValueLayout.JAVA_DOUBLE, base + layout.altitude) : 0;
+    }
+
+    public boolean hasSail() {
+        return layout().hasSail(records(), base);
+    }
+
+    public int getCurrentPassengers() {
+        return layout().passengers >= 0 ? records().get(ValueLayout.JAVA_INT, base + layout.passengers) : 0;
+    }
+
+    public int getPassengerCapacity() { return layout().passengerCapacity; }
+
+    public double getCurrentCargo() {
+        return layout().cargo >= 0 ? records().get(ValueLayout.JAVA_DOUBLE, base + layout.cargo) : 0;
+    }
+
+    public double getCargoCapacity() { return layout().cargoCapacity; }
+
+    @Override
+    public double calculateFuelEfficiency() {
+        return layout().efficiency(records(), base);
+    }
+
+    @Override
+    public double estimateJourneyTime(double distance) {
+        return distance / getMaxSpeed() * layout.journeyTimeFactor;
+    }
+
+    @Override
+    public OperationStatus tryMove(double distance) {
+        return store.move(this, distance);
+    }
+
+    public OperationStatus tryRefuel(double amount) {
+        return store.refuel(this, amount);
+    }
+
+    @Override
+    public void move(double distance) throws InvalidOperationException {
+        double fuelNeeded = distance / calculateFuelEfficiency();
+        OperationStatus status = tryMove(distance);
+        if (status != OperationStatus.SUCCESS) {
+            throw new InvalidOperationException(describeMoveFailure(distance, status));
+        }
+        FleetEventSink events = FleetEvents.sink();
+        if (events.isEnabled()) {
+            events.vehicleMoved(toVehicle(), distance, fuelNeeded);
+        }
+    }
+
+    // Rejected for stores: readings go to a FleetManager's vehicles, which keep their sample times
+    @Override
+    public OperationStatus applyTelemetry(long sampleTime, double odometer, double fuelLevel) {
+        return OperationStatus.NOT_SUPPORTED;
+    }
+
+    @Override
+    public String describeMove(double distance, double fuelConsumed) {
+        return toVehicle().describeMove(distance, fuelConsumed);
+    }
+
+    @Override
+    public String describeMoveFailure(double distance, OperationStatus status) {
+        return toVehicle().describeMoveFailure(distance, status);
+    }
+
+    @Override
+    public String toCSVString() {
+        return toVehicle().toCSVString();
+    }
+
+    @Override
+    public String getDetails() {
+        return toVehicle().getDetails();
+    }
+
+    @Override
+    public void displayInfo() {
+        toVehicle().displayInfo();
+    }
+
+    // A heap vehicle with the record's current state
+    public Vehicle toVehicle() {
+        try {
+            layout();
+            switch (typeTag) {
+                case FleetColumns.CAR:
+                    return Car.restore(getId(), getModel(), getMaxSpeed(), getNumWheels(), getFuelLevel(),
+                            getCurrentPassengers(), getCurrentMileage(), isMaintenanceScheduled());
+                case FleetColumns.TRUCK:
+                    return Truck.restore(getId(), getModel(), getMaxSpeed(), getNumWheels(), getFuelLevel(),
+                            getCurrentCargo(), getCurrentMileage(), isMaintenanceScheduled());
+                case FleetColumns.BUS:
+                    return Bus.restore(getId(), getModel(), getMaxSpeed(), getNumWheels(), getFuelLevel(),
+                            getCurrentPassengers(), getCurrentCargo(), getCurrentMileage(), isMaintenanceScheduled());
+                case FleetColumns.AIRPLANE:
+                    return Airplane.restore(getId(), getModel(), getMaxSpeed(), getMaxAltitude(), getFuelLevel(),
+                            getCurrentPassengers(), getCurrentCargo(), getCurrentMileage(), isMaintenanceScheduled());
+                case FleetColumns.CARGO_SHIP:
+                    return CargoShip.restore(getId(), getModel(), getMaxSpeed(), hasSail(), getFuelLevel(),
+                            getCurrentCargo(), getCurrentMileage(), isMaintenanceScheduled());
+                default:
+                    throw new IllegalStateException("View is not bound to a vehicle");
+            }
+        } catch (InvalidOperationException e) {
+            // The record was written from a valid vehicle
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private MemorySegment records() {
+        layout();
+        return store.records(typeTag);
+    }
+}
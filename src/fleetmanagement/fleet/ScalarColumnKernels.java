@@ -0,0 +1,109 @@
+package fleetmanagement.fleet;
+
+// Plain loops, one row at a time; also finishes the rows the vector kernels leave over
+class ScalarColumnKernels extends ColumnKernels {
+    @Override
+    public String name() {
+        return "scalar";
+    }
+
+    @Override
+    public double sum(double[] values, int from, int to) {
+        double total = 0;
+        for (int row = from; row < to; row++) {
+            total += values[row];
+        }
+        return total;
+    }
+
+    @Override
+    public int countTrue(boolean[] flags, int from, int to) {
+        int count = 0;
+        for (int row = from; row < to; row++) {
+            if (flags[row]) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public double sumFinite(double[] values, byte[] tags, int from, int to) {
+        double total = 0;
+        for (int row = from; row < to; row++) {
+            if (tags[row] != FleetColumns.REMOVED && Double.isFinite(values[row])) {
+                total += values[row];
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public int countFinite(double[] values, byte[] tags, int from, int to) {
+        int count = 0;
+        for (int row = from; row < to; row++) {
+            if (tags[row] != FleetColumns.REMOVED && Double.isFinite(values[row])) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    @Override
+    public int filterBelow(double[] values, double threshold, byte[] tags, int from, int to, int[] rows) {
+        return filterBelow(values, threshold, tags, from, to, rows, 0);
+    }
+
+    @Override
+    public int filterAbove(double[] values, double threshold, byte[] tags, int from, int to, int[] rows) {
+        return filterAbove(values, threshold, tags, from, to, rows, 0);
+    }
+
+    @Override
+    public double feasibleFuel(double distance, double[] efficiencies, double[] fuelLevels,
+                               byte[] tags, int from, int to) {
+        double total = 0;
+        for (int row = from; row < to; row++) {
+            double fuelNeeded = distance / efficiencies[row];
+            if (tags[row] != FleetColumns.REMOVED && !(fuelNeeded > fuelLevels[row])) {
+                total += fuelNeeded;
+            }
+        }
+        return total;
+    }
+
+    @Override
+    public int filterShortfalls(double distance, double[] efficiencies, double[] fuelLevels,
+                                byte[] tags, int from, int to, int[] rows) {
+        return filterShortfalls(distance, efficiencies, fuelLevels, tags, from, to, rows, 0);
+    }
+
+    // The filters append to rows from count on and return the new count
+    int filterBelow(double[] values, double threshold, byte[] tags, int from, int to, int[] rows, int count) {
+        for (int row = from; row < to; row++) {
+            if (values[row] < threshold && tags[row] != FleetColumns.REMOVED) {
+                rows[count++] = row;
+            }
+        }
+        return count;
+    }
+
+    int filterAbove(double[] values, double threshold, byte[] tags, int from, int to, int[] rows, int count) {
+        for (int row = from; row < to; row++) {
+            if (values[row] > threshold && tags[row] != FleetColumns.REMOVED) {
+                rows[count++] = row;
+            }
+        }
+        return count;
+    }
+
+    int filterShortfalls(double distance, double[] efficiencies, double[] fuelLevels,
+                         byte[] tags, int from, int to, int[] rows, int count) {
+        for (int row = from; row < to; row++) {
+            if (distance / efficiencies[row] > fuelLevels[row] && tags[row] != FleetColumns.REMOVED) {
+                rows[count++] = row;
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,235 @@
+package fleetmanagement.fleet;
+
+import fleetmanagement.exceptions.InvalidOperationException;
+import fleetmanagement.metrics.MetricsRegistry;
+import fleetmanagement.vehicles.Vehicle;
+
+import java.util.*;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+
+// A fleet split across independent FleetManager shards, each with its own lock, indexes and columns.
+// Vehicles go to a shard by ID hash, or by the hash of a region key when one is given; region keys
+// are looked up once, on add, and a directory of vehicle IDs then routes point operations.
+// Point operations run on the owning shard only. Fleet-wide queries and maintainAll scatter to
+// every shard in parallel on the pool and merge the results in shard order, so lists come back
+// grouped by shard rather than in overall insertion order. All shards record into one registry.
+public class ShardedFleetManager {
+    private final FleetManager[] shards;
+    // Null when sharding by ID
+    private final Function<? super Vehicle, ?> regionKey;
+    private final Map<String, Integer> shardById;
+    private final ForkJoinPool pool;
+    private final MetricsRegistry registry = new MetricsRegistry();
+
+    public ShardedFleetManager(int shardCount) {
+        this(shardCount, null, ForkJoinPool.commonPool());
+    }
+
+    public ShardedFleetManager(int shardCount, Function<? super Vehicle, ?> regionKey, ForkJoinPool pool) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be positive: " + shardCount);
+        }
+        this.shards = new FleetManager[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new FleetManager(registry);
+        }
+        this.regionKey = regionKey;
+        this.shardById = regionKey == null ? null : new ConcurrentHashMap<>();
+        this.pool = pool;
+    }
+
+    public MetricsRegistry getMetrics() {
+        return registry;
+    }
+
+    public int getShardCount() {
+        return shards.length;
+    }
+
+    public FleetManager getShard(int shard) {
+        return shards[shard];
+    }
+
+    // Shard that holds, or would hold, the vehicle with this ID; -1 for an unknown ID when sharding
+    // by region
+    public int shardOf(String id) {
+        if (shardById == null) {
+            return spread(id.hashCode());
+        }
+        Integer shard = shardById.get(id);
+        return shard == null ? -1 : shard;
+    }
+
+    public void addVehicle(Vehicle vehicle) throws InvalidOperationException {
+        int shard = claim(vehicle);
+        try {
+            shards[shard].addVehicle(vehicle);
+        } catch (InvalidOperationException | RuntimeException e) {
+            release(vehicle.getId(), shard);
+            throw e;
+        }
+    }
+
+    // All or nothing, like FleetManager.addAll: if a shard rejects its part, what the earlier shards
+    // added is removed again
+    public void addAll(Collection<? extends Vehicle> vehicles) throws InvalidOperationException {
+        List<List<Vehicle>> parts = new ArrayList<>(shards.length);
+        for (int i = 0; i < shards.length; i++) {
+            parts.add(new ArrayList<>());
+        }
+        List<Vehicle> claimed = new ArrayList<>();
+        try {
+            for (Vehicle vehicle : vehicles) {
+                parts.get(claim(vehicle)).add(vehicle);
+                claimed.add(vehicle);
+            }
+        } catch (InvalidOperationException e) {
+            for (Vehicle vehicle : claimed) {
+                release(vehicle.getId(), shardOf(vehicle.getId()));
+            }
+            throw e;
+        }
+        int added = 0;
+        try {
+            for (; added < shards.length; added++) {
+                shards[added].addAll(parts.get(added));
+            }
+        } catch (InvalidOperationException | RuntimeException e) {
+            for (int shard = 0; shard < added; shard++) {
+                for (Vehicle vehicle : parts.get(shard)) {
+                    try {
+                        shards[shard].removeVehicle(vehicle.getId());
+                    } catch (InvalidOperationException alreadyRemoved) {
+                        // Another caller removed it first
+                    }
+                }
+            }
+            for (Vehicle vehicle : claimed) {
+                release(vehicle.getId(), shardOf(vehicle.getId()));
+            }
+            throw e;
+        }
+    }
+
+    public void removeVehicle(String id) throws InvalidOperationException {
+        int shard = shardOf(id);
+        if (shard < 0) {
+            throw new InvalidOperationException("Vehicle with ID " + id + " not found");
+        }
+        shards[shard].removeVehicle(id);
+        release(id, shard);
+    }
+
+    public Vehicle getById(String id) {
+        int shard = shardOf(id);
+        return shard < 0 ? null : shards[shard].getById(id);
+    }
+
+    public int getFleetSize() {
+        int size = 0;
+        for (FleetManager shard : shards) {
+            size += shard.getFleetSize();
+        }
+        return size;
+    }
+
+    public List<Vehicle> getFleet() {
+        return concat(scatter(FleetManager::getFleet));
+    }
+
+    public List<Vehicle> searchByType(Class<?> type) {
+        return concat(scatter(shard -> shard.searchByType(type)));
+    }
+
+    public double getTotalFuelConsumption(double distance) {
+        double total = 0;
+        for (double shardTotal : scatter(shard -> shard.getTotalFuelConsumption(distance))) {
+            total += shardTotal;
+        }
+        return total;
+    }
+
+    public void maintainAll() {
+        scatter(shard -> {
+            shard.maintainAll();
+            return null;
+        });
+    }
+
+    public FleetSummary getSummary() {
+        return FleetSummary.combine(scatter(FleetManager::getSummary));
+    }
+
+    public String generateReport() {
+        return getSummary().toReport();
+    }
+
+    // Spreads the hash's high bits down so that IDs differing only in a trailing digit still
+    // land on different shards
+    private int spread(int hash) {
+        return Math.floorMod(hash ^ (hash >>> 16), shards.length);
+    }
+
+    // Reserves the vehicle's ID for its shard so no other shard can take the same ID meanwhile
+    private int claim(Vehicle vehicle) throws InvalidOperationException {
+        if (shardById == null) {
+            return spread(vehicle.getId().hashCode());
+        }
+        int shard = spread(Objects.hashCode(regionKey.apply(vehicle)));
+        if (shardById.putIfAbsent(vehicle.getId(), shard) != null) {
+            throw new InvalidOperationException("Vehicle with ID " + vehicle.getId() + " already exists");
+        }
+        return shard;
+    }
+
+    private void release(String id, int shard) {
+        if (shardById != null) {
+            shardById.remove(id, shard);
+        }
+    }
+
+    // Runs the operation on every shard in parallel; results are in shard order
+    private <T> List<T> scatter(Function<FleetManager, T> operation) {
+        List<Callable<T>> calls = new ArrayList<>(shards.length);
+        for (FleetManager shard : shards) {
+            calls.add(() -> operation.apply(shard));
+        }
+        List<T> results = new ArrayList<>(shards.length);
+        for (Future<T> future : pool.invokeAll(calls)) {
+            try {
+                results.add(future.get());
+            } catch (ExecutionException e) {
+                Throwable cause = e.getCause();
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                if (cause instanceof Error) {
+                    throw (Error) cause;
+                }
+                throw new IllegalStateException(cause);
+            } catch (InterruptedException e) {
+                // invokeAll has already waited for every call, so get() does not block
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+        }
+        return results;
+    }
+
+    private static List<Vehicle> concat(List<List<Vehicle>> parts) {
+        int size = 0;
+        for (List<Vehicle> part : parts) {
+            size += part.size();
+        }
+        List<Vehicle> result = new ArrayList<>(size);
+        for (List<Vehicle> part : parts) {
+            result.addAll(part);
+        }
+        return result;
+    }
+}
@@ -0,0 +1,158 @@
+package fleetmanagement.fleet;
+
+import jdk.incubator.vector.ByteVector;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+// Kernels on the jdk.incubator.vector API, loaded by ColumnKernels only when the module is present.
+// Masked kernels step BLOCK rows at a time: one 8-byte load of type tags, widened to a liveness mask
+// for each double vector in the block. Rows past the last full step go to the scalar loops.
+class VectorColumnKernels extends ScalarColumnKernels {
+    private static final VectorSpecies<Double> DOUBLES = DoubleVector.SPECIES_PREFERRED.length() <= 8
+            ? DoubleVector.SPECIES_PREFERRED : DoubleVector.SPECIES_512;
+    private static final VectorSpecies<Byte> FLAGS = ByteVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Byte> TAGS = ByteVector.SPECIES_64;
+    private static final int LANES = DOUBLES.length();
+    private static final int BLOCK = TAGS.length();
+
+    @Override
+    public String name() {
+        return "vector";
+    }
+
+    @Override
+    public double sum(double[] values, int from, int to) {
+        DoubleVector total = DoubleVector.zero(DOUBLES);
+        int row = from;
+        for (int bound = from + DOUBLES.loopBound(to - from); row < bound; row += LANES) {
+            total = total.add(DoubleVector.fromArray(DOUBLES, values, row));
+        }
+        return total.reduceLanes(VectorOperators.ADD) + super.sum(values, row, to);
+    }
+
+    @Override
+    public int countTrue(boolean[] flags, int from, int to) {
+        int count = 0;
+        int row = from;
+        for (int bound = from + FLAGS.loopBound(to - from); row < bound; row += FLAGS.length()) {
+            count += ByteVector.fromBooleanArray(FLAGS, flags, row).compare(VectorOperators.NE, 0).trueCount();
+        }
+        return count + super.countTrue(flags, row, to);
+    }
+
+    @Override
+    public double sumFinite(double[] values, byte[] tags, int from, int to) {
+        DoubleVector total = DoubleVector.zero(DOUBLES);
+        int row = from;
+        for (int bound = from + TAGS.loopBound(to - from); row < bound; row += BLOCK) {
+            ByteVector blockTags = ByteVector.fromArray(TAGS, tags, row);
+            for (int part = 0; part < BLOCK / LANES; part++) {
+                DoubleVector value = DoubleVector.fromArray(DOUBLES, values, row + part * LANES);
+                total = total.add(value, live(blockTags, part).and(value.test(VectorOperators.IS_FINITE)));
+            }
+        }
+        return total.reduceLanes(VectorOperators.ADD) + super.sumFinite(values, tags, row, to);
+    }
+
+    @Override
+    public int countFinite(double[] values, byte[] tags, int from, int to) {
+        int count = 0;
+        int row = from;
+        for (int bound = from + TAGS.loopBound(to - from); row < bound; row += BLOCK) {
+            ByteVector blockTags = ByteVector.fromArray(TAGS, tags, row);
+            for (int part = 0; part < BLOCK / LANES; part++) {
+                DoubleVector value = DoubleVector.fromArray(DOUBLES, values, row + part * LANES);
+                count += live(blockTags, part).and(value.test(VectorOperators.IS_FINITE)).trueCount();
+            }
+        }
+        return count + super.countFinite(values, tags, row, to);
+    }
+
+    @Override
+    public int filterBelow(double[] values, double threshold, byte[] tags, int from, int to, int[] rows) {
+        int count = 0;
+        int row = from;
+        for (int bound = from + TAGS.loopBound(to - from); row < bound; row += BLOCK) {
+            ByteVector blockTags = ByteVector.fromArray(TAGS, tags, row);
+            for (int part = 0; part < BLOCK / LANES; part++) {
+                int first = row + part * LANES;
+                VectorMask<Double> match = DoubleVector.fromArray(DOUBLES, values, first)
+                        .compare(VectorOperators.LT, threshold);
+                count = append(match.and(live(blockTags, part)), first, rows, count);
+            }
+        }
+        return filterBelow(values, threshold, tags, row, to, rows, count);
+    }
+
+    @Override
+    public int filterAbove(double[] values, double threshold, byte[] tags, int from, int to, int[] rows) {
+        int count = 0;
+        int row = from;
+        for (int bound = from + TAGS.loopBound(to - from); row < bound; row += BLOCK) {
+            ByteVector blockTags = ByteVector.fromArray(TAGS, tags, row);
+            for (int part = 0; part < BLOCK / LANES; part++) {
+                int first = row + part * LANES;
+                VectorMask<Double> match = DoubleVector.fromArray(DOUBLES, values, first)
+                        .compare(VectorOperators.GT, threshold);
+                count = append(match.and(live(blockTags, part)), first, rows, count);
+            }
+        }
+        return filterAbove(values, threshold, tags, row, to, rows, count);
+    }
+
+    @Override
+    public double feasibleFuel(double distance, double[] efficiencies, double[] fuelLevels,
+                               byte[] tags, int from, int to) {
+        DoubleVector distances = DoubleVector.broadcast(DOUBLES, distance);
+        DoubleVector total = DoubleVector.zero(DOUBLES);
+        int row = from;
+        for (int bound = from + TAGS.loopBound(to - from); row < bound; row += BLOCK) {
+            ByteVector blockTags = ByteVector.fromArray(TAGS, tags, row);
+            for (int part = 0; part < BLOCK / LANES; part++) {
+                int first = row + part * LANES;
+                DoubleVector fuelNeeded = distances.div(DoubleVector.fromArray(DOUBLES, efficiencies, first));
+                VectorMask<Double> shortfall = fuelNeeded.compare(VectorOperators.GT,
+                        DoubleVector.fromArray(DOUBLES, fuelLevels, first));
+                total = total.add(fuelNeeded, shortfall.not().and(live(blockTags, part)));
+            }
+        }
+        return total.reduceLanes(VectorOperators.ADD)
+                + super.feasibleFuel(distance, efficiencies, fuelLevels, tags, row, to);
+    }
+
+    @Override
+    public int filterShortfalls(double distance, double[] efficiencies, double[] fuelLevels,
+                                byte[] tags, int from, int to, int[] rows) {
+        DoubleVector distances = DoubleVector.broadcast(DOUBLES, distance);
+        int count = 0;
+        int row = from;
+        for (int bound = from + TAGS.loopBound(to - from); row < bound; row += BLOCK) {
+            ByteVector blockTags = ByteVector.fromArray(TAGS, tags, row);
+            for (int part = 0; part < BLOCK / LANES; part++) {
+                int first = row + part * LANES;
+                DoubleVector fuelNeeded = distances.div(DoubleVector.fromArray(DOUBLES, efficiencies, first));
+                VectorMask<Double> shortfall = fuelNeeded.compare(VectorOperators.GT,
+                        DoubleVector.fromArray(DOUBLES, fuelLevels, first));
+                count = append(shortfall.and(live(blockTags, part)), first, rows, count);
+            }
+        }
+        return filterShortfalls(distance, efficiencies, fuelLevels, tags, row, to, rows, count);
+    }
+
+    // Lanes of the block's part-th double vector whose row is not a tombstone
+    private static VectorMask<Double> live(ByteVector blockTags, int part) {
+        return ((DoubleVector) blockTags.convertShape(VectorOperators.B2D, DOUBLES, part))
+                .compare(VectorOperators.NE, FleetColumns.REMOVED);
+    }
+
+    private static int append(VectorMask<Double> match, int first, int[] rows, int count) {
+        long bits = match.toLong();
+        while (bits != 0) {
+            rows[count++] = first + Long.numberOfTrailingZeros(bits);
+            bits &= bits - 1;
+        }
+        return count;
+    }
+}
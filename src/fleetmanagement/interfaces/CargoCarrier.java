@@ -8,4 +8,8 @@ public interface CargoCarrier {
     void unloadCargo(double weight) throws InvalidOperationException;
     double getCargoCapacity();
     double getCurrentCargo();
+
+    // Non-throwing variants: on anything but SUCCESS the vehicle is left unchanged
+    OperationStatus tryLoadCargo(double weight);
+    OperationStatus tryUnloadCargo(double weight);
 }
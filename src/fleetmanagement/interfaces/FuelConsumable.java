@@ -7,4 +7,8 @@ public interface FuelConsumable {
     double consumeFuel(double distance) throws InsufficientFuelException;
     void refuel(double amount) throws InvalidOperationException;
     double getFuelLevel();
+
+    // Non-throwing variants: on anything but SUCCESS the vehicle is left unchanged
+    OperationStatus tryConsumeFuel(double distance);
+    OperationStatus tryRefuel(double amount);
 }
@@ -1,7 +1,13 @@
 package fleetmanagement.interfaces;
 
 public interface Maintainable {
+    // Mileage above which a vehicle needs maintenance whether or not it was scheduled
+    double MAINTENANCE_MILEAGE = 10000;
+
     boolean needsMaintenance();
     void performMaintenance();
     void scheduleMaintenance();
+    boolean isMaintenanceScheduled();
+    // Console line reported when performMaintenance completes
+    String describeMaintenance();
 }
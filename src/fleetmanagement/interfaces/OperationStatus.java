@@ -0,0 +1,14 @@
+package fleetmanagement.interfaces;
+
+// Outcome of a non-throwing vehicle operation; anything but SUCCESS leaves the vehicle unchanged
+public enum OperationStatus {
+    SUCCESS,
+    INSUFFICIENT_FUEL,
+    OVER_CAPACITY,
+    INSUFFICIENT_LOAD,
+    INVALID_AMOUNT,
+    NOT_SUPPORTED,
+    NOT_FOUND,
+    // A telemetry reading older than one already applied
+    STALE
+}
@@ -8,4 +8,8 @@ public interface PassengerCarrier {
     void disembarkPassengers(int count) throws InvalidOperationException;
     int getPassengerCapacity();
     int getCurrentPassengers();
+
+    // Non-throwing variants: on anything but SUCCESS the vehicle is left unchanged
+    OperationStatus tryBoard(int count);
+    OperationStatus tryDisembark(int count);
 }
@@ -0,0 +1,277 @@
+package fleetmanagement.io;
+
+import fleetmanagement.exceptions.InvalidOperationException;
+import fleetmanagement.interfaces.Maintainable;
+import fleetmanagement.vehicles.Airplane;
+import fleetmanagement.vehicles.Bus;
+import fleetmanagement.vehicles.Car;
+import fleetmanagement.vehicles.CargoShip;
+import fleetmanagement.vehicles.Truck;
+import fleetmanagement.vehicles.Vehicle;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+// Binary fleet snapshot. Layout (big-endian):
+//   header : int magic "FLTS", short version, short reserved, int vehicle count
+//   record : int length, byte type, string id, string model, double maxSpeed, per-type fields
+//   string : int byte length, UTF-8 bytes
+// Per-type fields follow the CSV column order, with full double precision:
+//   Car       int wheels, double fuel, int passengers, double mileage, byte maintenance
+//   Truck     int wheels, double fuel, double cargo, double mileage, byte maintenance
+//   Bus       int wheels, double fuel, int passengers, double cargo, double mileage, byte maintenance
+//   Airplane  double altitude, double fuel, int passengers, double cargo, double mileage, byte maintenance
+//   CargoShip byte sail, double fuel, double cargo, double mileage, byte maintenance
+public class BinarySnapshot {
+    public static final int MAGIC = 0x464C5453;
+    public static final short VERSION = 1;
+    public static final String EXTENSION = ".fsnap";
+
+    static final byte CAR = 1;
+    static final byte TRUCK = 2;
+    static final byte BUS = 3;
+    static final byte AIRPLANE = 4;
+    static final byte CARGO_SHIP = 5;
+
+    private static final int BUFFER_SIZE = 1 << 20;
+    private static final int HEADER_SIZE = 12;
+
+    // Each record is read under the vehicle's monitor, as toCSVString is, so a concurrent move
+    // cannot leave it half updated
+    public static void write(Path file, Collection<Vehicle> vehicles) throws IOException {
+        write(file, vehicles, false);
+    }
+
+    // For compacting a journal: the file is synced to disk before returning, and no vehicle monitor
+    // is taken because the caller holds the fleet write lock (lock order is vehicle, then fleet).
+    // A vehicle caught mid-change is journaled again once that lock is released.
+    public static void writeCompacted(Path file, Collection<Vehicle> vehicles) throws IOException {
+        write(file, vehicles, true);
+    }
+
+    private static void write(Path file, Collection<Vehicle> vehicles, boolean compacting) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            buffer.putInt(MAGIC).putShort(VERSION).putShort((short) 0).putInt(vehicles.size());
+            for (Vehicle vehicle : vehicles) {
+                byte[] id = vehicle.getId().getBytes(StandardCharsets.UTF_8);
+                byte[] model = vehicle.getModel().getBytes(StandardCharsets.UTF_8);
+                int size = 4 + recordSize(vehicle, id, model);
+                if (buffer.remaining() < size) {
+                    flush(channel, buffer);
+                    if (buffer.capacity() < size) {
+                        buffer = ByteBuffer.allocateDirect(size);
+                    }
+                }
+                buffer.putInt(size - 4);
+                if (compacting) {
+                    encode(buffer, vehicle, id, model);
+                } else {
+                    synchronized (vehicle) {
+                        encode(buffer, vehicle, id, model);
+                    }
+                }
+            }
+            flush(channel, buffer);
+            if (compacting) {
+                channel.force(true);
+            }
+        }
+    }
+
+    public static List<Vehicle> read(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+            buffer.flip();
+            buffer = fill(channel, buffer, HEADER_SIZE);
+            if (buffer.getInt() != MAGIC) {
+                throw new IOException("Not a fleet snapshot: " + file);
+            }
+            short version = buffer.getShort();
+            if (version != VERSION) {
+                throw new IOException("Unsupported snapshot version " + version + " in " + file);
+            }
+            buffer.getShort();
+            int count = buffer.getInt();
+            // Every record takes at least its length field, so a larger count cannot be right
+            if (count < 0 || count > unread(channel, buffer) / 4) {
+                throw new IOException("Corrupt fleet snapshot: vehicle count " + count + " in " + file);
+            }
+
+            List<Vehicle> vehicles = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                buffer = fill(channel, buffer, 4);
+                int length = buffer.getInt();
+                if (length < 0 || length > unread(channel, buffer)) {
+                    throw new IOException("Corrupt fleet snapshot: record length " + length + " in " + file);
+                }
+                buffer = fill(channel, buffer, length);
+                ByteBuffer record = buffer.slice(buffer.position(), length);
+                buffer.position(buffer.position() + length);
+                try {
+                    vehicles.add(decode(record));
+                } catch (BufferUnderflowException e) {
+                    throw new IOException("Corrupt fleet snapshot: record " + i + " is cut short in " + file);
+                }
+            }
+            return vehicles;
+        }
+    }
+
+    // Bytes of the file not yet consumed, whether buffered or still to be read
+    private static long unread(FileChannel channel, ByteBuffer buffer) throws IOException {
+        return channel.size() - channel.position() + buffer.remaining();
+    }
+
+    static int recordSize(Vehicle vehicle, byte[] id, byte[] model) {
+        int size = 1 + 4 + id.length + 4 + model.length + 8;
+        if (vehicle instanceof Car) {
+            return size + 4 + 8 + 4 + 8 + 1;
+        } else if (vehicle instanceof Truck) {
+            return size + 4 + 8 + 8 + 8 + 1;
+        } else if (vehicle instanceof Bus) {
+            return size + 4 + 8 + 4 + 8 + 8 + 1;
+        } else if (vehicle instanceof Airplane) {
+            return size + 8 + 8 + 4 + 8 + 8 + 1;
+        } else if (vehicle instanceof CargoShip) {
+            return size + 1 + 8 + 8 + 8 + 1;
+        }
+        throw new IllegalArgumentException("Unsupported vehicle type: " + vehicle.getClass().getSimpleName());
+    }
+
+    static void encode(ByteBuffer buffer, Vehicle vehicle, byte[] id, byte[] model) {
+        if (vehicle instanceof Car) {
+            Car car = (Car) vehicle;
+            header(buffer, CAR, vehicle, id, model);
+            buffer.putInt(car.getNumWheels()).putDouble(car.getFuelLevel()).putInt(car.getCurrentPassengers());
+        } else if (vehicle instanceof Truck) {
+            Truck truck = (Truck) vehicle;
+            header(buffer, TRUCK, vehicle, id, model);
+            buffer.putInt(truck.getNumWheels()).putDouble(truck.getFuelLevel()).putDouble(truck.getCurrentCargo());
+        } else if (vehicle instanceof Bus) {
+            Bus bus = (Bus) vehicle;
+            header(buffer, BUS, vehicle, id, model);
+            buffer.putInt(bus.getNumWheels()).putDouble(bus.getFuelLevel())
+                    .putInt(bus.getCurrentPassengers()).putDouble(bus.getCurrentCargo());
+        } else if (vehicle instanceof Airplane) {
+            Airplane plane = (Airplane) vehicle;
+            header(buffer, AIRPLANE, vehicle, id, model);
+            buffer.putDouble(plane.getMaxAltitude()).putDouble(plane.getFuelLevel())
+                    .putInt(plane.getCurrentPassengers()).putDouble(plane.getCurrentCargo());
+        } else {
+            CargoShip ship = (CargoShip) vehicle;
+            header(buffer, CARGO_SHIP, vehicle, id, model);
+            buffer.put((byte) (ship.hasSail() ? 1 : 0)).putDouble(ship.getFuelLevel()).putDouble(ship.getCurrentCargo());
+        }
+        buffer.putDouble(vehicle.getCurrentMileage());
+        buffer.put((byte) (((Maintainable) vehicle).isMaintenanceScheduled() ? 1 : 0));
+    }
+
+    static Vehicle decode(ByteBuffer buffer) throws IOException {
+        byte type = buffer.get();
+        String id = string(buffer);
+        String model = string(buffer);
+        double maxSpeed = buffer.getDouble();
+        try {
+            switch (type) {
+                case CAR: {
+                    int wheels = buffer.getInt();
+                    double fuel = buffer.getDouble();
+                    int passengers = buffer.getInt();
+                    return Car.restore(id, model, maxSpeed, wheels, fuel, passengers,
+                            buffer.getDouble(), buffer.get() != 0);
+                }
+                case TRUCK: {
+                    int wheels = buffer.getInt();
+                    double fuel = buffer.getDouble();
+                    double cargo = buffer.getDouble();
+                    return Truck.restore(id, model, maxSpeed, wheels, fuel, cargo,
+                            buffer.getDouble(), buffer.get() != 0);
+                }
+                case BUS: {
+                    int wheels = buffer.getInt();
+                    double fuel = buffer.getDouble();
+                    int passengers = buffer.getInt();
+                    double cargo = buffer.getDouble();
+                    return Bus.restore(id, model, maxSpeed, wheels, fuel, passengers, cargo,
+                            buffer.getDouble(), buffer.get() != 0);
+                }
+                case AIRPLANE: {
+                    double altitude = buffer.getDouble();
+                    double fuel = buffer.getDouble();
+                    int passengers = buffer.getInt();
+                    double cargo = buffer.getDouble();
+                    return Airplane.restore(id, model, maxSpeed, altitude, fuel, passengers, cargo,
+                            buffer.getDouble(), buffer.get() != 0);
+                }
+                case CARGO_SHIP: {
+                    boolean sail = buffer.get() != 0;
+                    double fuel = buffer.getDouble();
+                    double cargo = buffer.getDouble();
+                    return CargoShip.restore(id, model, maxSpeed, sail, fuel, cargo,
+                            buffer.getDouble(), buffer.get() != 0);
+                }
+                default:
+                    throw new IOException("Unknown vehicle type tag " + type + " for " + id);
+            }
+        } catch (InvalidOperationException e) {
+            throw new IOException("Invalid vehicle record: " + e.getMessage());
+        }
+    }
+
+    private static void header(ByteBuffer buffer, byte type, Vehicle vehicle, byte[] id, byte[] model) {
+        buffer.put(type);
+        buffer.putInt(id.length).put(id);
+        buffer.putInt(model.length).put(model);
+        buffer.putDouble(vehicle.getMaxSpeed());
+    }
+
+    private static String string(ByteBuffer buffer) throws IOException {
+        int length = buffer.getInt();
+        if (length < 0 || length > buffer.remaining()) {
+            throw new IOException("Invalid string length " + length + " in vehicle record");
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void flush(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    // Makes at least 'needed' bytes readable, growing the buffer for oversized records
+    private static ByteBuffer fill(FileChannel channel, ByteBuffer buffer, int needed) throws IOException {
+        if (buffer.remaining() >= needed) {
+            return buffer;
+        }
+        if (buffer.capacity() < needed) {
+            ByteBuffer larger = ByteBuffer.allocateDirect(needed);
+            larger.put(buffer);
+            buffer = larger;
+        } else {
+            buffer.compact();
+        }
+        while (buffer.position() < needed) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Truncated fleet snapshot");
+            }
+        }
+        buffer.flip();
+        return buffer;
+    }
+}
@@ -0,0 +1,376 @@
+package fleetmanagement.io;
+
+import fleetmanagement.exceptions.InvalidOperationException;
+import fleetmanagement.vehicles.Airplane;
+import fleetmanagement.vehicles.Bus;
+import fleetmanagement.vehicles.Car;
+import fleetmanagement.vehicles.CargoShip;
+import fleetmanagement.vehicles.Truck;
+import fleetmanagement.vehicles.Vehicle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+// Single-pass CSV tokenizer over raw bytes; a good row allocates only its ID and model strings
+public class CsvFleetReader {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int MAX_FIELDS = 10;
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+            1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    private static final byte[] CAR = bytes("Car");
+    private static final byte[] TRUCK = bytes("Truck");
+    private static final byte[] BUS = bytes("Bus");
+    private static final byte[] AIRPLANE = bytes("Airplane");
+    private static final byte[] CARGO_SHIP = bytes("CargoShip");
+
+    public interface RowSink {
+        void accept(Vehicle vehicle, long lineNumber);
+    }
+
+    private final ParseErrorCollector errors;
+    private final int[] fieldStart = new int[MAX_FIELDS];
+    private final int[] fieldEnd = new int[MAX_FIELDS];
+    private int fieldCount;
+    private boolean fieldError;
+
+    public CsvFleetReader(ParseErrorCollector errors) {
+        this.errors = errors;
+    }
+
+    // Reads the whole stream; later rows repeating an ID are rejected, first occurrence wins
+    public List<Vehicle> read(InputStream in) throws IOException {
+        List<Vehicle> vehicles = new ArrayList<>();
+        Set<String> ids = new HashSet<>();
+        RowSink sink = (vehicle, lineNumber) -> {
+            if (ids.add(vehicle.getId())) {
+                vehicles.add(vehicle);
+            } else {
+                errors.reject(lineNumber, "Duplicate vehicle ID: " + vehicle.getId());
+            }
+        };
+
+        byte[] buffer = new byte[BUFFER_SIZE];
+        int filled = 0;
+        long lineNumber = 1;
+        int read;
+        while ((read = in.read(buffer, filled, buffer.length - filled)) >= 0) {
+            filled += read;
+            int lastNewline = filled - 1;
+            while (lastNewline >= 0 && buffer[lastNewline] != '\n') {
+                lastNewline--;
+            }
+            if (lastNewline < 0) {
+                if (filled == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, buffer.length * 2);
+                }
+                continue;
+            }
+            lineNumber += parse(buffer, 0, lastNewline + 1, lineNumber, sink);
+            filled -= lastNewline + 1;
+            System.arraycopy(buffer, lastNewline + 1, buffer, 0, filled);
+        }
+        if (filled > 0) {
+            parse(buffer, 0, filled, lineNumber, sink);
+        }
+        return vehicles;
+    }
+
+    // Parses every line in buffer[from, to) and returns the number of lines consumed
+    public long parse(byte[] buffer, int from, int to, long firstLine, RowSink sink) {
+        long lines = 0;
+        int start = from;
+        while (start < to) {
+            int newline = start;
+            while (newline < to && buffer[newline] != '\n') {
+                newline++;
+            }
+            int end = newline;
+            if (end > start && buffer[end - 1] == '\r') {
+                end--;
+            }
+            long lineNumber = firstLine + lines;
+            Vehicle vehicle = parseLine(buffer, start, end, lineNumber);
+            if (vehicle != null) {
+                sink.accept(vehicle, lineNumber);
+            }
+            lines++;
+            start = newline + 1;
+        }
+        return lines;
+    }
+
+    public Vehicle parseLine(byte[] buffer, int start, int end, long lineNumber) {
+        split(buffer, start, end);
+        if (fieldCount < 2) {
+            errors.reject(lineNumber, "Too few fields: " + text(buffer, start, end));
+            return null;
+        }
+
+        fieldError = false;
+        Vehicle vehicle;
+        String typeName;
+        if (fieldIs(buffer, 0, CAR)) {
+            typeName = "Car";
+            vehicle = parseCar(buffer);
+        } else if (fieldIs(buffer, 0, TRUCK)) {
+            typeName = "Truck";
+            vehicle = parseTruck(buffer);
+        } else if (fieldIs(buffer, 0, BUS)) {
+            typeName = "Bus";
+            vehicle = parseBus(buffer);
+        } else if (fieldIs(buffer, 0, AIRPLANE)) {
+            typeName = "Airplane";
+            vehicle = parseAirplane(buffer);
+        } else if (fieldIs(buffer, 0, CARGO_SHIP)) {
+            typeName = "CargoShip";
+            vehicle = parseCargoShip(buffer);
+        } else {
+            errors.reject(lineNumber, "Unknown vehicle type: " + text(buffer, fieldStart[0], fieldEnd[0]));
+            return null;
+        }
+
+        if (vehicle == null) {
+            errors.reject(lineNumber, "Invalid CSV data for " + typeName + ": " + text(buffer, start, end));
+        }
+        return vehicle;
+    }
+
+    private Vehicle parseCar(byte[] b) {
+        if (fieldCount < 9 || isBlank(b, 1)) return null;
+        double maxSpeed = parseDouble(b, 3);
+        int numWheels = parseInt(b, 4);
+        double fuelLevel = parseDouble(b, 5);
+        int passengers = parseInt(b, 6);
+        double mileage = parseDouble(b, 7);
+        boolean maintenance = parseBoolean(b, 8);
+        if (fieldError) return null;
+        try {
+            return Car.restore(string(b, 1), string(b, 2), maxSpeed, numWheels,
+                    fuelLevel, passengers, mileage, maintenance);
+        } catch (InvalidOperationException e) {
+            return null;
+        }
+    }
+
+    private Vehicle parseTruck(byte[] b) {
+        if (fieldCount < 9 || isBlank(b, 1)) return null;
+        double maxSpeed = parseDouble(b, 3);
+        int numWheels = parseInt(b, 4);
+        double fuelLevel = parseDouble(b, 5);
+        double cargo = parseDouble(b, 6);
+        double mileage = parseDouble(b, 7);
+        boolean maintenance = parseBoolean(b, 8);
+        if (fieldError) return null;
+        try {
+            return Truck.restore(string(b, 1), string(b, 2), maxSpeed, numWheels,
+                    fuelLevel, cargo, mileage, maintenance);
+        } catch (InvalidOperationException e) {
+            return null;
+        }
+    }
+
+    private Vehicle parseBus(byte[] b) {
+        if (fieldCount < 10 || isBlank(b, 1)) return null;
+        double maxSpeed = parseDouble(b, 3);
+        int numWheels = parseInt(b, 4);
+        double fuelLevel = parseDouble(b, 5);
+        int passengers = parseInt(b, 6);
+        double cargo = parseDouble(b, 7);
+        double mileage = parseDouble(b, 8);
+        boolean maintenance = parseBoolean(b, 9);
+        if (fieldError) return null;
+        try {
+            return Bus.restore(string(b, 1), string(b, 2), maxSpeed, numWheels,
+                    fuelLevel, passengers, cargo, mileage, maintenance);
+        } catch (InvalidOperationException e) {
+            return null;
+        }
+    }
+
+    private Vehicle parseAirplane(byte[] b) {
+        if (fieldCount < 10 || isBlank(b, 1)) return null;
+        double maxSpeed = parseDouble(b, 3);
+        double maxAltitude = parseDouble(b, 4);
+        double fuelLevel = parseDouble(b, 5);
+        int passengers = parseInt(b, 6);
+        double cargo = parseDouble(b, 7);
+        double mileage = parseDouble(b, 8);
+        boolean maintenance = parseBoolean(b, 9);
+        if (fieldError) return null;
+        try {
+            return Airplane.restore(string(b, 1), string(b, 2), maxSpeed, maxAltitude,
+                    fuelLevel, passengers, cargo, mileage, maintenance);
+        } catch (InvalidOperationException e) {
+            return null;
+        }
+    }
+
+    private Vehicle parseCargoShip(byte[] b) {
+        if (fieldCount < 9 || isBlank(b, 1)) return null;
+        double maxSpeed = parseDouble(b, 3);
+        boolean hasSail = parseBoolean(b, 4);
+        double fuelLevel = parseDouble(b, 5);
+        double cargo = parseDouble(b, 6);
+        double mileage = parseDouble(b, 7);
+        boolean maintenance = parseBoolean(b, 8);
+        if (fieldError) return null;
+        try {
+            return CargoShip.restore(string(b, 1), string(b, 2), maxSpeed, hasSail,
+                    fuelLevel, cargo, mileage, maintenance);
+        } catch (InvalidOperationException e) {
+            return null;
+        }
+    }
+
+    // Records field boundaries; like String.split, trailing empty fields are not counted
+    private void split(byte[] buffer, int start, int end) {
+        int count = 0;
+        int nonEmpty = 0;
+        int fieldBegin = start;
+        for (int i = start; i <= end; i++) {
+            if (i == end || buffer[i] == ',') {
+                if (count < MAX_FIELDS) {
+                    fieldStart[count] = fieldBegin;
+                    fieldEnd[count] = i;
+                }
+                count++;
+                if (i > fieldBegin) {
+                    nonEmpty = count;
+                }
+                fieldBegin = i + 1;
+            }
+        }
+        fieldCount = nonEmpty;
+    }
+
+    private boolean fieldIs(byte[] buffer, int field, byte[] expected) {
+        int start = fieldStart[field];
+        if (fieldEnd[field] - start != expected.length) {
+            return false;
+        }
+        for (int i = 0; i < expected.length; i++) {
+            if (buffer[start + i] != expected[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    // Vehicle rejects IDs that are empty after trim(), i.e. contain only chars <= ' '
+    private boolean isBlank(byte[] buffer, int field) {
+        for (int i = fieldStart[field]; i < fieldEnd[field]; i++) {
+            if ((buffer[i] & 0xff) > ' ') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String string(byte[] buffer, int field) {
+        return new String(buffer, fieldStart[field], fieldEnd[field] - fieldStart[field], StandardCharsets.UTF_8);
+    }
+
+    // Same acceptance as Integer.parseInt: optional sign, decimal digits, no surrounding spaces
+    private int parseInt(byte[] buffer, int field) {
+        int i = fieldStart[field];
+        int end = fieldEnd[field];
+        boolean negative = false;
+        if (i < end && (buffer[i] == '-' || buffer[i] == '+')) {
+            negative = buffer[i] == '-';
+            i++;
+        }
+        if (i == end) {
+            fieldError = true;
+            return 0;
+        }
+        long value = 0;
+        for (; i < end; i++) {
+            int digit = buffer[i] - '0';
+            if (digit < 0 || digit > 9) {
+                fieldError = true;
+                return 0;
+            }
+            value = value * 10 + digit;
+            if (value > (long) Integer.MAX_VALUE + 1) {
+                fieldError = true;
+                return 0;
+            }
+        }
+        if (!negative && value > Integer.MAX_VALUE) {
+            fieldError = true;
+            return 0;
+        }
+        return (int) (negative ? -value : value);
+    }
+
+    // Exact for plain decimals; exponents, NaN and the like fall back to Double.parseDouble
+    private double parseDouble(byte[] buffer, int field) {
+        int i = fieldStart[field];
+        int end = fieldEnd[field];
+        while (i < end && (buffer[i] & 0xff) <= ' ') i++;
+        while (end > i && (buffer[end - 1] & 0xff) <= ' ') end--;
+
+        boolean negative = false;
+        if (i < end && (buffer[i] == '-' || buffer[i] == '+')) {
+            negative = buffer[i] == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (; i < end; i++) {
+            byte c = buffer[i];
+            if (c >= '0' && c <= '9') {
+                if (digits == 18) {
+                    return parseDoubleSlow(buffer, field);
+                }
+                mantissa = mantissa * 10 + (c - '0');
+                digits++;
+                if (fractionDigits >= 0) {
+                    fractionDigits++;
+                }
+            } else if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+            } else {
+                return parseDoubleSlow(buffer, field);
+            }
+        }
+        if (digits == 0 || mantissa > (1L << 53) || fractionDigits >= POWERS_OF_TEN.length) {
+            return parseDoubleSlow(buffer, field);
+        }
+        double value = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+        return negative ? -value : value;
+    }
+
+    private double parseDoubleSlow(byte[] buffer, int field) {
+        try {
+            return Double.parseDouble(new String(buffer, fieldStart[field],
+                    fieldEnd[field] - fieldStart[field], StandardCharsets.ISO_8859_1));
+        } catch (NumberFormatException e) {
+            fieldError = true;
+            return 0;
+        }
+    }
+
+    // Same result as Boolean.parseBoolean: true only for a case-insensitive "true"
+    private boolean parseBoolean(byte[] buffer, int field) {
+        int start = fieldStart[field];
+        if (fieldEnd[field] - start != 4) {
+            return false;
+        }
+        return (buffer[start] | 0x20) == 't' && (buffer[start + 1] | 0x20) == 'r'
+                && (buffer[start + 2] | 0x20) == 'u' && (buffer[start + 3] | 0x20) == 'e';
+    }
+
+    private static String text(byte[] buffer, int start, int end) {
+        return new String(buffer, start, end - start, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] bytes(String text) {
+        return text.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,11 @@
+package fleetmanagement.io;
+
+public enum FleetFileFormat {
+    CSV,
+    BINARY;
+
+    // Snapshot files are recognised by extension; everything else is treated as CSV
+    public static FleetFileFormat forFilename(String filename) {
+        return filename.endsWith(BinarySnapshot.EXTENSION) ? BINARY : CSV;
+    }
+}
@@ -0,0 +1,237 @@
+package fleetmanagement.io;
+
+import fleetmanagement.events.FleetEvents;
+import fleetmanagement.vehicles.Vehicle;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.CRC32;
+
+// Append-only log of fleet mutations. Each record carries the full post-change state of one
+// vehicle (or an ID to remove), so replay is idempotent and can be applied on top of any newer snapshot.
+//   record : int payload length, int CRC32 of payload, payload
+//   payload: byte op, then a BinarySnapshot vehicle record (ADD, STATE) or int length + UTF-8 ID (REMOVE)
+public final class FleetJournal implements AutoCloseable {
+    public enum SyncPolicy {
+        ALWAYS,     // force to disk before append returns
+        INTERVAL,   // group commit: buffered records are written and forced together every interval
+        NEVER       // leave flushing to the OS; force only on close and compaction
+    }
+
+    public static final long DEFAULT_COMPACTION_BYTES = 64L * 1024 * 1024;
+
+    private static final byte ADD = 1;
+    private static final byte STATE = 2;
+    private static final byte REMOVE = 3;
+    private static final int BUFFER_SIZE = 256 * 1024;
+    private static final int RECORD_HEADER = 8;
+
+    private final Path file;
+    private final FileChannel channel;
+    private final SyncPolicy policy;
+    private final long compactionBytes;
+    private final CRC32 crc = new CRC32();
+    private ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    private ScheduledExecutorService flusher;
+    private long size;
+    private boolean dirty;
+
+    public FleetJournal(Path file, SyncPolicy policy, long syncIntervalMillis, long compactionBytes) throws IOException {
+        this.file = file;
+        this.policy = policy;
+        this.compactionBytes = compactionBytes;
+        this.channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ,
+                StandardOpenOption.WRITE);
+        // Drop a torn tail left by a crash so new records follow the last complete one
+        this.size = validLength(channel);
+        channel.truncate(size);
+        channel.position(size);
+        if (policy == SyncPolicy.INTERVAL) {
+            flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "fleet-journal-flusher");
+                thread.setDaemon(true);
+                return thread;
+            });
+            flusher.scheduleWithFixedDelay(this::commitQuietly, syncIntervalMillis, syncIntervalMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public Path getFile() { return file; }
+
+    public synchronized long size() { return size + buffer.position(); }
+
+    public boolean needsCompaction() {
+        return size() >= compactionBytes;
+    }
+
+    public synchronized void recordAdd(Vehicle vehicle) throws IOException {
+        appendVehicle(ADD, vehicle);
+    }
+
+    public synchronized void recordState(Vehicle vehicle) throws IOException {
+        appendVehicle(STATE, vehicle);
+    }
+
+    public synchronized void recordRemove(String id) throws IOException {
+        byte[] idBytes = id.getBytes(StandardCharsets.UTF_8);
+        int payload = 1 + 4 + idBytes.length;
+        ensure(RECORD_HEADER + payload);
+        int start = buffer.position();
+        buffer.position(start + RECORD_HEADER);
+        buffer.put(REMOVE).putInt(idBytes.length).put(idBytes);
+        finishRecord(start, payload);
+    }
+
+    // Writes everything appended so far as one group and forces it unless the policy is NEVER
+    public synchronized void commit() throws IOException {
+        write();
+        if (dirty && policy != SyncPolicy.NEVER) {
+            sync();
+        }
+    }
+
+    public synchronized void sync() throws IOException {
+        write();
+        channel.force(false);
+        dirty = false;
+    }
+
+    // Called after a snapshot covering every journaled change has been durably written
+    public synchronized void reset() throws IOException {
+        buffer.clear();
+        channel.truncate(0);
+        channel.position(0);
+        channel.force(true);
+        size = 0;
+        dirty = false;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (flusher != null) {
+            flusher.shutdownNow();
+        }
+        sync();
+        channel.close();
+    }
+
+    // Applies every complete record to the map of vehicles by ID; a truncated or corrupt tail is ignored
+    public static int replay(Path file, Map<String, Vehicle> fleet) throws IOException {
+        if (!Files.exists(file)) {
+            return 0;
+        }
+        int applied = 0;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, validLength(channel));
+            while (data.hasRemaining()) {
+                int payload = data.getInt();
+                data.getInt();
+                int end = data.position() + payload;
+                byte op = data.get();
+                if (op == REMOVE) {
+                    byte[] id = new byte[data.getInt()];
+                    data.get(id);
+                    fleet.remove(new String(id, StandardCharsets.UTF_8));
+                } else {
+                    data.getInt();
+                    Vehicle vehicle = BinarySnapshot.decode(data);
+                    fleet.put(vehicle.getId(), vehicle);
+                }
+                data.position(end);
+                applied++;
+            }
+        }
+        return applied;
+    }
+
+    private void appendVehicle(byte op, Vehicle vehicle) throws IOException {
+        byte[] id = vehicle.getId().getBytes(StandardCharsets.UTF_8);
+        byte[] model = vehicle.getModel().getBytes(StandardCharsets.UTF_8);
+        int recordSize = BinarySnapshot.recordSize(vehicle, id, model);
+        int payload = 1 + 4 + recordSize;
+        ensure(RECORD_HEADER + payload);
+        int start = buffer.position();
+        buffer.position(start + RECORD_HEADER);
+        buffer.put(op).putInt(recordSize);
+        BinarySnapshot.encode(buffer, vehicle, id, model);
+        finishRecord(start, payload);
+    }
+
+    private void finishRecord(int start, int payload) throws IOException {
+        ByteBuffer view = buffer.duplicate();
+        view.position(start + RECORD_HEADER).limit(start + RECORD_HEADER + payload);
+        crc.reset();
+        crc.update(view);
+        buffer.putInt(start, payload);
+        buffer.putInt(start + 4, (int) crc.getValue());
+        if (policy == SyncPolicy.ALWAYS) {
+            commit();
+        }
+    }
+
+    private void ensure(int bytes) throws IOException {
+        if (buffer.remaining() < bytes) {
+            write();
+            if (buffer.capacity() < bytes) {
+                buffer = ByteBuffer.allocateDirect(bytes);
+            }
+        }
+    }
+
+    private void write() throws IOException {
+        if (buffer.position() == 0) {
+            return;
+        }
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            size += channel.write(buffer);
+        }
+        buffer.clear();
+        dirty = true;
+    }
+
+    private void commitQuietly() {
+        try {
+            commit();
+        } catch (IOException e) {
+            FleetEvents.sink().journalFlushFailed(e);
+        }
+    }
+
+    // Length of the prefix made of complete records with matching checksums
+    private static long validLength(FileChannel channel) throws IOException {
+        long length = channel.size();
+        if (length == 0) {
+            return 0;
+        }
+        ByteBuffer data = channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+        CRC32 checksum = new CRC32();
+        long valid = 0;
+        while (data.remaining() >= RECORD_HEADER) {
+            int payload = data.getInt();
+            int expected = data.getInt();
+            if (payload <= 0 || payload > data.remaining()) {
+                break;
+            }
+            ByteBuffer body = data.slice(data.position(), payload);
+            checksum.reset();
+            checksum.update(body);
+            if ((int) checksum.getValue() != expected) {
+                break;
+            }
+            data.position(data.position() + payload);
+            valid = data.position();
+        }
+        return valid;
+    }
+}
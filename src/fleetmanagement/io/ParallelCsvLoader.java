@@ -0,0 +1,147 @@
+package fleetmanagement.io;
+
+import fleetmanagement.vehicles.Vehicle;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+// Memory-maps a CSV file, parses newline-aligned chunks in parallel and merges them in file order.
+// Vehicles, error messages and line numbers are identical to a sequential CsvFleetReader pass.
+public class ParallelCsvLoader {
+    public static final int DEFAULT_CHUNK_SIZE = 8 * 1024 * 1024;
+
+    private static final int BOUNDARY_WINDOW = 64 * 1024;
+
+    private final ForkJoinPool pool;
+    private final int chunkSize;
+
+    public ParallelCsvLoader(ForkJoinPool pool) {
+        this(pool, DEFAULT_CHUNK_SIZE);
+    }
+
+    public ParallelCsvLoader(ForkJoinPool pool, int chunkSize) {
+        this.pool = pool;
+        this.chunkSize = chunkSize;
+    }
+
+    public List<Vehicle> load(Path file, ParseErrorCollector errors) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            List<ChunkTask> tasks = new ArrayList<>();
+            long size = channel.size();
+            long start = 0;
+            while (start < size) {
+                long end = lineBoundary(channel, Math.min(size, start + chunkSize), size);
+                tasks.add(new ChunkTask(channel, start, end));
+                start = end;
+            }
+
+            for (ChunkTask task : tasks) {
+                pool.execute(task);
+            }
+
+            List<Vehicle> vehicles = new ArrayList<>();
+            Set<String> ids = new HashSet<>();
+            long lineOffset = 0;
+            for (ChunkTask task : tasks) {
+                ChunkResult result = task.join();
+                if (result.failure != null) {
+                    throw result.failure;
+                }
+                merge(result, lineOffset, vehicles, ids, errors);
+                lineOffset += result.lineCount;
+            }
+            return vehicles;
+        }
+    }
+
+    // Walks a chunk's vehicles and errors together in line order so messages come out as in a sequential load
+    private static void merge(ChunkResult result, long lineOffset, List<Vehicle> vehicles,
+                              Set<String> ids, ParseErrorCollector errors) {
+        List<ParseError> chunkErrors = result.errors.getErrors();
+        int errorIndex = 0;
+        for (int i = 0; i < result.vehicles.size(); i++) {
+            long line = result.lines[i];
+            while (errorIndex < chunkErrors.size() && chunkErrors.get(errorIndex).getLineNumber() < line) {
+                ParseError error = chunkErrors.get(errorIndex++);
+                errors.reject(error.getLineNumber() + lineOffset, error.getReason());
+            }
+            Vehicle vehicle = result.vehicles.get(i);
+            if (ids.add(vehicle.getId())) {
+                vehicles.add(vehicle);
+            } else {
+                errors.reject(line + lineOffset, "Duplicate vehicle ID: " + vehicle.getId());
+            }
+        }
+        while (errorIndex < chunkErrors.size()) {
+            ParseError error = chunkErrors.get(errorIndex++);
+            errors.reject(error.getLineNumber() + lineOffset, error.getReason());
+        }
+    }
+
+    // Returns the offset just past the first newline at or after position (or the file size)
+    private static long lineBoundary(FileChannel channel, long position, long size) throws IOException {
+        while (position < size) {
+            int window = (int) Math.min(BOUNDARY_WINDOW, size - position);
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, position, window);
+            for (int i = 0; i < window; i++) {
+                if (buffer.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += window;
+        }
+        return size;
+    }
+
+    private static class ChunkResult {
+        final List<Vehicle> vehicles = new ArrayList<>();
+        long[] lines = new long[1024];
+        final ParseErrorList errors = new ParseErrorList();
+        long lineCount;
+        IOException failure;
+    }
+
+    // Serializable only because ForkJoinTask is; tasks are never serialized
+    @SuppressWarnings("serial")
+    private static class ChunkTask extends RecursiveTask<ChunkResult> {
+        private final FileChannel channel;
+        private final long start;
+        private final long end;
+
+        ChunkTask(FileChannel channel, long start, long end) {
+            this.channel = channel;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected ChunkResult compute() {
+            ChunkResult result = new ChunkResult();
+            try {
+                int length = (int) (end - start);
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+                byte[] bytes = new byte[length];
+                mapped.get(bytes);
+
+                CsvFleetReader reader = new CsvFleetReader(result.errors);
+                result.lineCount = reader.parse(bytes, 0, length, 1, (vehicle, lineNumber) -> {
+                    int index = result.vehicles.size();
+                    if (index == result.lines.length) {
+                        result.lines = Arrays.copyOf(result.lines, index * 2);
+                    }
+                    result.lines[index] = lineNumber;
+                    result.vehicles.add(vehicle);
+                });
+            } catch (IOException e) {
+                result.failure = e;
+            }
+            return result;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package fleetmanagement.io;
+
+public class ParseError {
+    private final long lineNumber;
+    private final String reason;
+
+    public ParseError(long lineNumber, String reason) {
+        this.lineNumber = lineNumber;
+        this.reason = reason;
+    }
+
+    public long getLineNumber() { return lineNumber; }
+    public String getReason() { return reason; }
+
+    @Override
+    public String toString() {
+        return "line " + lineNumber + ": " + reason;
+    }
+}
@@ -0,0 +1,5 @@
+package fleetmanagement.io;
+
+public interface ParseErrorCollector {
+    void reject(long lineNumber, String reason);
+}
@@ -0,0 +1,22 @@
+package fleetmanagement.io;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class ParseErrorList implements ParseErrorCollector {
+    private final List<ParseError> errors = new ArrayList<>();
+
+    @Override
+    public void reject(long lineNumber, String reason) {
+        errors.add(new ParseError(lineNumber, reason));
+    }
+
+    public List<ParseError> getErrors() { return errors; }
+    public int size() { return errors.size(); }
+
+    public void replayTo(ParseErrorCollector target) {
+        for (ParseError error : errors) {
+            target.reject(error.getLineNumber(), error.getReason());
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package fleetmanagement.metrics;
+
+import java.util.concurrent.atomic.LongAdder;
+
+// Monotonic count; increments from many threads land in separate cells instead of contending
+public class Counter {
+    private final LongAdder count = new LongAdder();
+
+    public void increment() {
+        count.increment();
+    }
+
+    public void add(long amount) {
+        count.add(amount);
+    }
+
+    public long get() {
+        return count.sum();
+    }
+}
@@ -0,0 +1,122 @@
+package fleetmanagement.metrics;
+
+import java.io.PrintStream;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+// Named counters and latency histograms. A metric is identified by a name plus tag pairs, written
+// as name{key=value,...}; looking one up creates it on first use. Hot paths should look metrics
+// up once and keep the handle, since building the key allocates.
+public class MetricsRegistry {
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, LatencyHistogram> histograms = new ConcurrentHashMap<>();
+    private ScheduledExecutorService dumper;
+
+    // Tags are alternating keys and values
+    public Counter counter(String name, String... tags) {
+        return counters.computeIfAbsent(key(name, tags), k -> new Counter());
+    }
+
+    public LatencyHistogram histogram(String name, String... tags) {
+        return histograms.computeIfAbsent(key(name, tags), k -> new LatencyHistogram());
+    }
+
+    // Current value, or 0 for a counter that was never created
+    public long count(String name, String... tags) {
+        Counter counter = counters.get(key(name, tags));
+        return counter != null ? counter.get() : 0;
+    }
+
+    // Sum of every counter with this name whose tags include the given pairs
+    public long sum(String name, String... tags) {
+        long total = 0;
+        for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+            if (matches(entry.getKey(), name, tags)) {
+                total += entry.getValue().get();
+            }
+        }
+        return total;
+    }
+
+    public SortedMap<String, Long> getCounters() {
+        SortedMap<String, Long> snapshot = new TreeMap<>();
+        for (Map.Entry<String, Counter> entry : counters.entrySet()) {
+            snapshot.put(entry.getKey(), entry.getValue().get());
+        }
+        return snapshot;
+    }
+
+    public SortedMap<String, LatencyHistogram> getHistograms() {
+        return new TreeMap<>(histograms);
+    }
+
+    // One line per metric, sorted by key; untouched metrics are left out
+    public String dump() {
+        StringBuilder out = new StringBuilder();
+        for (Map.Entry<String, Long> entry : getCounters().entrySet()) {
+            if (entry.getValue() != 0) {
+                out.append(entry.getKey()).append(' ').append(entry.getValue()).append('\n');
+            }
+        }
+        for (Map.Entry<String, LatencyHistogram> entry : getHistograms().entrySet()) {
+            if (entry.getValue().getCount() != 0) {
+                out.append(entry.getKey()).append(' ').append(entry.getValue().summary()).append('\n');
+            }
+        }
+        return out.toString();
+    }
+
+    // Replaces any dump already scheduled
+    public synchronized void startPeriodicDump(PrintStream out, long periodMillis) {
+        stopPeriodicDump();
+        dumper = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "fleet-metrics-dump");
+            thread.setDaemon(true);
+            return thread;
+        });
+        dumper.scheduleAtFixedRate(() -> out.print(dump()), periodMillis, periodMillis, TimeUnit.MILLISECONDS);
+    }
+
+    public synchronized void stopPeriodicDump() {
+        if (dumper != null) {
+            dumper.shutdownNow();
+            dumper = null;
+        }
+    }
+
+    static String key(String name, String... tags) {
+        if (tags.length % 2 != 0) {
+            throw new IllegalArgumentException("Tags must be key/value pairs: " + String.join(",", tags));
+        }
+        if (tags.length == 0) {
+            return name;
+        }
+        StringBuilder key = new StringBuilder(name).append('{');
+        for (int i = 0; i < tags.length; i += 2) {
+            if (i > 0) {
+                key.append(',');
+            }
+            key.append(tags[i]).append('=').append(tags[i + 1]);
+        }
+        return key.append('}').toString();
+    }
+
+    private static boolean matches(String key, String name, String... tags) {
+        if (!key.equals(name) && !key.startsWith(name + "{")) {
+            return false;
+        }
+        for (int i = 0; i + 1 < tags.length; i += 2) {
+            String pair = tags[i] + "=" + tags[i + 1];
+            if (!key.contains("{" + pair + ",") && !key.contains("," + pair + ",")
+                    && !key.contains("{" + pair + "}") && !key.contains("," + pair + "}")) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
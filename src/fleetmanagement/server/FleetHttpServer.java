@@ -0,0 +1,403 @@
+package fleetmanagement.server;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import fleetmanagement.events.FleetEvents;
+import fleetmanagement.exceptions.InvalidOperationException;
+import fleetmanagement.fleet.FleetManager;
+import fleetmanagement.fleet.JourneyBatchResult;
+import fleetmanagement.interfaces.FuelConsumable;
+import fleetmanagement.interfaces.OperationStatus;
+import fleetmanagement.vehicles.Airplane;
+import fleetmanagement.vehicles.Bus;
+import fleetmanagement.vehicles.Car;
+import fleetmanagement.vehicles.CargoShip;
+import fleetmanagement.vehicles.Truck;
+import fleetmanagement.vehicles.Vehicle;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// The CLI menu operations over HTTP, one virtual thread per request. Parameters come from the query
+// string or a form-encoded body; responses are plain text in the CLI's wording.
+//   POST   /vehicles?type=car|truck|bus|airplane|cargoship&id=&model=&maxSpeed=
+//                    &wheels= (road) | &altitude= (airplane) | &sail= (ship)  [&fuel=]
+//   GET    /vehicles/{id}          DELETE /vehicles/{id}
+//   POST   /journeys?distance=     [&id=]   whole fleet, or one vehicle
+//   POST   /refuel?amount=         [&id=]
+//   POST   /maintenance
+//   GET    /report                 GET /metrics
+//   GET    /search?type=car|truck|bus|airplane|cargoship|fuel|maintenance
+//   POST   /save?file=             POST /load?file=
+// Files are plain names inside the data directory, so requests cannot reach elsewhere on disk. As in
+// the CLI, save and load failures are reported through the fleet event sink; the client gets 500.
+// Bad parameters get 400, unknown vehicles 404 and rejected operations 409.
+public class FleetHttpServer implements AutoCloseable {
+    static {
+        // The JDK server writes headers and body separately; with Nagle's algorithm the body then
+        // waits for the client's delayed ACK, adding ~40ms to every request. Read when the first
+        // server is created, so this must run before that.
+        if (System.getProperty("sun.net.httpserver.nodelay") == null) {
+            System.setProperty("sun.net.httpserver.nodelay", "true");
+        }
+    }
+
+    private final FleetManager fleetManager;
+    private final Path dataDirectory;
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public FleetHttpServer(FleetManager fleetManager, Path dataDirectory, InetSocketAddress address) throws IOException {
+        this.fleetManager = fleetManager;
+        this.dataDirectory = dataDirectory;
+        this.server = HttpServer.create(address, 0);
+        server.setExecutor(executor);
+        server.createContext("/vehicles", exchange -> handle(exchange, this::vehicles));
+        server.createContext("/journeys", exchange -> handle(exchange, this::journeys));
+        server.createContext("/refuel", exchange -> handle(exchange, this::refuel));
+        server.createContext("/maintenance", exchange -> handle(exchange, this::maintenance));
+        server.createContext("/report", exchange -> handle(exchange, this::report));
+        server.createContext("/metrics", exchange -> handle(exchange, this::metrics));
+        server.createContext("/search", exchange -> handle(exchange, this::search));
+        server.createContext("/save", exchange -> handle(exchange, this::save));
+        server.createContext("/load", exchange -> handle(exchange, this::load));
+    }
+
+    public void start() {
+        server.start();
+    }
+
+    // Actual port, for servers bound to port 0
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+
+    @Override
+    public void close() {
+        server.stop(1);
+        executor.close();
+    }
+
+    private interface Endpoint {
+        Response serve(Request request) throws Exception;
+    }
+
+    private static class Request {
+        final String method;
+        final String path;
+        final Map<String, String> parameters;
+
+        Request(String method, String path, Map<String, String> parameters) {
+            this.method = method;
+            this.path = path;
+            this.parameters = parameters;
+        }
+
+        String text(String name) {
+            String value = parameters.get(name);
+            if (value == null || value.isEmpty()) {
+                throw new IllegalArgumentException("Missing parameter: " + name);
+            }
+            return value;
+        }
+
+        double number(String name) {
+            try {
+                return Double.parseDouble(text(name));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Parameter " + name + " must be a number");
+            }
+        }
+
+        // Double.parseDouble accepts NaN and Infinity, which no vehicle guard rejects
+        double positive(String name, String message) {
+            double value = number(name);
+            if (!(value > 0) || Double.isInfinite(value)) {
+                throw new IllegalArgumentException(message);
+            }
+            return value;
+        }
+
+        int integer(String name) {
+            try {
+                return Integer.parseInt(text(name));
+            } catch (NumberFormatException e) {
+                throw new IllegalArgumentException("Parameter " + name + " must be an integer");
+            }
+        }
+
+        boolean flag(String name) {
+            String value = text(name).toLowerCase();
+            if (value.equals("true") || value.equals("yes") || value.equals("y")) {
+                return true;
+            }
+            if (value.equals("false") || value.equals("no") || value.equals("n")) {
+                return false;
+            }
+            throw new IllegalArgumentException("Parameter " + name + " must be true or false");
+        }
+    }
+
+    private static class Response {
+        final int status;
+        final String body;
+
+        Response(int status, String body) {
+            this.status = status;
+            this.body = body;
+        }
+    }
+
+    private static Response ok(String body) {
+        return new Response(200, body);
+    }
+
+    private static Response error(int status, String message) {
+        return new Response(status, "Error: " + message);
+    }
+
+    private void handle(HttpExchange exchange, Endpoint endpoint) throws IOException {
+        Response response = null;
+        try {
+            response = endpoint.serve(parse(exchange));
+        } catch (IllegalArgumentException e) {
+            response = error(400, e.getMessage());
+        } catch (InvalidOperationException e) {
+            response = error(409, e.getMessage());
+        } catch (Exception e) {
+            // The detail stays in the server's log rather than telling clients about its internals
+            FleetEvents.sink().requestFailed(exchange.getRequestMethod() + " " + exchange.getRequestURI().getPath(), e);
+            response = error(500, "Internal server error");
+        } finally {
+            // Still null when an Error escaped; the client gets an answer before it propagates
+            if (response == null) {
+                response = error(500, "Internal server error");
+            }
+            send(exchange, response);
+        }
+    }
+
+    private static void send(HttpExchange exchange, Response response) throws IOException {
+        byte[] body = (response.body + "\n").getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "text/plain; charset=utf-8");
+        exchange.sendResponseHeaders(response.status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+
+    private static Request parse(HttpExchange exchange) throws IOException {
+        Map<String, String> parameters = new HashMap<>();
+        decode(exchange.getRequestURI().getRawQuery(), parameters);
+        try (InputStream in = exchange.getRequestBody()) {
+            String contentType = exchange.getRequestHeaders().getFirst("Content-Type");
+            byte[] body = in.readAllBytes();
+            if (contentType != null && contentType.startsWith("application/x-www-form-urlencoded")) {
+                decode(new String(body, StandardCharsets.UTF_8), parameters);
+            }
+        }
+        return new Request(exchange.getRequestMethod(), exchange.getRequestURI().getPath(), parameters);
+    }
+
+    private static void decode(String form, Map<String, String> parameters) {
+        if (form == null || form.isEmpty()) {
+            return;
+        }
+        for (String pair : form.split("&")) {
+            int equals = pair.indexOf('=');
+            String name = equals < 0 ? pair : pair.substring(0, equals);
+            String value = equals < 0 ? "" : pair.substring(equals + 1);
+            parameters.put(URLDecoder.decode(name, StandardCharsets.UTF_8), URLDecoder.decode(value, StandardCharsets.UTF_8));
+        }
+    }
+
+    private Response vehicles(Request request) throws Exception {
+        if (!request.path.equals("/vehicles") && !request.path.startsWith("/vehicles/")) {
+            return error(404, "No such endpoint: " + request.path);
+        }
+        String id = request.path.length() > "/vehicles/".length() ? request.path.substring("/vehicles/".length()) : null;
+        if (id == null) {
+            if (!request.method.equals("POST")) {
+                return error(405, request.method + " not allowed");
+            }
+            return addVehicle(request);
+        }
+        switch (request.method) {
+            case "GET": {
+                Vehicle vehicle = fleetManager.getById(id);
+                return vehicle == null ? error(404, "Vehicle with ID " + id + " not found") : ok(vehicle.getDetails());
+            }
+            case "DELETE":
+                // Not found is the only way removeVehicle fails; checking first would race with
+                // another request removing the same vehicle
+                try {
+                    fleetManager.removeVehicle(id);
+                } catch (InvalidOperationException e) {
+                    return error(404, e.getMessage());
+                }
+                return ok("Vehicle removed successfully!");
+            default:
+                return error(405, request.method + " not allowed");
+        }
+    }
+
+    private Response addVehicle(Request request) throws InvalidOperationException {
+        String id = request.text("id");
+        String model = request.text("model");
+        double maxSpeed = request.number("maxSpeed");
+        Vehicle vehicle;
+        switch (request.text("type").toLowerCase()) {
+            case "car":
+                vehicle = new Car(id, model, maxSpeed, request.integer("wheels"));
+                break;
+            case "truck":
+                vehicle = new Truck(id, model, maxSpeed, request.integer("wheels"));
+                break;
+            case "bus":
+                vehicle = new Bus(id, model, maxSpeed, request.integer("wheels"));
+                break;
+            case "airplane":
+                vehicle = new Airplane(id, model, maxSpeed, request.number("altitude"));
+                break;
+            case "cargoship":
+                vehicle = new CargoShip(id, model, maxSpeed, request.flag("sail"));
+                break;
+            default:
+                throw new IllegalArgumentException("Unknown vehicle type: " + request.text("type"));
+        }
+        // Fuelled before it is added, so a rejected amount leaves the fleet unchanged
+        if (request.parameters.containsKey("fuel") && vehicle instanceof FuelConsumable) {
+            ((FuelConsumable) vehicle).refuel(request.positive("fuel", "Fuel amount must be positive!"));
+        }
+        fleetManager.addVehicle(vehicle);
+        return new Response(201, "Vehicle added successfully!");
+    }
+
+    private Response journeys(Request request) {
+        if (!request.method.equals("POST")) {
+            return error(405, request.method + " not allowed");
+        }
+        double distance = request.positive("distance", "Distance must be positive!");
+        String id = request.parameters.get("id");
+        if (id == null) {
+            fleetManager.startAllJourneys(distance);
+            return ok("Journey completed for all vehicles!");
+        }
+        JourneyBatchResult result = fleetManager.dispatchJourneys(new String[] {id}, new double[] {distance});
+        OperationStatus status = result.getStatus(0);
+        switch (status) {
+            case SUCCESS:
+                return ok(String.format("Journey completed for %s: %.2f fuel used, mileage %.1f km",
+                        id, result.getFuelConsumed(0), result.getNewMileage(0)));
+            case NOT_FOUND:
+                return error(404, "Vehicle with ID " + id + " not found");
+            default:
+                return error(409, "Journey failed for " + id + ": " + status);
+        }
+    }
+
+    private Response refuel(Request request) throws InvalidOperationException {
+        if (!request.method.equals("POST")) {
+            return error(405, request.method + " not allowed");
+        }
+        double amount = request.positive("amount", "Fuel amount must be positive!");
+        String id = request.parameters.get("id");
+        if (id == null) {
+            fleetManager.refuelAll(amount);
+            return ok("All vehicles refueled!");
+        }
+        Vehicle vehicle = fleetManager.getById(id);
+        if (vehicle == null) {
+            return error(404, "Vehicle with ID " + id + " not found");
+        }
+        if (!(vehicle instanceof FuelConsumable)) {
+            return error(409, vehicle.getId() + " does not use fuel");
+        }
+        ((FuelConsumable) vehicle).refuel(amount);
+        return ok(String.format("Vehicle %s refueled, fuel level %.2f", id, ((FuelConsumable) vehicle).getFuelLevel()));
+    }
+
+    private Response maintenance(Request request) {
+        if (!request.method.equals("POST")) {
+            return error(405, request.method + " not allowed");
+        }
+        fleetManager.maintainAll();
+        return ok("Maintenance completed for all vehicles needing it!");
+    }
+
+    private Response report(Request request) {
+        return ok(fleetManager.generateReport());
+    }
+
+    private Response metrics(Request request) {
+        return ok(fleetManager.getMetrics().dump());
+    }
+
+    private Response search(Request request) {
+        List<Vehicle> results;
+        switch (request.text("type").toLowerCase()) {
+            case "car": results = fleetManager.searchByType(Car.class); break;
+            case "truck": results = fleetManager.searchByType(Truck.class); break;
+            case "bus": results = fleetManager.searchByType(Bus.class); break;
+            case "airplane": results = fleetManager.searchByType(Airplane.class); break;
+            case "cargoship": results = fleetManager.searchByType(CargoShip.class); break;
+            case "fuel": results = fleetManager.searchByType(FuelConsumable.class); break;
+            case "maintenance": results = fleetManager.getVehiclesNeedingMaintenance(); break;
+            default:
+                throw new IllegalArgumentException("Unknown search type: " + request.text("type"));
+        }
+        if (results.isEmpty()) {
+            return ok("No vehicles found.");
+        }
+        StringBuilder body = new StringBuilder("Found ").append(results.size()).append(" vehicles:");
+        for (int i = 0; i < results.size(); i++) {
+            body.append('\n').append(i + 1).append(". ").append(results.get(i).getDetails());
+        }
+        return ok(body.toString());
+    }
+
+    private Response save(Request request) {
+        if (!request.method.equals("POST")) {
+            return error(405, request.method + " not allowed");
+        }
+        String file = request.text("file");
+        if (!fleetManager.saveToFile(resolve(file).toString())) {
+            return error(500, "Could not save fleet to " + file);
+        }
+        return ok("Fleet saved successfully to " + file);
+    }
+
+    private Response load(Request request) {
+        if (!request.method.equals("POST")) {
+            return error(405, request.method + " not allowed");
+        }
+        String file = request.text("file");
+        Path path = resolve(file);
+        if (!Files.isRegularFile(path)) {
+            return error(404, "No such file: " + file);
+        }
+        if (!fleetManager.loadFromFile(path.toString())) {
+            return error(500, "Could not load fleet from " + file);
+        }
+        return ok("Fleet loaded successfully from " + file);
+    }
+
+    private Path resolve(String file) {
+        Path name = Path.of(file);
+        if (name.isAbsolute() || name.getNameCount() != 1 || file.equals("..") || file.equals(".")) {
+            throw new IllegalArgumentException("File must be a plain file name: " + file);
+        }
+        return dataDirectory.resolve(name);
+    }
+}
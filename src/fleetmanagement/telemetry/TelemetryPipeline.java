@@ -0,0 +1,182 @@
+package fleetmanagement.telemetry;
+
+import fleetmanagement.fleet.FleetManager;
+import fleetmanagement.metrics.Counter;
+import fleetmanagement.metrics.LatencyHistogram;
+import fleetmanagement.metrics.MetricsRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+// One producer publishes field readings into a ring; consumers apply them to the fleet in batches.
+// The publish time orders readings for a vehicle when consumers apply them out of order. publish
+// waits while the ring is full; tryPublish does not. Recorded in the fleet's registry:
+//   telemetry.lag                         publish to applied, for the oldest reading of each batch
+//   telemetry.backpressure.waits          publishes that found the ring full
+//   telemetry.backpressure.nanos          time publish spent waiting for a slot
+public final class TelemetryPipeline implements AutoCloseable {
+    public static final int DEFAULT_CAPACITY = 1 << 14;
+    private static final int BATCH_SIZE = 256;
+    private static final long IDLE_PARK_NANOS = 50_000;
+    private static final long FULL_PARK_NANOS = 10_000;
+
+    private final FleetManager fleetManager;
+    private final TelemetryRing ring;
+    private final List<Thread> consumers = new ArrayList<>();
+    private final LatencyHistogram lag;
+    private final Counter backpressureWaits;
+    private final Counter backpressureNanos;
+    private final LongAdder applied = new LongAdder();
+    private final LongAdder processed = new LongAdder();
+
+    // Written only by the producer
+    private volatile long published;
+    private volatile boolean closed;
+    private volatile RuntimeException failure;
+
+    public TelemetryPipeline(FleetManager fleetManager, int consumerCount) {
+        this(fleetManager, DEFAULT_CAPACITY, consumerCount);
+    }
+
+    public TelemetryPipeline(FleetManager fleetManager, int capacity, int consumerCount) {
+        if (consumerCount < 1) {
+            throw new IllegalArgumentException("Consumer count must be positive: " + consumerCount);
+        }
+        this.fleetManager = fleetManager;
+        this.ring = new TelemetryRing(capacity);
+        MetricsRegistry registry = fleetManager.getMetrics();
+        this.lag = registry.histogram("telemetry.lag");
+        this.backpressureWaits = registry.counter("telemetry.backpressure.waits");
+        this.backpressureNanos = registry.counter("telemetry.backpressure.nanos");
+        for (int i = 0; i < consumerCount; i++) {
+            Thread consumer = new Thread(this::consumeLoop, "fleet-telemetry-" + i);
+            consumer.setDaemon(true);
+            consumers.add(consumer);
+        }
+        for (Thread consumer : consumers) {
+            consumer.start();
+        }
+    }
+
+    // NaN marks a value that was not reported. Call from one thread at a time.
+    public void publish(String id, double odometer, double fuelLevel) {
+        long sampleTime = System.nanoTime();
+        if (tryPublish(id, sampleTime, odometer, fuelLevel)) {
+            return;
+        }
+        backpressureWaits.increment();
+        // Resume after a quarter drains, not one slot, so a shared core switches less often
+        long resumeBacklog = ring.capacity() - ring.capacity() / 4;
+        do {
+            LockSupport.parkNanos(this, FULL_PARK_NANOS);
+            // A failed consumer stops draining, so the backlog alone could wait forever
+            checkOpen();
+        } while (getBacklog() > resumeBacklog || !tryPublish(id, sampleTime, odometer, fuelLevel));
+        backpressureNanos.add(System.nanoTime() - sampleTime);
+    }
+
+    // Call from one thread at a time
+    public boolean tryPublish(String id, double odometer, double fuelLevel) {
+        return tryPublish(id, System.nanoTime(), odometer, fuelLevel);
+    }
+
+    private boolean tryPublish(String id, long sampleTime, double odometer, double fuelLevel) {
+        checkOpen();
+        if (!ring.offer(id, sampleTime, odometer, fuelLevel)) {
+            return false;
+        }
+        published++;
+        return true;
+    }
+
+    private void checkOpen() {
+        if (failure != null) {
+            throw new IllegalStateException("Telemetry consumer failed", failure);
+        }
+        if (closed) {
+            throw new IllegalStateException("Telemetry pipeline is closed");
+        }
+    }
+
+    public int getCapacity() {
+        return ring.capacity();
+    }
+
+    public long getPublishedCount() {
+        return published;
+    }
+
+    // Readings taken off the ring and passed to the fleet, applied or not
+    public long getProcessedCount() {
+        return processed.sum();
+    }
+
+    public long getAppliedCount() {
+        return applied.sum();
+    }
+
+    public long getBacklog() {
+        return published - processed.sum();
+    }
+
+    public LatencyHistogram getLag() {
+        return lag;
+    }
+
+    public long getBackpressureWaits() {
+        return backpressureWaits.get();
+    }
+
+    public long getBackpressureNanos() {
+        return backpressureNanos.get();
+    }
+
+    // Applies every reading already published, then stops the consumers
+    @Override
+    public void close() {
+        closed = true;
+        for (Thread consumer : consumers) {
+            LockSupport.unpark(consumer);
+        }
+        for (Thread consumer : consumers) {
+            try {
+                consumer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+        if (failure != null) {
+            throw new IllegalStateException("Telemetry consumer failed", failure);
+        }
+    }
+
+    private void consumeLoop() {
+        String[] ids = new String[BATCH_SIZE];
+        long[] sampleTimes = new long[BATCH_SIZE];
+        double[] odometers = new double[BATCH_SIZE];
+        double[] fuelLevels = new double[BATCH_SIZE];
+        try {
+            while (true) {
+                boolean stopping = closed;
+                int count = ring.poll(ids, sampleTimes, odometers, fuelLevels, BATCH_SIZE);
+                if (count > 0) {
+                    applied.add(fleetManager.applyTelemetry(ids, sampleTimes, odometers, fuelLevels, count));
+                    processed.add(count);
+                    // The oldest reading of the batch, to keep the histogram off the per-reading path
+                    lag.recordSince(sampleTimes[0]);
+                    continue;
+                }
+                if (stopping || failure != null) {
+                    return;
+                }
+                LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+            }
+        } catch (RuntimeException e) {
+            // Stops the producer rather than letting it wait forever on a ring nobody drains
+            failure = e;
+        }
+    }
+}
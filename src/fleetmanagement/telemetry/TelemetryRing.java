@@ -0,0 +1,83 @@
+package fleetmanagement.telemetry;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+// Single-producer, multi-consumer ring with AsyncBatchingEventSink's slot sequences. The tail needs
+// no CAS; consumers claim runs of slots by advancing the shared head.
+class TelemetryRing {
+    private final int mask;
+    private final AtomicLongArray sequences;
+    private final String[] ids;
+    private final long[] sampleTimes;
+    private final double[] odometers;
+    private final double[] fuelLevels;
+
+    // Written only by the producer
+    private long tail;
+    private final AtomicLong head = new AtomicLong();
+
+    TelemetryRing(int capacity) {
+        if (capacity < 2 || Integer.bitCount(capacity) != 1) {
+            throw new IllegalArgumentException("Capacity must be a power of two: " + capacity);
+        }
+        this.mask = capacity - 1;
+        this.sequences = new AtomicLongArray(capacity);
+        for (int i = 0; i < capacity; i++) {
+            sequences.set(i, i);
+        }
+        this.ids = new String[capacity];
+        this.sampleTimes = new long[capacity];
+        this.odometers = new double[capacity];
+        this.fuelLevels = new double[capacity];
+    }
+
+    int capacity() {
+        return mask + 1;
+    }
+
+    // Producer only; false when the slot still holds a reading from one lap ago
+    boolean offer(String id, long sampleTime, double odometer, double fuelLevel) {
+        long position = tail;
+        int slot = (int) position & mask;
+        if (sequences.getAcquire(slot) != position) {
+            return false;
+        }
+        ids[slot] = id;
+        sampleTimes[slot] = sampleTime;
+        odometers[slot] = odometer;
+        fuelLevels[slot] = fuelLevel;
+        sequences.setRelease(slot, position + 1);
+        tail = position + 1;
+        return true;
+    }
+
+    // Returns how many readings were copied out
+    int poll(String[] idsOut, long[] sampleTimesOut, double[] odometersOut, double[] fuelLevelsOut, int max) {
+        while (true) {
+            long position = head.get();
+            int available = 0;
+            while (available < max &&
+                    sequences.getAcquire((int) (position + available) & mask) == position + available + 1) {
+                available++;
+            }
+            if (available == 0) {
+                return 0;
+            }
+            // Losing the race means another consumer took some of these slots; look again from its head
+            if (!head.compareAndSet(position, position + available)) {
+                continue;
+            }
+            for (int i = 0; i < available; i++) {
+                int slot = (int) (position + i) & mask;
+                idsOut[i] = ids[slot];
+                sampleTimesOut[i] = sampleTimes[slot];
+                odometersOut[i] = odometers[slot];
+                fuelLevelsOut[i] = fuelLevels[slot];
+                ids[slot] = null;
+                sequences.setRelease(slot, position + i + mask + 1);
+            }
+            return available;
+        }
+    }
+}
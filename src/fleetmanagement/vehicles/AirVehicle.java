@@ -3,6 +3,9 @@ package fleetmanagement.vehicles;
 import fleetmanagement.exceptions.InvalidOperationException;
 
 public abstract class AirVehicle extends Vehicle {
+    // Multiplier on distance / max speed in estimateJourneyTime
+    public static final double JOURNEY_TIME_FACTOR = 0.95;
+
     private double maxAltitude;
 
     public AirVehicle(String id, String model, double maxSpeed, double maxAltitude)
@@ -18,6 +21,6 @@ public abstract class AirVehicle extends Vehicle {
     @Override
     public double estimateJourneyTime(double distance) {
         double baseline = distance / getMaxSpeed();
-        return baseline * 0.95;
+        return baseline * JOURNEY_TIME_FACTOR;
     }
 }
@@ -1,21 +1,23 @@
 package fleetmanagement.vehicles;
 
+import fleetmanagement.events.FleetEvents;
 import fleetmanagement.exceptions.InsufficientFuelException;
 import fleetmanagement.exceptions.InvalidOperationException;
 import fleetmanagement.exceptions.OverloadException;
 import fleetmanagement.interfaces.CargoCarrier;
 import fleetmanagement.interfaces.FuelConsumable;
 import fleetmanagement.interfaces.Maintainable;
+import fleetmanagement.interfaces.OperationStatus;
 import fleetmanagement.interfaces.PassengerCarrier;
 
 public class Bus extends LandVehicle implements FuelConsumable, PassengerCarrier, CargoCarrier, Maintainable {
 
-    private double fuelLevel;
+    private volatile double fuelLevel;
     private final double cargoCapacity = 500.0;
     private final int passengerCapacity = 50;
-    private int currentPassengers;
-    private double currentCargo;
-    private boolean maintenanceNeeded;
+    private volatile int currentPassengers;
+    private volatile double currentCargo;
+    private volatile boolean maintenanceNeeded;
 
     public Bus(String id, String model, double maxSpeed, int numWheels) throws InvalidOperationException {
         super(id, model, maxSpeed, numWheels);
@@ -26,16 +28,36 @@ public class Bus extends LandVehicle implements FuelConsumable, PassengerCarrier
     }
 
     @Override
-    public void move(double distance) throws InvalidOperationException {
-        if (distance < 0) throw new InvalidOperationException("Distance cannot be negative");
-        try {
-            double fuelConsumed = consumeFuel(distance);
-            addMileage(distance);
-            System.out.println("Bus moving... " + distance + " km, Fuel consumed: " +
-                    String.format("%.2f", fuelConsumed) + " liters");
-        } catch (InsufficientFuelException e) {
-            throw new InvalidOperationException("Cannot move: " + e.getMessage());
+    public synchronized void move(double distance) throws InvalidOperationException {
+        double fuelNeeded = distance / calculateFuelEfficiency();
+        OperationStatus status = tryMove(distance);
+        if (status != OperationStatus.SUCCESS) {
+            throw new InvalidOperationException(describeMoveFailure(distance, status));
         }
+        FleetEvents.sink().vehicleMoved(this, distance, fuelNeeded);
+    }
+
+    @Override
+    public String describeMove(double distance, double fuelConsumed) {
+        return "Bus moving... " + distance + " km, Fuel consumed: " +
+                String.format("%.2f", fuelConsumed) + " liters";
+    }
+
+    @Override
+    public String describeMoveFailure(double distance, OperationStatus status) {
+        if (status == OperationStatus.INVALID_AMOUNT) return "Distance cannot be negative";
+        return "Cannot move: " + insufficientFuel(distance / calculateFuelEfficiency());
+    }
+
+    @Override
+    public synchronized OperationStatus tryMove(double distance) {
+        if (distance < 0) return OperationStatus.INVALID_AMOUNT;
+        double fuelNeeded = distance / calculateFuelEfficiency();
+        if (fuelNeeded > fuelLevel) return OperationStatus.INSUFFICIENT_FUEL;
+        fuelLevel -= fuelNeeded;
+        addMileage(distance);
+        fireMoved();
+        return OperationStatus.SUCCESS;
     }
 
     @Override
@@ -49,42 +71,90 @@ public class Bus extends LandVehicle implements FuelConsumable, PassengerCarrier
     }
 
     @Override
-    public void refuel(double amount) throws InvalidOperationException {
-        if (amount <= 0) throw new InvalidOperationException("Refuel amount must be positive");
+    public synchronized void refuel(double amount) throws InvalidOperationException {
+        if (tryRefuel(amount) != OperationStatus.SUCCESS) {
+            throw new InvalidOperationException("Refuel amount must be positive");
+        }
+    }
+
+    @Override
+    public synchronized OperationStatus tryRefuel(double amount) {
+        if (amount <= 0) return OperationStatus.INVALID_AMOUNT;
         fuelLevel += amount;
+        fireStateChanged();
+        return OperationStatus.SUCCESS;
     }
 
     @Override
     public double getFuelLevel() { return fuelLevel; }
 
     @Override
-    public double consumeFuel(double distance) throws InsufficientFuelException {
+    protected void storeFuelReading(double liters) {
+        fuelLevel = liters;
+    }
+
+    @Override
+    public synchronized double consumeFuel(double distance) throws InsufficientFuelException {
         double fuelNeeded = distance / calculateFuelEfficiency();
-        if (fuelNeeded > fuelLevel) {
-            throw new InsufficientFuelException("Need " + fuelNeeded + " L but only have " + fuelLevel + " L");
+        if (tryConsumeFuel(distance) != OperationStatus.SUCCESS) {
+            throw new InsufficientFuelException(insufficientFuel(fuelNeeded));
         }
-        fuelLevel -= fuelNeeded;
         return fuelNeeded;
     }
 
     @Override
-    public void boardPassengers(int count) throws OverloadException {
-        if (count <= 0) throw new OverloadException("Passenger count must be positive");
-        if (currentPassengers + count > passengerCapacity) {
+    public synchronized OperationStatus tryConsumeFuel(double distance) {
+        double fuelNeeded = distance / calculateFuelEfficiency();
+        if (fuelNeeded > fuelLevel) return OperationStatus.INSUFFICIENT_FUEL;
+        fuelLevel -= fuelNeeded;
+        fireStateChanged();
+        return OperationStatus.SUCCESS;
+    }
+
+    private String insufficientFuel(double fuelNeeded) {
+        return "Need " + fuelNeeded + " L but only have " + fuelLevel + " L";
+    }
+
+    @Override
+    public synchronized void boardPassengers(int count) throws OverloadException {
+        OperationStatus status = tryBoard(count);
+        if (status == OperationStatus.INVALID_AMOUNT) {
+            throw new OverloadException("Passenger count must be positive");
+        }
+        if (status == OperationStatus.OVER_CAPACITY) {
             throw new OverloadException("Cannot board " + count + " passengers. Capacity: " +
                     passengerCapacity + ", Current: " + currentPassengers);
         }
+    }
+
+    @Override
+    public synchronized OperationStatus tryBoard(int count) {
+        if (count <= 0) return OperationStatus.INVALID_AMOUNT;
+        if (currentPassengers + count > passengerCapacity) return OperationStatus.OVER_CAPACITY;
         currentPassengers += count;
+        fireStateChanged();
+        return OperationStatus.SUCCESS;
     }
 
     @Override
-    public void disembarkPassengers(int count) throws InvalidOperationException {
-        if (count <= 0) throw new InvalidOperationException("Passenger count must be positive");
-        if (count > currentPassengers) {
+    public synchronized void disembarkPassengers(int count) throws InvalidOperationException {
+        OperationStatus status = tryDisembark(count);
+        if (status == OperationStatus.INVALID_AMOUNT) {
+            throw new InvalidOperationException("Passenger count must be positive");
+        }
+        if (status == OperationStatus.INSUFFICIENT_LOAD) {
             throw new InvalidOperationException("Cannot disembark " + count +
                     " passengers. Only " + currentPassengers + " onboard");
         }
+    }
+
+    @Override
+    public synchronized OperationStatus tryDisembark(int count) {
+        if (count <= 0) return OperationStatus.INVALID_AMOUNT;
+        if (count > currentPassengers) return OperationStatus.INSUFFICIENT_LOAD;
         currentPassengers -= count;
+        fireStateChanged();
+        return OperationStatus.SUCCESS;
     }
 
     @Override
@@ -93,23 +163,45 @@ public class Bus extends LandVehicle implements FuelConsumable, PassengerCarrier
     public int getCurrentPassengers() { return currentPassengers; }
 
     @Override
-    public void loadCargo(double weight) throws OverloadException {
-        if (weight <= 0) throw new OverloadException("Cargo weight must be positive");
-        if (currentCargo + weight > cargoCapacity) {
+    public synchronized void loadCargo(double weight) throws OverloadException {
+        OperationStatus status = tryLoadCargo(weight);
+        if (status == OperationStatus.INVALID_AMOUNT) {
+            throw new OverloadException("Cargo weight must be positive");
+        }
+        if (status == OperationStatus.OVER_CAPACITY) {
             throw new OverloadException("Cannot load " + weight + " kg. Capacity: " +
                     cargoCapacity + " kg, Current: " + currentCargo + " kg");
         }
+    }
+
+    @Override
+    public synchronized OperationStatus tryLoadCargo(double weight) {
+        if (weight <= 0) return OperationStatus.INVALID_AMOUNT;
+        if (currentCargo + weight > cargoCapacity) return OperationStatus.OVER_CAPACITY;
         currentCargo += weight;
+        fireStateChanged();
+        return OperationStatus.SUCCESS;
     }
 
     @Override
-    public void unloadCargo(double weight) throws InvalidOperationException {
-        if (weight <= 0) throw new InvalidOperationException("Cargo weight must be positive");
-        if (weight > currentCargo) {
+    public synchronized void unloadCargo(double weight) throws InvalidOperationException {
+        OperationStatus status = tryUnloadCargo(weight);
+        if (status == OperationStatus.INVALID_AMOUNT) {
+            throw new InvalidOperationException("Cargo weight must be positive");
+        }
+        if (status == OperationStatus.INSUFFICIENT_LOAD) {
             throw new InvalidOperationException("Cannot unload " + weight +
                     " kg. Only " + currentCargo + " kg loaded");
         }
+    }
+
+    @Override
+    public synchronized OperationStatus tryUnloadCargo(double weight) {
+        if (weight <= 0) return OperationStatus.INVALID_AMOUNT;
+        if (weight > currentCargo) return OperationStatus.INSUFFICIENT_LOAD;
         currentCargo -= weight;
+        fireStateChanged();
+        return OperationStatus.SUCCESS;
     }
 
     @Override
@@ -118,36 +210,57 @@ public class Bus extends LandVehicle implements FuelConsumable, PassengerCarrier
     public double getCurrentCargo() { return currentCargo; }
 
     @Override
-    public void scheduleMaintenance() { maintenanceNeeded = true; }
+    public synchronized void scheduleMaintenance() {
+        maintenanceNeeded = true;
+        fireStateChanged();
+    }
+
+    @Override
+    public boolean isMaintenanceScheduled() { return maintenanceNeeded; }
 
     @Override
     public boolean needsMaintenance() {
-        return maintenanceNeeded || getCurrentMileage() > 10000;
+        return maintenanceNeeded || getCurrentMileage() > MAINTENANCE_MILEAGE;
     }
 
     @Override
-    public void performMaintenance() {
+    public synchronized void performMaintenance() {
         maintenanceNeeded = false;
-        System.out.println("Bus maintenance done: ");
+        fireStateChanged();
+        FleetEvents.sink().maintenancePerformed(this);
+    }
+
+    @Override
+    public String describeMaintenance() {
+        return "Bus maintenance done: ";
     }
 
     @Override
-    public String toCSVString() {
+    public synchronized String toCSVString() {
         return String.format("Bus,%s,%s,%.1f,%d,%.1f,%d,%.1f,%.1f,%b",
                 getId(), getModel(), getMaxSpeed(), getNumWheels(),
                 fuelLevel, currentPassengers, currentCargo, getCurrentMileage(), maintenanceNeeded);
     }
 
+    public static Bus restore(String id, String model, double maxSpeed, int numWheels,
+                              double fuelLevel, int currentPassengers, double currentCargo,
+                              double mileage, boolean maintenanceNeeded) throws InvalidOperationException {
+        Bus bus = new Bus(id, model, maxSpeed, numWheels);
+        bus.fuelLevel = fuelLevel;
+        bus.currentPassengers = currentPassengers;
+        bus.currentCargo = currentCargo;
+        bus.addMileage(mileage);
+        bus.maintenanceNeeded = maintenanceNeeded;
+        return bus;
+    }
+
     public static Bus fromCSV(String[] data) throws InvalidOperationException {
         try {
-            Bus bus = new Bus(data[1], data[2],
-                    Double.parseDouble(data[3]), Integer.parseInt(data[4]));
-            bus.fuelLevel = Double.parseDouble(data[5]);
-            bus.currentPassengers = Integer.parseInt(data[6]);
-            bus.currentCargo = Double.parseDouble(data[7]);
-            bus.addMileage(Double.parseDouble(data[8]));
-            bus.maintenanceNeeded = Boolean.parseBoolean(data[9]);
-            return bus;
+            return restore(data[1], data[2],
+                    Double.parseDouble(data[3]), Integer.parseInt(data[4]),
+                    Double.parseDouble(data[5]), Integer.parseInt(data[6]),
+                    Double.parseDouble(data[7]), Double.parseDouble(data[8]),
+                    Boolean.parseBoolean(data[9]));
         } catch (Exception e) {
             throw new InvalidOperationException("Invalid CSV data for Bus: " + String.join(",", data));
         }
@@ -1,18 +1,20 @@
 package fleetmanagement.vehicles;
 
+import fleetmanagement.events.FleetEvents;
 import fleetmanagement.exceptions.InsufficientFuelException;
 import fleetmanagement.exceptions.InvalidOperationException;
 import fleetmanagement.exceptions.OverloadException;
 import fleetmanagement.interfaces.CargoCarrier;
 import fleetmanagement.interfaces.FuelConsumable;
 import fleetmanagement.interfaces.Maintainable;
+import fleetmanagement.interfaces.OperationStatus;
 
 public class CargoShip extends WaterVehicle implements CargoCarrier, Maintainable, FuelConsumable {
 
     private final double cargoCapacity = 50000.0;
-    private double currentCargo;
-    private boolean maintenanceNeeded;
-    private double fuelLevel;
+    private volatile double currentCargo;
+    private volatile boolean maintenanceNeeded;
+    private volatile double fuelLevel;
 
     public CargoShip(String id, String model, double maxSpeed, boolean hasSail) throws InvalidOperationException {
         super(id, model, maxSpeed, hasSail);
@@ -22,17 +24,37 @@ public class CargoShip extends WaterVehicle implements CargoCarrier, Maintainabl
     }
 
     @Override
-    public void move(double distance) throws InvalidOperationException {
-        if (distance < 0) throw new InvalidOperationException("Distance cannot be negative");
+    public synchronized void move(double distance) throws InvalidOperationException {
+        double fuelNeeded = distance / calculateFuelEfficiency();
+        OperationStatus status = tryMove(distance);
+        if (status != OperationStatus.SUCCESS) {
+            throw new InvalidOperationException(describeMoveFailure(distance, status));
+        }
+        FleetEvents.sink().vehicleMoved(this, distance, fuelNeeded);
+    }
+
+    @Override
+    public String describeMove(double distance, double fuelConsumed) {
+        return "Cargo ship sailing... " + distance + " km";
+    }
+
+    @Override
+    public String describeMoveFailure(double distance, OperationStatus status) {
+        if (status == OperationStatus.INVALID_AMOUNT) return "Distance cannot be negative";
+        return "Not enough fuel for " + distance + " km journey";
+    }
+
+    @Override
+    public synchronized OperationStatus tryMove(double distance) {
+        if (distance < 0) return OperationStatus.INVALID_AMOUNT;
         if (!hasSail()) {
             double fuelNeeded = distance / calculateFuelEfficiency();
-            if (fuelNeeded > fuelLevel) {
-                throw new InvalidOperationException("Not enough fuel for " + distance + " km journey");
-            }
+            if (fuelNeeded > fuelLevel) return OperationStatus.INSUFFICIENT_FUEL;
             fuelLevel -= fuelNeeded;
         }
         addMileage(distance);
-        System.out.println("Cargo ship sailing... " + distance + " km");
+        fireMoved();
+        return OperationStatus.SUCCESS;
     }
 
     @Override
@@ -41,10 +63,23 @@ public class CargoShip extends WaterVehicle implements CargoCarrier, Maintainabl
     }
 
     @Override
-    public void refuel(double amount) throws InvalidOperationException {
-        if (hasSail()) throw new InvalidOperationException("Sail-powered ships don't require fuel");
-        if (amount <= 0) throw new InvalidOperationException("Refuel amount must be positive");
+    public synchronized void refuel(double amount) throws InvalidOperationException {
+        OperationStatus status = tryRefuel(amount);
+        if (status == OperationStatus.NOT_SUPPORTED) {
+            throw new InvalidOperationException("Sail-powered ships don't require fuel");
+        }
+        if (status == OperationStatus.INVALID_AMOUNT) {
+            throw new InvalidOperationException("Refuel amount must be positive");
+        }
+    }
+
+    @Override
+    public synchronized OperationStatus tryRefuel(double amount) {
+        if (hasSail()) return OperationStatus.NOT_SUPPORTED;
+        if (amount <= 0) return OperationStatus.INVALID_AMOUNT;
         fuelLevel += amount;
+        fireStateChanged();
+        return OperationStatus.SUCCESS;
     }
 
     @Override
@@ -53,34 +88,72 @@ public class CargoShip extends WaterVehicle implements CargoCarrier, Maintainabl
     }
 
     @Override
-    public double consumeFuel(double distance) throws InsufficientFuelException {
+    protected void storeFuelReading(double liters) {
+        if (!hasSail()) {
+            fuelLevel = liters;
+        }
+    }
+
+    @Override
+    public synchronized double consumeFuel(double distance) throws InsufficientFuelException {
         if (hasSail()) return 0.0;
         double fuelNeeded = distance / calculateFuelEfficiency();
-        if (fuelNeeded > fuelLevel) {
+        if (tryConsumeFuel(distance) != OperationStatus.SUCCESS) {
             throw new InsufficientFuelException("Not enough fuel for " + distance + " km journey");
         }
-        fuelLevel -= fuelNeeded;
         return fuelNeeded;
     }
 
     @Override
-    public void loadCargo(double weight) throws OverloadException {
-        if (weight <= 0) throw new OverloadException("Cargo weight must be positive");
-        if (currentCargo + weight > cargoCapacity) {
+    public synchronized OperationStatus tryConsumeFuel(double distance) {
+        if (hasSail()) return OperationStatus.SUCCESS;
+        double fuelNeeded = distance / calculateFuelEfficiency();
+        if (fuelNeeded > fuelLevel) return OperationStatus.INSUFFICIENT_FUEL;
+        fuelLevel -= fuelNeeded;
+        fireStateChanged();
+        return OperationStatus.SUCCESS;
+    }
+
+    @Override
+    public synchronized void loadCargo(double weight) throws OverloadException {
+        OperationStatus status = tryLoadCargo(weight);
+        if (status == OperationStatus.INVALID_AMOUNT) {
+            throw new OverloadException("Cargo weight must be positive");
+        }
+        if (status == OperationStatus.OVER_CAPACITY) {
             throw new OverloadException("Cannot load " + weight + " kg. Capacity: " +
                     cargoCapacity + " kg, Current: " + currentCargo + " kg");
         }
+    }
+
+    @Override
+    public synchronized OperationStatus tryLoadCargo(double weight) {
+        if (weight <= 0) return OperationStatus.INVALID_AMOUNT;
+        if (currentCargo + weight > cargoCapacity) return OperationStatus.OVER_CAPACITY;
         currentCargo += weight;
+        fireStateChanged();
+        return OperationStatus.SUCCESS;
     }
 
     @Override
-    public void unloadCargo(double weight) throws InvalidOperationException {
-        if (weight <= 0) throw new InvalidOperationException("Cargo weight must be positive");
-        if (weight > currentCargo) {
+    public synchronized void unloadCargo(double weight) throws InvalidOperationException {
+        OperationStatus status = tryUnloadCargo(weight);
+        if (status == OperationStatus.INVALID_AMOUNT) {
+            throw new InvalidOperationException("Cargo weight must be positive");
+        }
+        if (status == OperationStatus.INSUFFICIENT_LOAD) {
             throw new InvalidOperationException("Cannot unload " + weight +
                     " kg. Only " + currentCargo + " kg loaded");
         }
+    }
+
+    @Override
+    public synchronized OperationStatus tryUnloadCargo(double weight) {
+        if (weight <= 0) return OperationStatus.INVALID_AMOUNT;
+        if (weight > currentCargo) return OperationStatus.INSUFFICIENT_LOAD;
         currentCargo -= weight;
+        fireStateChanged();
+        return OperationStatus.SUCCESS;
     }
 
     @Override
@@ -89,35 +162,55 @@ public class CargoShip extends WaterVehicle implements CargoCarrier, Maintainabl
     public double getCurrentCargo() { return currentCargo; }
 
     @Override
-    public void scheduleMaintenance() { maintenanceNeeded = true; }
+    public synchronized void scheduleMaintenance() {
+        maintenanceNeeded = true;
+        fireStateChanged();
+    }
+
+    @Override
+    public boolean isMaintenanceScheduled() { return maintenanceNeeded; }
 
     @Override
     public boolean needsMaintenance() {
-        return maintenanceNeeded || getCurrentMileage() > 10000;
+        return maintenanceNeeded || getCurrentMileage() > MAINTENANCE_MILEAGE;
     }
 
     @Override
-    public void performMaintenance() {
+    public synchronized void performMaintenance() {
         maintenanceNeeded = false;
-        System.out.println("Cargo ship maintenance done: ");
+        fireStateChanged();
+        FleetEvents.sink().maintenancePerformed(this);
     }
 
     @Override
-    public String toCSVString() {
+    public String describeMaintenance() {
+        return "Cargo ship maintenance done: ";
+    }
+
+    @Override
+    public synchronized String toCSVString() {
         return String.format("CargoShip,%s,%s,%.1f,%b,%.1f,%.1f,%.1f,%b",
                 getId(), getModel(), getMaxSpeed(), hasSail(),
                 fuelLevel, currentCargo, getCurrentMileage(), maintenanceNeeded);
     }
 
+    public static CargoShip restore(String id, String model, double maxSpeed, boolean hasSail,
+                                    double fuelLevel, double currentCargo, double mileage,
+                                    boolean maintenanceNeeded) throws InvalidOperationException {
+        CargoShip ship = new CargoShip(id, model, maxSpeed, hasSail);
+        ship.fuelLevel = fuelLevel;
+        ship.currentCargo = currentCargo;
+        ship.addMileage(mileage);
+        ship.maintenanceNeeded = maintenanceNeeded;
+        return ship;
+    }
+
     public static CargoShip fromCSV(String[] data) throws InvalidOperationException {
         try {
-            CargoShip ship = new CargoShip(data[1], data[2],
-                    Double.parseDouble(data[3]), Boolean.parseBoolean(data[4]));
-            ship.fuelLevel = Double.parseDouble(data[5]);
-            ship.currentCargo = Double.parseDouble(data[6]);
-            ship.addMileage(Double.parseDouble(data[7]));
-            ship.maintenanceNeeded = Boolean.parseBoolean(data[8]);
-            return ship;
+            return restore(data[1], data[2],
+                    Double.parseDouble(data[3]), Boolean.parseBoolean(data[4]),
+                    Double.parseDouble(data[5]), Double.parseDouble(data[6]),
+                    Double.parseDouble(data[7]), Boolean.parseBoolean(data[8]));
         } catch (Exception e) {
             throw new InvalidOperationException("Invalid CSV data for CargoShip: " + String.join(",", data));
         }
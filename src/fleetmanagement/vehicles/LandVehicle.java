@@ -3,6 +3,9 @@ package fleetmanagement.vehicles;
 import fleetmanagement.exceptions.InvalidOperationException;
 
 public abstract class LandVehicle extends Vehicle {
+    // Multiplier on distance / max speed in estimateJourneyTime
+    public static final double JOURNEY_TIME_FACTOR = 1.1;
+
     private int numWheels;
 
     public LandVehicle(String id, String model, double maxSpeed, int numWheels)
@@ -18,6 +21,6 @@ public abstract class LandVehicle extends Vehicle {
     @Override
     public double estimateJourneyTime(double distance) {
         double baseTime = distance / getMaxSpeed();
-        return baseTime * 1.1;
+        return baseTime * JOURNEY_TIME_FACTOR;
     }
 }
@@ -1,18 +1,20 @@
 package fleetmanagement.vehicles;
 
+import fleetmanagement.events.FleetEvents;
 import fleetmanagement.exceptions.InsufficientFuelException;
 import fleetmanagement.exceptions.InvalidOperationException;
 import fleetmanagement.exceptions.OverloadException;
 import fleetmanagement.interfaces.CargoCarrier;
 import fleetmanagement.interfaces.FuelConsumable;
 import fleetmanagement.interfaces.Maintainable;
+import fleetmanagement.interfaces.OperationStatus;
 
 public class Truck extends LandVehicle implements FuelConsumable, CargoCarrier, Maintainable {
 
-    private double fuelLevel;
+    private volatile double fuelLevel;
     private final double cargoCapacity = 5000.0;
-    private double currentCargo;
-    private boolean maintenanceNeeded;
+    private volatile double currentCargo;
+    private volatile boolean maintenanceNeeded;
 
     public Truck(String id, String model, double maxSpeed, int numWheels) throws InvalidOperationException {
         super(id, model, maxSpeed, numWheels);
@@ -22,17 +24,36 @@ public class Truck extends LandVehicle implements FuelConsumable, CargoCarrier,
     }
 
     @Override
-    public void move(double distance) throws InvalidOperationException {
-        if (distance < 0) throw new InvalidOperationException("Distance cannot be negative");
-        double fuelConsumed = 0.0;
-        try {
-            fuelConsumed = consumeFuel(distance);
-        } catch (InsufficientFuelException e) {
-            throw new InvalidOperationException("Move failed: " + e.getMessage());
+    public synchronized void move(double distance) throws InvalidOperationException {
+        double fuelNeeded = distance / calculateFuelEfficiency();
+        OperationStatus status = tryMove(distance);
+        if (status != OperationStatus.SUCCESS) {
+            throw new InvalidOperationException(describeMoveFailure(distance, status));
         }
+        FleetEvents.sink().vehicleMoved(this, distance, fuelNeeded);
+    }
+
+    @Override
+    public String describeMove(double distance, double fuelConsumed) {
+        return "Truck hauling... " + distance + " km, Fuel consumed: " +
+                String.format("%.2f", fuelConsumed) + " liters";
+    }
+
+    @Override
+    public String describeMoveFailure(double distance, OperationStatus status) {
+        if (status == OperationStatus.INVALID_AMOUNT) return "Distance cannot be negative";
+        return "Move failed: " + insufficientFuel(distance / calculateFuelEfficiency());
+    }
+
+    @Override
+    public synchronized OperationStatus tryMove(double distance) {
+        if (distance < 0) return OperationStatus.INVALID_AMOUNT;
+        double fuelNeeded = distance / calculateFuelEfficiency();
+        if (fuelNeeded > fuelLevel) return OperationStatus.INSUFFICIENT_FUEL;
+        fuelLevel -= fuelNeeded;
         addMileage(distance);
-        System.out.println("Truck hauling... " + distance + " km, Fuel consumed: " +
-                String.format("%.2f", fuelConsumed) + " liters");
+        fireMoved();
+        return OperationStatus.SUCCESS;
     }
 
     @Override
@@ -50,43 +71,91 @@ public class Truck extends LandVehicle implements FuelConsumable, CargoCarrier,
     }
 
     @Override
-    public void refuel(double amount) throws InvalidOperationException {
-        if (amount <= 0) throw new InvalidOperationException("Refuel amount must be positive");
+    public synchronized void refuel(double amount) throws InvalidOperationException {
+        if (tryRefuel(amount) != OperationStatus.SUCCESS) {
+            throw new InvalidOperationException("Refuel amount must be positive");
+        }
+    }
+
+    @Override
+    public synchronized OperationStatus tryRefuel(double amount) {
+        if (amount <= 0) return OperationStatus.INVALID_AMOUNT;
         fuelLevel += amount;
+        fireStateChanged();
+        return OperationStatus.SUCCESS;
     }
 
     @Override
     public double getFuelLevel() { return fuelLevel; }
 
     @Override
-    public double consumeFuel(double distance) throws InsufficientFuelException {
+    protected void storeFuelReading(double liters) {
+        fuelLevel = liters;
+    }
+
+    @Override
+    public synchronized double consumeFuel(double distance) throws InsufficientFuelException {
         double fuelNeeded = distance / calculateFuelEfficiency();
-        if (fuelNeeded > fuelLevel) {
-            throw new InsufficientFuelException("Not enough fuel. Needed: " +
-                    String.format("%.2f", fuelNeeded) + " L, Available: " + fuelLevel + " L");
+        if (tryConsumeFuel(distance) != OperationStatus.SUCCESS) {
+            throw new InsufficientFuelException(insufficientFuel(fuelNeeded));
         }
-        fuelLevel -= fuelNeeded;
         return fuelNeeded;
     }
 
     @Override
-    public void loadCargo(double weight) throws OverloadException {
-        if (weight <= 0) throw new OverloadException("Cargo weight must be positive");
-        if (currentCargo + weight > cargoCapacity) {
+    public synchronized OperationStatus tryConsumeFuel(double distance) {
+        double fuelNeeded = distance / calculateFuelEfficiency();
+        if (fuelNeeded > fuelLevel) return OperationStatus.INSUFFICIENT_FUEL;
+        fuelLevel -= fuelNeeded;
+        fireStateChanged();
+        return OperationStatus.SUCCESS;
+    }
+
+    private String insufficientFuel(double fuelNeeded) {
+        return "Not enough fuel. Needed: " +
+                String.format("%.2f", fuelNeeded) + " L, Available: " + fuelLevel + " L";
+    }
+
+    @Override
+    public synchronized void loadCargo(double weight) throws OverloadException {
+        OperationStatus status = tryLoadCargo(weight);
+        if (status == OperationStatus.INVALID_AMOUNT) {
+            throw new OverloadException("Cargo weight must be positive");
+        }
+        if (status == OperationStatus.OVER_CAPACITY) {
             throw new OverloadException("Cannot load " + weight + " kg. Capacity: " +
                     cargoCapacity + " kg, Current: " + currentCargo + " kg");
         }
+    }
+
+    @Override
+    public synchronized OperationStatus tryLoadCargo(double weight) {
+        if (weight <= 0) return OperationStatus.INVALID_AMOUNT;
+        if (currentCargo + weight > cargoCapacity) return OperationStatus.OVER_CAPACITY;
         currentCargo += weight;
+        fireStateChanged();
+        return OperationStatus.SUCCESS;
     }
 
     @Override
-    public void unloadCargo(double weight) throws InvalidOperationException {
-        if (weight <= 0) throw new InvalidOperationException("Cargo weight must be positive");
-        if (weight > currentCargo) {
+    public synchronized void unloadCargo(double weight) throws InvalidOperationException {
+        OperationStatus status = tryUnloadCargo(weight);
+        if (status == OperationStatus.INVALID_AMOUNT) {
+            throw new InvalidOperationException("Cargo weight must be positive");
+        }
+        if (status == OperationStatus.INSUFFICIENT_LOAD) {
             throw new InvalidOperationException("Cannot unload " + weight +
                     " kg. Only " + currentCargo + " kg loaded");
         }
+    }
+
+    @Override
+    public synchronized OperationStatus tryUnloadCargo(double weight) {
+        if (weight <= 0) return OperationStatus.INVALID_AMOUNT;
+        if (weight > currentCargo) return OperationStatus.INSUFFICIENT_LOAD;
         currentCargo -= weight;
+        fireStateChanged();
+        return OperationStatus.SUCCESS;
     }
 
     @Override
@@ -95,35 +164,55 @@ public class Truck extends LandVehicle implements FuelConsumable, CargoCarrier,
     public double getCurrentCargo() { return currentCargo; }
 
     @Override
-    public void scheduleMaintenance() { maintenanceNeeded = true; }
+    public synchronized void scheduleMaintenance() {
+        maintenanceNeeded = true;
+        fireStateChanged();
+    }
+
+    @Override
+    public boolean isMaintenanceScheduled() { return maintenanceNeeded; }
 
     @Override
     public boolean needsMaintenance() {
-        return maintenanceNeeded || getCurrentMileage() > 10000;
+        return maintenanceNeeded || getCurrentMileage() > MAINTENANCE_MILEAGE;
     }
 
     @Override
-    public void performMaintenance() {
+    public synchronized void performMaintenance() {
         maintenanceNeeded = false;
-        System.out.println("Truck maintenance done: ");
+        fireStateChanged();
+        FleetEvents.sink().maintenancePerformed(this);
     }
 
     @Override
-    public String toCSVString() {
+    public String describeMaintenance() {
+        return "Truck maintenance done: ";
+    }
+
+    @Override
+    public synchronized String toCSVString() {
         return String.format("Truck,%s,%s,%.1f,%d,%.1f,%.1f,%.1f,%b",
                 getId(), getModel(), getMaxSpeed(), getNumWheels(),
                 fuelLevel, currentCargo, getCurrentMileage(), maintenanceNeeded);
     }
 
+    public static Truck restore(String id, String model, double maxSpeed, int numWheels,
+                                double fuelLevel, double currentCargo, double mileage,
+                                boolean maintenanceNeeded) throws InvalidOperationException {
+        Truck truck = new Truck(id, model, maxSpeed, numWheels);
+        truck.fuelLevel = fuelLevel;
+        truck.currentCargo = currentCargo;
+        truck.addMileage(mileage);
+        truck.maintenanceNeeded = maintenanceNeeded;
+        return truck;
+    }
+
     public static Truck fromCSV(String[] data) throws InvalidOperationException {
         try {
-            Truck truck = new Truck(data[1], data[2],
-                    Double.parseDouble(data[3]), Integer.parseInt(data[4]));
-            truck.fuelLevel = Double.parseDouble(data[5]);
-            truck.currentCargo = Double.parseDouble(data[6]);
-            truck.addMileage(Double.parseDouble(data[7]));
-            truck.maintenanceNeeded = Boolean.parseBoolean(data[8]);
-            return truck;
+            return restore(data[1], data[2],
+                    Double.parseDouble(data[3]), Integer.parseInt(data[4]),
+                    Double.parseDouble(data[5]), Double.parseDouble(data[6]),
+                    Double.parseDouble(data[7]), Boolean.parseBoolean(data[8]));
         } catch (Exception e) {
             throw new InvalidOperationException("Invalid CSV data for Truck: " + String.join(",", data));
         }
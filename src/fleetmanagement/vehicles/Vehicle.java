@@ -1,12 +1,23 @@
 package fleetmanagement.vehicles;
 
 import fleetmanagement.exceptions.InvalidOperationException;
+import fleetmanagement.interfaces.OperationStatus;
 
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+
+// State fields are volatile and mutators synchronize on the vehicle, so each vehicle is its own
+// lock: concurrent updates to one vehicle are serialized and readers always see the latest value.
 public abstract class Vehicle implements Comparable<Vehicle> {
+    private static final AtomicReferenceFieldUpdater<Vehicle, VehicleListener> LISTENER =
+            AtomicReferenceFieldUpdater.newUpdater(Vehicle.class, VehicleListener.class, "listener");
+
     private String id;
     private String model;
     private double maxSpeed;
-    private double currentMileage;
+    private volatile double currentMileage;
+    // Sample time of the last telemetry reading applied; not persisted
+    private long telemetryTime = Long.MIN_VALUE;
+    private volatile VehicleListener listener;
 
     public Vehicle(String id, String model, double maxSpeed) throws InvalidOperationException {
         if (id == null || id.trim().isEmpty()) {
@@ -29,7 +40,54 @@ public abstract class Vehicle implements Comparable<Vehicle> {
         }
     }
 
+    // NaN means not reported. An odometer behind the current mileage leaves the mileage alone.
+    public synchronized OperationStatus applyTelemetry(long sampleTime, double odometer, double fuelLevel) {
+        if (odometer < 0 || fuelLevel < 0) return OperationStatus.INVALID_AMOUNT;
+        if (sampleTime < telemetryTime) return OperationStatus.STALE;
+        if (!Double.isNaN(fuelLevel)) {
+            storeFuelReading(fuelLevel);
+        }
+        if (odometer > currentMileage) {
+            addMileage(odometer - currentMileage);
+        }
+        telemetryTime = sampleTime;
+        fireStateChanged();
+        return OperationStatus.SUCCESS;
+    }
+
+    // No-op for vehicles without a fuel tank; called with the monitor held
+    protected void storeFuelReading(double liters) {
+    }
+
+    public VehicleListener getListener() { return listener; }
+    public void setListener(VehicleListener listener) { this.listener = listener; }
+
+    // Installs the listener only if the vehicle has none; false if it is already taken
+    public boolean claimListener(VehicleListener listener) {
+        return LISTENER.compareAndSet(this, null, listener);
+    }
+
+    // Called by subclasses after any change to fuel, mileage, load or maintenance state
+    protected void fireStateChanged() {
+        if (listener != null) {
+            listener.vehicleChanged(this);
+        }
+    }
+
+    // Called by subclasses instead of fireStateChanged after a completed move
+    protected void fireMoved() {
+        if (listener != null) {
+            listener.vehicleMoved(this);
+        }
+    }
+
     public abstract void move(double distance) throws InvalidOperationException;
+    // Same state change as move, but silent and without exceptions, for high-volume dispatch
+    public abstract OperationStatus tryMove(double distance);
+    // Console line for a successful move, and the message move throws when tryMove returns the status;
+    // the failure text reads the current state, so call it before anything else changes the vehicle
+    public abstract String describeMove(double distance, double fuelConsumed);
+    public abstract String describeMoveFailure(double distance, OperationStatus status);
     public abstract double calculateFuelEfficiency();
     public abstract double estimateJourneyTime(double distance);
 
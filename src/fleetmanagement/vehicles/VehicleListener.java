@@ -0,0 +1,8 @@
+package fleetmanagement.vehicles;
+
+public interface VehicleListener {
+    void vehicleChanged(Vehicle vehicle);
+
+    // A change made by a move, as opposed to refuelling, telemetry or other updates
+    void vehicleMoved(Vehicle vehicle);
+}
@@ -3,6 +3,9 @@ package fleetmanagement.vehicles;
 import fleetmanagement.exceptions.InvalidOperationException;
 
 public abstract class WaterVehicle extends Vehicle {
+    // Multiplier on distance / max speed in estimateJourneyTime
+    public static final double JOURNEY_TIME_FACTOR = 1.15;
+
     private boolean hasSail;
 
     public WaterVehicle(String id, String model, double maxSpeed, boolean hasSail)
@@ -18,5 +21,5 @@ public abstract class WaterVehicle extends Vehicle {
     @Override
     public double estimateJourneyTime(double distance) {
         double baseline = distance / getMaxSpeed();
-        return baseline * 1.15;    }
+        return baseline * JOURNEY_TIME_FACTOR;    }
 }
@@ -0,0 +1,47 @@
+package fleetmanagement.cli;
+
+import fleetmanagement.events.FleetEvents;
+import fleetmanagement.events.NoOpEventSink;
+import fleetmanagement.fleet.FleetManager;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+import java.io.StringReader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+// Usage: java fleetmanagement.cli.BatchFailureTest
+// A save to a directory, an open of a missing file and a command that throws unexpectedly must each
+// count as a failure, and the commands after them must still run.
+public class BatchFailureTest {
+    public static void main(String[] args) throws Exception {
+        FleetEvents.setSink(NoOpEventSink.INSTANCE);
+        Path directory = Files.createTempDirectory("fleet-test");
+        FleetManager manager = new FleetManager() {
+            @Override
+            public void maintainAll() {
+                throw new IllegalStateException("maintenance bay closed");
+            }
+        };
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        BatchRunner runner = new BatchRunner(manager, new PrintStream(output, true));
+        String script = "add car C1 Civic 180 4 50\n" +
+                "save " + directory + "\n" +
+                "open " + directory.resolve("missing.csv") + "\n" +
+                "maintain\n" +
+                "move C1 10\n";
+        runner.parse(new BufferedReader(new StringReader(script)));
+        int failures = runner.execute();
+        Files.delete(directory);
+
+        String text = output.toString();
+        boolean ok = failures == 3 && text.contains("Line 2: save") && text.contains("Line 3: open") &&
+                text.contains("Line 4: maintain") && manager.getById("C1").getCurrentMileage() == 10;
+        System.out.println(ok ? "PASS: batch failures are counted and the script continues"
+                : "FAIL: " + failures + " failures\n" + text);
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+}
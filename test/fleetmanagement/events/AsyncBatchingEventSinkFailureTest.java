@@ -0,0 +1,41 @@
+package fleetmanagement.events;
+
+import java.io.ByteArrayOutputStream;
+import java.io.PrintStream;
+
+// Usage: java fleetmanagement.events.AsyncBatchingEventSinkFailureTest
+// An event the delegate throws on must be counted and skipped, and the events after it delivered,
+// rather than the drain thread dying and every later event being dropped.
+public class AsyncBatchingEventSinkFailureTest {
+    public static void main(String[] args) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        PrintStream stream = new PrintStream(out, true);
+        ConsoleEventSink delegate = new ConsoleEventSink(stream, stream) {
+            @Override
+            public void fuelShortfall(String vehicleId, double fuelNeeded, double fuelAvailable) {
+                if (vehicleId.equals("BAD")) {
+                    throw new IllegalStateException("delegate failed");
+                }
+                super.fuelShortfall(vehicleId, fuelNeeded, fuelAvailable);
+            }
+        };
+        AsyncBatchingEventSink sink = new AsyncBatchingEventSink(delegate, 64);
+        sink.fuelShortfall("C1", 10, 5);
+        sink.fuelShortfall("BAD", 10, 5);
+        sink.fuelShortfall("C2", 10, 5);
+        sink.flush();
+        sink.fuelShortfall("C3", 10, 5);
+        sink.close();
+
+        String printed = out.toString();
+        boolean ok = printed.contains("C1") && printed.contains("C2") && printed.contains("C3") &&
+                sink.getFailedCount() == 1 && sink.getDroppedCount() == 0 &&
+                sink.getLastFailure() != null && "delegate failed".equals(sink.getLastFailure().getMessage());
+        System.out.println(ok ? "PASS: delivery continues after a delegate failure"
+                : "FAIL: failed " + sink.getFailedCount() + ", dropped " + sink.getDroppedCount() +
+                  ", printed:\n" + printed);
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package fleetmanagement.fleet;
+
+import fleetmanagement.events.FleetEvents;
+import fleetmanagement.events.NoOpEventSink;
+import fleetmanagement.vehicles.Car;
+
+// Usage: java fleetmanagement.fleet.ColumnsSnapshotTest
+// Scans getColumns() while another thread adds and removes enough vehicles to make the live columns
+// grow and compact. Every scan must see arrays that cover its size, and a snapshot must not change
+// after it is taken.
+public class ColumnsSnapshotTest {
+    public static void main(String[] args) throws Exception {
+        FleetEvents.setSink(NoOpEventSink.INSTANCE);
+        FleetManager manager = new FleetManager();
+        Car first = new Car("C0", "Civic", 180, 4);
+        first.refuel(40);
+        manager.addVehicle(first);
+        FleetColumns before = manager.getColumns();
+
+        Thread churn = new Thread(() -> {
+            try {
+                for (int round = 0; round < 200; round++) {
+                    for (int i = 1; i <= 100; i++) {
+                        manager.addVehicle(new Car("C" + i, "Civic", 180, 4));
+                    }
+                    for (int i = 1; i <= 100; i++) {
+                        manager.removeVehicle("C" + i);
+                    }
+                }
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        churn.start();
+        boolean ok = true;
+        int scans = 0;
+        try {
+            while (churn.isAlive()) {
+                FleetColumns columns = manager.getColumns();
+                ok &= columns.totalFuel() == 40;
+                double[] fuel = columns.fuelLevels();
+                for (int row = 0; row < columns.size(); row++) {
+                    if (columns.typeTags()[row] != FleetColumns.REMOVED) {
+                        ok &= columns.vehicleAt(row) != null && fuel[row] >= 0;
+                    }
+                }
+                scans++;
+            }
+        } catch (RuntimeException e) {
+            System.out.println("scan failed: " + e);
+            ok = false;
+        }
+        churn.join();
+        first.move(10);
+        ok &= before.size() == 1 && before.mileages()[0] == 0 && manager.getColumns().totalMileage() == 10;
+
+        System.out.println(ok ? "PASS: " + scans + " column scans during membership changes" : "FAIL");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,211 @@
+package fleetmanagement.fleet;
+
+import fleetmanagement.exceptions.InsufficientFuelException;
+import fleetmanagement.exceptions.InvalidOperationException;
+import fleetmanagement.exceptions.OverloadException;
+import fleetmanagement.vehicles.Bus;
+import fleetmanagement.vehicles.Car;
+import fleetmanagement.vehicles.Vehicle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Usage: java fleetmanagement.fleet.ConcurrencyStressTest [threads] [operationsPerThread] [buses]
+// Hammers a shared fleet with refuel/consumeFuel/board/disembark/load/unload from many threads while
+// another thread adds and removes vehicles and another keeps generating reports. Every successful
+// operation is tallied per thread; at the end the tallies must match the vehicles, the columnar view
+// and the report exactly, otherwise an update was lost.
+public class ConcurrencyStressTest {
+    private static final double INITIAL_FUEL = 1_000.0;
+    private static final double TOLERANCE = 1e-6;
+
+    public static void main(String[] args) throws Exception {
+        int threads = args.length > 0 ? Integer.parseInt(args[0])
+                : Math.max(8, Runtime.getRuntime().availableProcessors() * 2);
+        int operations = args.length > 1 ? Integer.parseInt(args[1]) : 200_000;
+        int busCount = args.length > 2 ? Integer.parseInt(args[2]) : 64;
+
+        FleetManager manager = new FleetManager();
+        List<Bus> buses = new ArrayList<>();
+        for (int i = 0; i < busCount; i++) {
+            Bus bus = new Bus("B" + i, "Stress Bus", 100, 6);
+            bus.refuel(INITIAL_FUEL);
+            manager.addVehicle(bus);
+            buses.add(bus);
+        }
+
+        Tally[] tallies = new Tally[threads];
+        AtomicBoolean running = new AtomicBoolean(true);
+        AtomicLong reports = new AtomicLong();
+        AtomicLong churn = new AtomicLong();
+        CountDownLatch start = new CountDownLatch(1);
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            Tally tally = new Tally();
+            tallies[t] = tally;
+            long seed = t;
+            workers.add(new Thread(() -> mutate(buses, operations, seed, tally, start), "stress-writer-" + t));
+        }
+        Thread reporter = new Thread(() -> {
+            await(start);
+            while (running.get()) {
+                manager.generateReport();
+                reports.incrementAndGet();
+            }
+        }, "stress-reporter");
+        Thread membership = new Thread(() -> {
+            await(start);
+            try {
+                for (int i = 0; running.get(); i++) {
+                    manager.addVehicle(new Car("C" + i, "Churn Car", 120, 4));
+                    if (i % 2 == 1) {
+                        manager.removeVehicle("C" + (i - 1));
+                        manager.removeVehicle("C" + i);
+                    }
+                    churn.incrementAndGet();
+                }
+            } catch (InvalidOperationException e) {
+                throw new IllegalStateException(e);
+            }
+        }, "stress-membership");
+
+        for (Thread worker : workers) {
+            worker.start();
+        }
+        reporter.start();
+        membership.start();
+        long begin = System.nanoTime();
+        start.countDown();
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        double seconds = (System.nanoTime() - begin) / 1e9;
+        running.set(false);
+        reporter.join();
+        membership.join();
+
+        double expectedFuel = busCount * INITIAL_FUEL;
+        long expectedPassengers = 0;
+        double expectedCargo = 0;
+        long succeeded = 0;
+        for (Tally tally : tallies) {
+            expectedFuel += tally.fuelAdded - tally.fuelConsumed;
+            expectedPassengers += tally.passengers;
+            expectedCargo += tally.cargo;
+            succeeded += tally.succeeded;
+        }
+        double actualFuel = 0;
+        long actualPassengers = 0;
+        double actualCargo = 0;
+        double totalEfficiency = 0;
+        for (Bus bus : buses) {
+            actualFuel += bus.getFuelLevel();
+            actualPassengers += bus.getCurrentPassengers();
+            actualCargo += bus.getCurrentCargo();
+            totalEfficiency += bus.calculateFuelEfficiency();
+        }
+        FleetColumns columns = manager.getColumns();
+        double reportedEfficiency = manager.getSummary().getTotalEfficiency();
+
+        long total = (long) threads * operations;
+        System.out.printf("Threads:             %d writers, 1 reporter, 1 membership%n", threads);
+        System.out.printf("Operations:          %,d (%,d succeeded) in %.2f s, %,.0f ops/s%n",
+                total, succeeded, seconds, total / seconds);
+        System.out.printf("Reports generated:   %,d%n", reports.get());
+        System.out.printf("Membership changes:  %,d%n", churn.get());
+        boolean ok = true;
+        ok &= check("Fuel (vehicles)", expectedFuel, actualFuel);
+        ok &= check("Fuel (columns)", expectedFuel, columns.totalFuel());
+        ok &= check("Passengers", expectedPassengers, actualPassengers);
+        ok &= check("Cargo (vehicles)", expectedCargo, actualCargo);
+        ok &= check("Cargo (columns)", expectedCargo, columns.totalCargo());
+        ok &= check("Efficiency (report)", totalEfficiency + carEfficiency(manager), reportedEfficiency);
+        ok &= check("Fleet size", busCount + churn.get() % 2, manager.getFleetSize());
+        System.out.println(ok ? "PASS: no lost updates" : "FAIL: updates were lost");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    private static void mutate(List<Bus> buses, int operations, long seed, Tally tally, CountDownLatch start) {
+        Random random = new Random(seed);
+        await(start);
+        for (int i = 0; i < operations; i++) {
+            Bus bus = buses.get(random.nextInt(buses.size()));
+            try {
+                switch (random.nextInt(6)) {
+                    case 0: {
+                        int amount = 1 + random.nextInt(5);
+                        bus.refuel(amount);
+                        tally.fuelAdded += amount;
+                        break;
+                    }
+                    case 1:
+                        tally.fuelConsumed += bus.consumeFuel(1 + random.nextInt(20));
+                        break;
+                    case 2: {
+                        int count = 1 + random.nextInt(5);
+                        bus.boardPassengers(count);
+                        tally.passengers += count;
+                        break;
+                    }
+                    case 3: {
+                        int count = 1 + random.nextInt(5);
+                        bus.disembarkPassengers(count);
+                        tally.passengers -= count;
+                        break;
+                    }
+                    case 4: {
+                        int weight = 1 + random.nextInt(50);
+                        bus.loadCargo(weight);
+                        tally.cargo += weight;
+                        break;
+                    }
+                    default: {
+                        int weight = 1 + random.nextInt(50);
+                        bus.unloadCargo(weight);
+                        tally.cargo -= weight;
+                        break;
+                    }
+                }
+                tally.succeeded++;
+            } catch (InvalidOperationException | InsufficientFuelException | OverloadException e) {
+                // Capacity and empty-tank rejections are expected; the state must be left unchanged
+            }
+        }
+    }
+
+    private static double carEfficiency(FleetManager manager) {
+        double total = 0;
+        for (Vehicle vehicle : manager.searchByType(Car.class)) {
+            total += vehicle.calculateFuelEfficiency();
+        }
+        return total;
+    }
+
+    private static boolean check(String name, double expected, double actual) {
+        boolean ok = Math.abs(expected - actual) <= TOLERANCE * Math.max(1, Math.abs(expected));
+        System.out.printf("%-20s expected %,.3f, actual %,.3f %s%n", name + ":", expected, actual, ok ? "ok" : "MISMATCH");
+        return ok;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static class Tally {
+        double fuelAdded;
+        double fuelConsumed;
+        long passengers;
+        double cargo;
+        long succeeded;
+    }
+}
@@ -0,0 +1,32 @@
+package fleetmanagement.fleet;
+
+import fleetmanagement.events.FleetEvents;
+import fleetmanagement.events.NoOpEventSink;
+import fleetmanagement.vehicles.Car;
+
+import java.util.List;
+
+// Usage: java fleetmanagement.fleet.JourneyAverageTest
+// Two 100 km moves give a car an average journey of 100 km. A telemetry reading that moves its
+// odometer on to 9000 km is not a journey, so with 1000 km left the car is due in 10 journeys.
+public class JourneyAverageTest {
+    public static void main(String[] args) throws Exception {
+        FleetEvents.setSink(NoOpEventSink.INSTANCE);
+        FleetManager manager = new FleetManager();
+        Car car = new Car("C1", "Civic", 180, 4);
+        car.refuel(100);
+        manager.addVehicle(car);
+        car.move(100);
+        car.move(100);
+        car.applyTelemetry(1, 9000, Double.NaN);
+
+        List<?> withinFive = manager.getVehiclesDueWithinJourneys(5);
+        List<?> withinTen = manager.getVehiclesDueWithinJourneys(10);
+        boolean ok = withinFive.isEmpty() && withinTen.size() == 1;
+        System.out.println(ok ? "PASS: telemetry leaves the journey average alone"
+                : "FAIL: due within 5 journeys " + withinFive.size() + ", within 10 " + withinTen.size());
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package fleetmanagement.fleet;
+
+import fleetmanagement.events.FleetEvents;
+import fleetmanagement.events.NoOpEventSink;
+import fleetmanagement.vehicles.Car;
+
+// Usage: java fleetmanagement.fleet.JourneyPlanIndexTest
+// A plan reused for a smaller fleet keeps its larger arrays. Asking it about a vehicle or distance
+// beyond its counts must throw rather than return a cell left over from the earlier plan, or one
+// from the wrong row.
+public class JourneyPlanIndexTest {
+    public static void main(String[] args) throws Exception {
+        FleetEvents.setSink(NoOpEventSink.INSTANCE);
+        FleetManager manager = new FleetManager();
+        for (int i = 0; i < 4; i++) {
+            Car car = new Car("C" + i, "Civic", 180, 4);
+            car.refuel(50);
+            manager.addVehicle(car);
+        }
+        JourneyPlan plan = manager.planJourneys(new double[] {10, 20, 30});
+        manager.removeVehicle("C3");
+        manager.removeVehicle("C2");
+        manager.planJourneys(new double[] {10, 20}, plan);
+
+        boolean ok = plan.vehicleCount() == 2 && plan.distanceCount() == 2;
+        ok &= rejected("getVehicle(2)", () -> plan.getVehicle(2));
+        ok &= rejected("getDistance(2)", () -> plan.getDistance(2));
+        ok &= rejected("getFuelNeeded(2, 0)", () -> plan.getFuelNeeded(2, 0));
+        ok &= rejected("getFuelNeeded(0, 2)", () -> plan.getFuelNeeded(0, 2));
+        ok &= rejected("isFeasible(0, -1)", () -> plan.isFeasible(0, -1));
+        ok &= rejected("getJourneyTime(3, 0)", () -> plan.getJourneyTime(3, 0));
+        ok &= rejected("getTotalFuel(2)", () -> plan.getTotalFuel(2));
+        ok &= rejected("getFeasibleCount(2)", () -> plan.getFeasibleCount(2));
+        ok &= plan.isFeasible(1, 1) && plan.getFeasibleCount(1) == 2;
+
+        System.out.println(ok ? "PASS: plan indexes are checked against its counts" : "FAIL");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    private interface Read {
+        Object run();
+    }
+
+    private static boolean rejected(String name, Read read) {
+        try {
+            System.out.println(name + " returned " + read.run());
+            return false;
+        } catch (IndexOutOfBoundsException e) {
+            return true;
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package fleetmanagement.fleet;
+
+import fleetmanagement.events.FleetEvents;
+import fleetmanagement.events.NoOpEventSink;
+import fleetmanagement.exceptions.InvalidOperationException;
+import fleetmanagement.vehicles.Airplane;
+import fleetmanagement.vehicles.Bus;
+import fleetmanagement.vehicles.Car;
+import fleetmanagement.vehicles.CargoShip;
+import fleetmanagement.vehicles.Truck;
+import fleetmanagement.vehicles.Vehicle;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// Usage: java --enable-preview fleetmanagement.fleet.OffHeapStoreConsistencyTest [vehicles]
+// Gives a FleetManager and an OffHeapFleetStore the same mixed fleet, removes every third vehicle,
+// which moves records in the store, then runs the same journeys, refuels and maintenance on both.
+// Their totals, summaries and every vehicle's CSV line must agree.
+public class OffHeapStoreConsistencyTest {
+    private static final double DISTANCE = 1000;
+    private static final double REFUEL = 5;
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        FleetEvents.setSink(NoOpEventSink.INSTANCE);
+        List<Vehicle> vehicles = fleet(count);
+        FleetManager manager = new FleetManager();
+        manager.addAll(vehicles);
+        boolean ok = true;
+        try (OffHeapFleetStore store = new OffHeapFleetStore()) {
+            store.addAll(fleet(count));
+            for (int i = 0; i < count; i += 3) {
+                manager.removeVehicle(vehicles.get(i).getId());
+                store.removeVehicle(vehicles.get(i).getId());
+            }
+            for (int round = 0; round < 3; round++) {
+                manager.startAllJourneys(DISTANCE);
+                store.startAllJourneys(DISTANCE);
+                manager.refuelAllParallel(REFUEL);
+                store.refuelAll(REFUEL);
+            }
+            ok &= check("fuel consumption", manager.getTotalFuelConsumption(DISTANCE),
+                    store.getTotalFuelConsumption(DISTANCE));
+            ok &= check("needing maintenance", manager.getVehiclesNeedingMaintenance().size(),
+                    store.countNeedingMaintenance());
+            FleetSummary expected = manager.getSummary();
+            FleetSummary actual = store.getSummary();
+            ok &= check("fleet size", expected.getTotalVehicles(), actual.getTotalVehicles());
+            ok &= check("total mileage", expected.getTotalMileage(), actual.getTotalMileage());
+            ok &= check("needing maintenance in summary", expected.getNeedMaintenance(), actual.getNeedMaintenance());
+            if (!expected.getTypeCounts().equals(actual.getTypeCounts())) {
+                System.out.println("type counts: " + expected.getTypeCounts() + " vs " + actual.getTypeCounts());
+                ok = false;
+            }
+            manager.maintainAll();
+            store.maintainAll();
+            ok &= check("needing maintenance after maintainAll", manager.getVehiclesNeedingMaintenance().size(),
+                    store.countNeedingMaintenance());
+            for (Vehicle vehicle : manager.getFleet()) {
+                String line = vehicle.toCSVString();
+                String stored = store.view(vehicle.getId()).toCSVString();
+                if (!line.equals(stored)) {
+                    System.out.println("vehicle: " + line + " vs " + stored);
+                    ok = false;
+                }
+            }
+        }
+
+        System.out.println(ok ? "PASS: off-heap store agrees with FleetManager" : "FAIL");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    private static boolean check(String what, double expected, double actual) {
+        if (Math.abs(expected - actual) > 1e-6 * Math.max(1, Math.abs(expected))) {
+            System.out.println(what + ": " + expected + " vs " + actual);
+            return false;
+        }
+        return true;
+    }
+
+    // The same fleet on every call: all five types, some sail ships and some already due maintenance
+    private static List<Vehicle> fleet(int count) throws InvalidOperationException {
+        Random random = new Random(5);
+        List<Vehicle> vehicles = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            double fuel = Math.round(random.nextDouble() * 5000) / 10.0;
+            double mileage = Math.round(random.nextDouble() * 120000) / 10.0;
+            boolean maintenance = random.nextInt(20) == 0;
+            switch (i % 5) {
+                case 0:
+                    vehicles.add(Car.restore("C" + i, "Sedan", 150 + random.nextInt(60), 4, fuel,
+                            random.nextInt(6), mileage, maintenance));
+                    break;
+                case 1:
+                    vehicles.add(Truck.restore("T" + i, "Hauler", 100 + random.nextInt(40), 6, fuel,
+                            random.nextInt(5000), mileage, maintenance));
+                    break;
+                case 2:
+                    vehicles.add(Bus.restore("B" + i, "Coach", 90 + random.nextInt(30), 6, fuel,
+                            random.nextInt(51), random.nextInt(500), mileage, maintenance));
+                    break;
+                case 3:
+                    vehicles.add(Airplane.restore("A" + i, "Jet", 700 + random.nextInt(250), 35000, fuel * 20,
+                            random.nextInt(201), random.nextInt(10000), mileage, maintenance));
+                    break;
+                default:
+                    boolean hasSail = random.nextInt(4) == 0;
+                    vehicles.add(CargoShip.restore("S" + i, "Freighter", 40 + random.nextInt(20), hasSail,
+                            hasSail ? 0 : fuel * 10, random.nextInt(50000), mileage, maintenance));
+                    break;
+            }
+        }
+        return vehicles;
+    }
+}
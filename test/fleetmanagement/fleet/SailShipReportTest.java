@@ -0,0 +1,47 @@
+package fleetmanagement.fleet;
+
+import fleetmanagement.events.FleetEvents;
+import fleetmanagement.events.NoOpEventSink;
+import fleetmanagement.vehicles.Car;
+import fleetmanagement.vehicles.CargoShip;
+
+// Usage: java fleetmanagement.fleet.SailShipReportTest
+// A sail-powered ship's fuel efficiency is infinite. Moving it and then removing it must leave the
+// report's average efficiency that of the rest of the fleet, not NaN.
+public class SailShipReportTest {
+    public static void main(String[] args) throws Exception {
+        FleetEvents.setSink(NoOpEventSink.INSTANCE);
+        FleetManager manager = new FleetManager();
+        Car car = new Car("C1", "Civic", 180, 4);
+        car.refuel(50);
+        manager.addVehicle(car);
+        CargoShip ship = new CargoShip("S1", "Clipper", 30, true);
+        manager.addVehicle(ship);
+
+        boolean ok = true;
+        ok &= expect(manager, "Average Fuel Efficiency: Infinity km/l");
+        ship.move(100);
+        ok &= expect(manager, "Average Fuel Efficiency: Infinity km/l");
+        ok &= expect(manager, "Total Mileage: 100.00 km");
+        manager.removeVehicle("S1");
+        ok &= expect(manager, "Average Fuel Efficiency: " +
+                String.format("%.2f", car.calculateFuelEfficiency()) + " km/l");
+        ok &= expect(manager, "Total Mileage: 0.00 km");
+        car.move(30);
+        ok &= expect(manager, "Total Mileage: 30.00 km");
+
+        System.out.println(ok ? "PASS: report survives a sail ship" : "FAIL");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    private static boolean expect(FleetManager manager, String line) {
+        String report = manager.generateReport();
+        if (!report.contains(line)) {
+            System.out.println("missing \"" + line + "\" in:\n" + report);
+            return false;
+        }
+        return true;
+    }
+}
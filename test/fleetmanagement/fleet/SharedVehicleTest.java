@@ -0,0 +1,56 @@
+package fleetmanagement.fleet;
+
+import fleetmanagement.events.FleetEvents;
+import fleetmanagement.events.NoOpEventSink;
+import fleetmanagement.exceptions.InvalidOperationException;
+import fleetmanagement.vehicles.Car;
+
+import java.util.Arrays;
+
+// Usage: java fleetmanagement.fleet.SharedVehicleTest
+// A vehicle belongs to one fleet at a time. Adding it to a second manager, alone or in a batch, is
+// rejected and leaves both managers as they were; once removed from the first it can be added.
+public class SharedVehicleTest {
+    public static void main(String[] args) throws Exception {
+        FleetEvents.setSink(NoOpEventSink.INSTANCE);
+        FleetManager first = new FleetManager();
+        FleetManager second = new FleetManager();
+        Car shared = new Car("C1", "Civic", 180, 4);
+        first.addVehicle(shared);
+
+        boolean ok = rejected(() -> second.addVehicle(shared));
+        Car spare = new Car("C2", "Golf", 170, 4);
+        ok &= rejected(() -> second.addAll(Arrays.asList(spare, shared)));
+        ok &= second.getFleetSize() == 0;
+
+        shared.scheduleMaintenance();
+        ok &= first.getVehiclesNeedingMaintenance().size() == 1;
+        ok &= first.searchByType(Car.class).size() == 1;
+
+        first.removeVehicle("C1");
+        second.addAll(Arrays.asList(spare, shared));
+        shared.performMaintenance();
+        ok &= second.getVehiclesNeedingMaintenance().isEmpty();
+        ok &= first.getVehiclesNeedingMaintenance().isEmpty();
+        ok &= second.searchByType(Car.class).size() == 2;
+
+        System.out.println(ok ? "PASS: a vehicle stays in one fleet" : "FAIL");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    private interface Action {
+        void run() throws InvalidOperationException;
+    }
+
+    private static boolean rejected(Action action) {
+        try {
+            action.run();
+            System.out.println("second add was accepted");
+            return false;
+        } catch (InvalidOperationException e) {
+            return true;
+        }
+    }
+}
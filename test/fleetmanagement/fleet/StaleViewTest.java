@@ -0,0 +1,57 @@
+package fleetmanagement.fleet;
+
+import fleetmanagement.events.FleetEvents;
+import fleetmanagement.events.NoOpEventSink;
+import fleetmanagement.interfaces.OperationStatus;
+import fleetmanagement.vehicles.Car;
+
+// Usage: java --enable-preview fleetmanagement.fleet.StaleViewTest
+// Removing a vehicle moves the type's last record into its row, so a view bound before the removal
+// must refuse to read or move rather than act on whichever vehicle now sits there. An unbound view
+// is refused the same way, and a view rebound after the removal works again.
+public class StaleViewTest {
+    public static void main(String[] args) throws Exception {
+        FleetEvents.setSink(NoOpEventSink.INSTANCE);
+        boolean ok = true;
+        try (OffHeapFleetStore store = new OffHeapFleetStore()) {
+            for (int i = 1; i <= 3; i++) {
+                Car car = new Car("C" + i, "Civic", 180, 4);
+                car.refuel(50);
+                store.addVehicle(car);
+            }
+            OffHeapVehicleView first = store.view("C1");
+            OffHeapVehicleView unbound = store.newView();
+            store.removeVehicle("C2");
+
+            ok &= refused("getId", () -> first.getId());
+            ok &= refused("getCurrentMileage", () -> first.getCurrentMileage());
+            ok &= refused("tryMove", () -> first.tryMove(10));
+            ok &= refused("tryRefuel", () -> first.tryRefuel(10));
+            ok &= refused("unbound getId", () -> unbound.getId());
+            ok &= refused("unbound tryMove", () -> unbound.tryMove(10));
+            ok &= refused("unbound getNumWheels", () -> unbound.getNumWheels());
+
+            OffHeapVehicleView third = store.view("C3");
+            ok &= third.getId().equals("C3") && third.tryMove(10) == OperationStatus.SUCCESS;
+            ok &= store.view("C1").getCurrentMileage() == 0 && third.getCurrentMileage() == 10;
+        }
+
+        System.out.println(ok ? "PASS: stale and unbound views are refused" : "FAIL");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    private interface Read {
+        Object run();
+    }
+
+    private static boolean refused(String name, Read read) {
+        try {
+            System.out.println(name + " returned " + read.run());
+            return false;
+        } catch (IllegalStateException e) {
+            return true;
+        }
+    }
+}
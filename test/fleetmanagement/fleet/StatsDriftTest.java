@@ -0,0 +1,57 @@
+package fleetmanagement.fleet;
+
+import fleetmanagement.events.FleetEvents;
+import fleetmanagement.events.NoOpEventSink;
+import fleetmanagement.vehicles.Car;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Usage: java fleetmanagement.fleet.StatsDriftTest
+// Moves 1000 cars 100 times each by uneven distances, then removes them. The running totals must
+// match the vehicles while they are in the fleet and come back to exactly zero once they are gone.
+public class StatsDriftTest {
+    public static void main(String[] args) throws Exception {
+        FleetEvents.setSink(NoOpEventSink.INSTANCE);
+        FleetManager manager = new FleetManager();
+        List<Car> cars = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            Car car = new Car("C" + i, "Civic", 180, 4);
+            car.refuel(50);
+            manager.addVehicle(car);
+            cars.add(car);
+        }
+        for (int round = 0; round < 100; round++) {
+            for (int i = 0; i < cars.size(); i++) {
+                Car car = cars.get(i);
+                car.move(0.1 + (i % 7) * 0.013);
+                car.refuel(1);
+            }
+        }
+        double expected = 0;
+        for (Car car : cars) {
+            expected += car.getCurrentMileage();
+        }
+        double total = manager.getSummary().getTotalMileage();
+        boolean ok = Math.abs(total - expected) <= 1e-9 * expected;
+        if (!ok) {
+            System.out.println("total mileage " + total + ", vehicles add up to " + expected);
+        }
+
+        for (Car car : cars) {
+            manager.removeVehicle(car.getId());
+        }
+        FleetSummary empty = manager.getSummary();
+        if (Double.doubleToRawLongBits(empty.getTotalMileage()) != 0 || empty.getTotalEfficiency() != 0) {
+            System.out.println("empty fleet sums: mileage " + empty.getTotalMileage() +
+                    ", efficiency " + empty.getTotalEfficiency());
+            ok = false;
+        }
+        ok &= manager.generateReport().contains("Total Mileage: 0.00 km");
+
+        System.out.println(ok ? "PASS: running totals do not drift" : "FAIL");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,36 @@
+package fleetmanagement.fleet;
+
+import fleetmanagement.events.FleetEvents;
+import fleetmanagement.events.NoOpEventSink;
+import fleetmanagement.interfaces.OperationStatus;
+import fleetmanagement.vehicles.Car;
+import fleetmanagement.vehicles.CargoShip;
+
+// Usage: java fleetmanagement.fleet.TelemetryStatusTest
+// A reading older than the last applied one is STALE and not counted as applied. A sail ship's
+// reading with a fuel value still advances its mileage.
+public class TelemetryStatusTest {
+    public static void main(String[] args) throws Exception {
+        FleetEvents.setSink(NoOpEventSink.INSTANCE);
+        FleetManager manager = new FleetManager();
+        Car car = new Car("C1", "Civic", 180, 4);
+        CargoShip ship = new CargoShip("S1", "Clipper", 30, true);
+        manager.addVehicle(car);
+        manager.addVehicle(ship);
+
+        boolean ok = car.applyTelemetry(20, 100, 30) == OperationStatus.SUCCESS;
+        ok &= car.applyTelemetry(10, 50, 40) == OperationStatus.STALE;
+        ok &= car.getCurrentMileage() == 100 && car.getFuelLevel() == 30;
+        ok &= ship.applyTelemetry(5, 70, 12) == OperationStatus.SUCCESS;
+        ok &= ship.getCurrentMileage() == 70 && ship.getFuelLevel() == 0;
+
+        int applied = manager.applyTelemetry(new String[] {"C1", "S1", "C1", "X9"}, new long[] {15, 30, 40, 40},
+                new double[] {90, 80, 120, 10}, new double[] {20, 5, 25, 5}, 4);
+        ok &= applied == 2 && car.getCurrentMileage() == 120 && ship.getCurrentMileage() == 80;
+
+        System.out.println(ok ? "PASS: stale readings are told apart and sail ships keep their mileage" : "FAIL");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package fleetmanagement.io;
+
+import fleetmanagement.events.FleetEvents;
+import fleetmanagement.events.NoOpEventSink;
+import fleetmanagement.fleet.FleetManager;
+import fleetmanagement.vehicles.Airplane;
+import fleetmanagement.vehicles.Car;
+import fleetmanagement.vehicles.CargoShip;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+// Usage: java fleetmanagement.io.CorruptSnapshotTest
+// Overwrites eight bytes of a valid snapshot at every offset in turn, with all ones and with a
+// large positive int. Loading each copy must either succeed or return false; no exception or
+// error may escape loadFromFile.
+public class CorruptSnapshotTest {
+    public static void main(String[] args) throws Exception {
+        FleetEvents.setSink(NoOpEventSink.INSTANCE);
+        FleetManager source = new FleetManager();
+        source.addVehicle(new Car("C1", "Civic", 180, 4));
+        source.addVehicle(new Airplane("A1", "Cessna", 250, 4000));
+        source.addVehicle(new CargoShip("S1", "Clipper", 30, true));
+        Path valid = Files.createTempFile("fleet-test", BinarySnapshot.EXTENSION);
+        Path corrupt = Files.createTempFile("fleet-test", BinarySnapshot.EXTENSION);
+        boolean ok = source.saveToFile(valid.toString());
+        byte[] bytes = Files.readAllBytes(valid);
+
+        int rejected = 0;
+        byte[][] patterns = {
+                {-1, -1, -1, -1, -1, -1, -1, -1},
+                {0x7F, -1, -1, -1, 0x7F, -1, -1, -1}
+        };
+        for (byte[] pattern : patterns) {
+            for (int offset = 0; offset < bytes.length; offset++) {
+                byte[] copy = Arrays.copyOf(bytes, bytes.length);
+                System.arraycopy(pattern, 0, copy, offset, Math.min(pattern.length, copy.length - offset));
+                Files.write(corrupt, copy);
+                FleetManager manager = new FleetManager();
+                try {
+                    if (!manager.loadFromFile(corrupt.toString())) {
+                        rejected++;
+                    }
+                } catch (Throwable e) {
+                    System.out.println("offset " + offset + ": " + e);
+                    ok = false;
+                }
+            }
+        }
+        FleetManager restored = new FleetManager();
+        ok &= restored.loadFromFile(valid.toString()) && restored.getFleetSize() == 3;
+        Files.delete(valid);
+        Files.delete(corrupt);
+
+        System.out.println(ok ? "PASS: " + rejected + " corrupt snapshots rejected" : "FAIL");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package fleetmanagement.server;
+
+import fleetmanagement.events.FleetEvents;
+import fleetmanagement.events.NoOpEventSink;
+import fleetmanagement.fleet.FleetManager;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+
+// Usage: java fleetmanagement.server.ServerErrorTest
+// An endpoint that throws an Error must still answer with a 500 instead of leaving the client
+// waiting, and the server must keep serving other requests afterwards.
+public class ServerErrorTest {
+    public static void main(String[] args) throws Exception {
+        FleetEvents.setSink(NoOpEventSink.INSTANCE);
+        FleetManager manager = new FleetManager() {
+            @Override
+            public String generateReport() {
+                throw new AssertionError("report broken");
+            }
+        };
+        Path directory = Files.createTempDirectory("fleet-test");
+        boolean ok;
+        try (FleetHttpServer server = new FleetHttpServer(manager, directory,
+                new InetSocketAddress(InetAddress.getLoopbackAddress(), 0))) {
+            server.start();
+            HttpClient client = HttpClient.newHttpClient();
+            String base = "http://127.0.0.1:" + server.getPort();
+            int report = status(client, base + "/report");
+            int metrics = status(client, base + "/metrics");
+            ok = report == 500 && metrics == 200;
+            if (!ok) {
+                System.out.println("report answered " + report + ", metrics answered " + metrics);
+            }
+        }
+        Files.delete(directory);
+
+        System.out.println(ok ? "PASS: an Error still gets a 500" : "FAIL");
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+
+    private static int status(HttpClient client, String url) throws Exception {
+        HttpRequest request = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(5)).build();
+        return client.send(request, HttpResponse.BodyHandlers.discarding()).statusCode();
+    }
+}
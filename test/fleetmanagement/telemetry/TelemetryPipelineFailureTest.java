@@ -0,0 +1,48 @@
+package fleetmanagement.telemetry;
+
+import fleetmanagement.fleet.FleetManager;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+// Usage: java fleetmanagement.telemetry.TelemetryPipelineFailureTest
+// A consumer that fails must stop a producer waiting on a full ring, rather than leave it waiting
+// for a backlog that no one will drain.
+public class TelemetryPipelineFailureTest {
+    private static final long TIMEOUT_MILLIS = 5_000;
+
+    public static void main(String[] args) throws Exception {
+        FleetManager failing = new FleetManager() {
+            @Override
+            public int applyTelemetry(String[] ids, long[] sampleTimes, double[] odometers, double[] fuelLevels,
+                                      int count) {
+                throw new IllegalStateException("fleet unavailable");
+            }
+        };
+        TelemetryPipeline pipeline = new TelemetryPipeline(failing, 16, 1);
+        AtomicReference<Throwable> thrown = new AtomicReference<>();
+        Thread producer = new Thread(() -> {
+            try {
+                for (int i = 0; i < 10_000; i++) {
+                    pipeline.publish("C1", i, Double.NaN);
+                }
+            } catch (Throwable e) {
+                thrown.set(e);
+            }
+        });
+        producer.setDaemon(true);
+        producer.start();
+        producer.join(TIMEOUT_MILLIS);
+
+        if (producer.isAlive()) {
+            System.out.println("FAIL: publish still waiting " + TIMEOUT_MILLIS + " ms after the consumer failed");
+            System.exit(1);
+        }
+        Throwable e = thrown.get();
+        boolean ok = e instanceof IllegalStateException && e.getCause() != null &&
+                "fleet unavailable".equals(e.getCause().getMessage());
+        System.out.println(ok ? "PASS: publish reports the consumer failure" : "FAIL: publish ended with " + e);
+        if (!ok) {
+            System.exit(1);
+        }
+    }
+}